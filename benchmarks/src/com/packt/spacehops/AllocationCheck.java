@@ -0,0 +1,139 @@
+/*
+The AllocationCheck class makes sure the levels don't create garbage once they're running.
+    Every level is built from a fixed seed and warmed up first, that's where the pools fill and the
+    arrays and obstacle stores grow to their size. Then it runs TICKS more ticks and asks the JVM how
+    many bytes the thread allocated during them. A level that goes over BYTES_PER_TICK fails the check
+    and the task exits with an error, so a spawn, bullet or restart that starts creating objects again
+    shows up right away and not as a stutter on a phone weeks later.
+
+    The spaceship is flown the same way as in the LevelTickBenchmark, pressing up whenever it drops below
+    the middle of the screen, so the levels spawn, shoot, collide and restart the way they do in a game.
+    Endless mode is checked from the top of the difficulty ramp, the densest it gets.
+    Text layout is checked on its own, a score that changes every tick laid out into a TextCache the way
+    the HUDs do it, which is the worst case since the HUDs only lay out again when the score changes.
+
+    Drawing isn't checked, the stand in GL of HeadlessGame boxes the arguments of every call so a flush
+    always allocates, see the EntityBenchmark for the draw calls. Runs as part of gradlew check, or on
+    its own with android/assets as the working directory, same as the desktop launcher:
+
+        gradlew benchmarks:allocations
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.StringBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+final class AllocationCheck {
+
+    private static final long SEED = 1;
+    private static final int WARMUP_TICKS = 10000;         //Ticks run before measuring, the pools fill up in them
+    private static final int TICKS = 10000;                //Ticks measured
+    private static final double BYTES_PER_TICK = 8;        //Most a tick may allocate on average
+    private static final int[] SCREENS = {1, 2, 3, SpaceHops.ENDLESS_FLAG + SpaceHops.ENDLESS_MODES - 1};
+
+    private AllocationCheck(){}
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks every level and exits with 1 if any of them went over the budget
+    */
+    public static void main(String[] args){
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if(!threads.isThreadAllocatedMemorySupported()){
+            System.out.println("This JVM can't count allocated bytes per thread");
+            System.exit(1);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        AssetManager assetManager = HeadlessGame.getAssetManager();
+
+        int failed = 0;
+        for(int screen : SCREENS){
+            if(!check(screen, assetManager, threads)){ failed++; }
+        }
+        if(!checkTextLayout(threads)){ failed++; }
+        System.out.println(failed == 0 ? "Nothing allocates once it's warmed up" : failed + " check(s) over the budget");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /*
+    Input: Screen of the level, AssetManager with every atlas loaded, bean to read the allocated bytes from
+    Output: True if the level stayed under the budget
+    Purpose: Warms the level up, then measures the bytes allocated by TICKS ticks
+    */
+    private static boolean check(int screen, AssetManager assetManager, com.sun.management.ThreadMXBean threads){
+        LevelSimulation simulation = new InputReplay(screen, SEED).createLevel(assetManager);
+        run(simulation, WARMUP_TICKS);
+
+        long thread = Thread.currentThread().getId();
+        int deaths = simulation.getDeaths();
+        long before = threads.getThreadAllocatedBytes(thread);
+        run(simulation, TICKS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        return report("screen " + screen, allocated, ", " + (simulation.getDeaths() - deaths) + " deaths");
+    }
+
+    /*
+    Input: Bean to read the allocated bytes from
+    Output: True if laying the text out stayed under the budget
+    Purpose: Lays a new score out every tick into the same TextCache, the first ticks fill the font's pools
+    */
+    private static boolean checkTextLayout(com.sun.management.ThreadMXBean threads){
+        BitmapFont bitmapFont = new BitmapFont();
+        TextCache textCache = new TextCache(bitmapFont);
+        StringBuilder text = new StringBuilder();
+        layOut(textCache, text, 0, WARMUP_TICKS);
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        layOut(textCache, text, WARMUP_TICKS, TICKS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        bitmapFont.dispose();
+        return report("text layout", allocated, "");
+    }
+
+    /*
+    Input: TextCache, builder for the text, score to start from, ticks to run
+    Output: Void
+    Purpose: Lays out a different score each tick, centered the way the progress bar centers it
+    */
+    private static void layOut(TextCache textCache, StringBuilder text, int start, int ticks){
+        for(int score = start; score < start + ticks; score++){
+            text.setLength(0);
+            text.append("Score ").append(score);
+            textCache.clear(score);
+            textCache.addText(text, LevelSimulation.WORLD_WIDTH / 2 - textCache.getWidth(text) / 2, LevelSimulation.WORLD_HEIGHT - 20);
+        }
+    }
+
+    /*
+    Input: Name of the check, bytes allocated in TICKS ticks, extra details to print
+    Output: True if it stayed under the budget
+    Purpose: Prints how the check went
+    */
+    private static boolean report(String name, long allocated, String details){
+        double perTick = (double) allocated / TICKS;
+        boolean passed = perTick <= BYTES_PER_TICK;
+        System.out.println(String.format(Locale.ROOT, "%s: %d bytes in %d ticks, %.2f a tick%s  %s",
+                name, allocated, TICKS, perTick, details, passed ? "ok" : "OVER BUDGET"));
+        return passed;
+    }
+
+    /*
+    Input: Simulation, ticks to run
+    Output: Void
+    Purpose: Flies the spaceship through the ticks, pressing up whenever it's below the middle
+    */
+    private static void run(LevelSimulation simulation, int ticks){
+        for(int i = 0; i < ticks; i++){
+            if(simulation.getSpaceCraft().getY() < LevelSimulation.WORLD_HEIGHT / 2){ simulation.queueFlyUp(); }
+            simulation.step();
+        }
+    }
+}
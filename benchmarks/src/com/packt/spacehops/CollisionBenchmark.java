@@ -0,0 +1,74 @@
+/*
+The CollisionBenchmark class measures AsteroidStore.isColliding, the check level one runs against the
+asteroids on screen each tick. Hit is the spaceship sitting inside the floor asteroid, miss is the spaceship
+far away from it.
+Dense is a long store of asteroids like a packed endless run, found through the store's binary search.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private static final int DENSE_ROW = 64;     //Asteroids in the dense row
+
+    private AsteroidStore asteroid;
+    private AsteroidStore denseRow;
+    private SpaceCraft hitSpaceCraft;
+    private SpaceCraft missSpaceCraft;
+
+    @Setup
+    public void setUp(){
+        TextureAtlas levelAtlas = HeadlessGame.getAssetManager().get("level_one_assets.atlas");
+        TextureAtlas shipAtlas = HeadlessGame.getAssetManager().get("ship_assets.atlas");
+        TextureRegion spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
+        RandomStream random = new RandomStream(1);     //Same heights on every run
+
+        asteroid = new AsteroidStore(levelAtlas.findRegion("TowerUp"), levelAtlas.findRegion("TowerDown"));
+        asteroid.add(LevelSimulation.WORLD_WIDTH/2, random.random(AsteroidStore.HEIGHT_OFFSET), true);
+
+        //Packed one asteroid width apart, sorted along x like the levels keep them
+        denseRow = new AsteroidStore(levelAtlas.findRegion("TowerUp"), levelAtlas.findRegion("TowerDown"));
+        for(int i = 0; i < DENSE_ROW; i++){
+            denseRow.add(i * 2 * AsteroidStore.RADIUS, random.random(AsteroidStore.HEIGHT_OFFSET), true);
+        }
+
+        //Near the bottom of the floor asteroid, inside it whatever height it was given
+        hitSpaceCraft = new SpaceCraft(spaceCraftTexture);
+        hitSpaceCraft.updatePosition(LevelSimulation.WORLD_WIDTH/2, 20);
+
+        //Left edge of the screen, nowhere near the asteroid
+        missSpaceCraft = new SpaceCraft(spaceCraftTexture);
+        missSpaceCraft.updatePosition(0, LevelSimulation.WORLD_HEIGHT/2);
+    }
+
+    @Benchmark
+    public boolean asteroidHit(){ return asteroid.isColliding(hitSpaceCraft); }
+
+    @Benchmark
+    public boolean asteroidMiss(){ return asteroid.isColliding(missSpaceCraft); }
+
+    @Benchmark
+    public boolean denseRowSweep(){ return denseRow.isColliding(missSpaceCraft); }
+}
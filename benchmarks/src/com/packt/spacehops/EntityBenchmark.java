@@ -0,0 +1,148 @@
+/*
+The EntityBenchmark class measures the per tick update of the objects every level is built from.
+    Collectibles and Dragon are run the way the levels run them, Dragon is put in its last phase so
+    it spawns and moves both bullets and scales. Planet is the background of level one, busySky is
+    a parallax scene of several overlapping planets with many moons each that should draw without garbage.
+    progressBarDraw draws the HUD score the way every level does, the text is only laid out once.
+    The frame and the font live in different textures so the batch flushes twice per call, what it
+    allocates is the stand in GL boxing its arguments, not the text.
+    debugOverlayDraw draws the wireframes of a screen crowded with 300 collectibles and the dragon, all
+    of it should go out in one flush of the overlay.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityBenchmark {
+
+    private SpaceCraft spaceCraft;
+    private CollectibleStore collectibles;
+    private Dragon dragon;
+    private PlanetScene planet;
+    private PlanetScene busySky;
+    private ProgressBar progressBar;
+    private BitmapFont bitmapFont;
+    private TextCache scoreText;
+    private SpriteBatch batch;
+    private DebugOverlay debugOverlay;
+    private CollectibleStore crowd;
+    private OrthographicCamera camera;
+
+    @Setup
+    public void setUp(){
+        RandomStream random = new RandomStream(1);     //Same objects on every run
+        TextureAtlas uiAtlas = HeadlessGame.getAssetManager().get("ui_assets.atlas");
+        TextureAtlas shipAtlas = HeadlessGame.getAssetManager().get("ship_assets.atlas");
+        TextureAtlas levelOneAtlas = HeadlessGame.getAssetManager().get("level_one_assets.atlas");
+        TextureAtlas levelTwoAtlas = HeadlessGame.getAssetManager().get("level_two_assets.atlas");
+
+        spaceCraft = new SpaceCraft(shipAtlas.findRegion("SpaceshipPack"));
+        spaceCraft.updatePosition(LevelSimulation.WORLD_WIDTH/2, LevelSimulation.WORLD_HEIGHT/2);
+
+        //A screen of collectibles the way level one spaces them
+        collectibles = new CollectibleStore(uiAtlas.findRegion("CollectiblePack"));
+        for(int i = 0; i < 4; i++){
+            collectibles.add(LevelSimulation.WORLD_WIDTH * i / 4, 350 - random.random(200f), CollectibleStore.RADIUS, 0);
+        }
+
+        //Same textures and phase as the end of level two
+        dragon = new Dragon(levelTwoAtlas.findRegion("DragonPack"), levelTwoAtlas.findRegion("TearPack"),
+                levelTwoAtlas.findRegion("CloudPack"), levelTwoAtlas.findRegion("Laser"), random);
+        dragon.setStart();
+        dragon.setPhase(2);
+
+        //Same planet as level one
+        Planet earth = new Planet(150,150,100, levelOneAtlas.findRegion("Earth"), random);
+        earth.createMoon(20, levelOneAtlas.findRegion("Moon"));
+        planet = new PlanetScene();
+        planet.add(earth, 0);
+
+        //Four planets with eight moons each, the nearer ones cover the moons of the ones behind them
+        busySky = new PlanetScene();
+        for(int i = 0; i < 4; i++){
+            Planet skyPlanet = new Planet(100 + 150*i, 150 + 50*i, 60, levelOneAtlas.findRegion("Earth"), random);
+            for(int j = 0; j < 8; j++){ skyPlanet.createMoon(8 + j, levelOneAtlas.findRegion("Moon")); }
+            busySky.add(skyPlanet, i);
+        }
+
+        //Same progress bar and font as the levels
+        progressBar = new ProgressBar(uiAtlas.findRegion("Score"));
+        progressBar.setGoal(10);
+        bitmapFont = new BitmapFont();
+        scoreText = new TextCache(bitmapFont);
+
+        //Collectibles spread over the whole screen
+        crowd = new CollectibleStore(uiAtlas.findRegion("CollectiblePack"));
+        for(int i = 0; i < 300; i++){
+            crowd.add((i * 37) % LevelSimulation.WORLD_WIDTH, (i * 53) % LevelSimulation.WORLD_HEIGHT, CollectibleStore.RADIUS, 0);
+        }
+        debugOverlay = new DebugOverlay();
+        camera = new OrthographicCamera(LevelSimulation.WORLD_WIDTH, LevelSimulation.WORLD_HEIGHT);
+        camera.update();
+
+        batch = new SpriteBatch();
+        batch.begin();
+    }
+
+    @TearDown
+    public void tearDown(){
+        batch.end();
+        batch.dispose();
+        bitmapFont.dispose();
+        debugOverlay.dispose();
+    }
+
+    @Benchmark
+    public void collectibleUpdate(){ collectibles.updateAnimation(LevelSimulation.TIME_STEP); }
+
+    @Benchmark
+    public void dragonUpdate(){ dragon.update(LevelSimulation.TIME_STEP); }
+
+    @Benchmark
+    public void planetUpdate(){ planet.update(); }
+
+    @Benchmark
+    public void planetDraw(){ planet.draw(batch); }
+
+    @Benchmark
+    public void progressBarDraw(){ progressBar.draw(batch, scoreText); }
+
+    @Benchmark
+    public void debugOverlayDraw(){
+        debugOverlay.begin(camera);
+        crowd.drawDebug(debugOverlay.use(DebugOverlay.Category.COLLECTIBLE));
+        dragon.drawDebug(debugOverlay.use(DebugOverlay.Category.ENEMY));
+        spaceCraft.drawDebug(debugOverlay.use(DebugOverlay.Category.USER));
+        debugOverlay.end();
+    }
+
+    @Benchmark
+    public void busySkyUpdateAndDraw(){
+        busySky.update();
+        busySky.draw(batch);
+    }
+}
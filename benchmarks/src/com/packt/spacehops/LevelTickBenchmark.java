@@ -0,0 +1,54 @@
+/*
+The LevelTickBenchmark class measures one fixed tick of a whole level, everything the screen's update
+used to do in a frame minus the drawing. The spaceship is kept in the air by pressing up whenever it
+drops below the middle of the screen so the level keeps spawning instead of restarting over and over.
+Every level is built with the same seed so each run of the benchmark plays the same level.
+Level 4 is endless mode started at the top of the difficulty ramp, the densest it gets.
+ */
+
+package com.packt.spacehops;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelTickBenchmark {
+
+    @Param({"1", "2", "3", "4"})
+    public int level;
+
+    private LevelSimulation simulation;
+
+    private static final long SEED = 1;
+
+    @Setup
+    public void setUp(){
+        if(level == 1){ simulation = new LevelOneSimulation(HeadlessGame.getAssetManager(), SEED); }
+        else if(level == 2){ simulation = new LevelTwoSimulation(HeadlessGame.getAssetManager(), SEED); }
+        else if(level == 3){ simulation = new LevelThreeSimulation(HeadlessGame.getAssetManager(), SEED); }
+        else { simulation = new EndlessSimulation(HeadlessGame.getAssetManager(), SEED, ChunkGenerator.RAMP_CHUNKS); }
+    }
+
+    @Benchmark
+    public long tick(){
+        if(simulation.getSpaceCraft().getY() < LevelSimulation.WORLD_HEIGHT/2){ simulation.queueFlyUp(); }
+        simulation.step();
+        return simulation.getTickCount();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+The ReplayRunner class plays replays back without a window, as fast as the ticks go.
+    Each replay builds its level again from the seed and runs every recorded tick with the same presses,
+    so a player's session plays out exactly as it did for them. Every tick is timed and the slowest
+    ones are listed with their tick number, which is where to look when a player reports a slowdown,
+    and how the run ended is printed so a change to the level logic shows up as a different ending.
+
+    Has to be run with android/assets as the working directory, same as the desktop launcher:
+
+        gradlew benchmarks:replay -Preplay=path/to/1.replay
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+
+import java.util.Locale;
+
+final class ReplayRunner {
+
+    private static final int SLOWEST = 5;      //Slowest ticks listed per replay
+
+    private ReplayRunner(){}
+
+    /*
+    Input: Paths of the replays
+    Output: Void
+    Purpose: Plays back every replay passed in and prints how it went
+    */
+    public static void main(String[] args){
+        if(args.length == 0){
+            System.out.println("Usage: ReplayRunner <replay>...");
+            return;
+        }
+        AssetManager assetManager = HeadlessGame.getAssetManager();
+        int failed = 0;
+        for(String path : args){
+            InputReplay replay = InputReplay.load(Gdx.files.absolute(path));
+            if(replay == null){
+                System.out.println(path + ": not a replay");
+                failed++;
+                continue;
+            }
+            run(path, replay, assetManager);
+        }
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /*
+    Input: Name to print, replay, AssetManager with every atlas loaded
+    Output: Void
+    Purpose: Runs every tick of the replay, timing each one
+    */
+    private static void run(String path, InputReplay replay, AssetManager assetManager){
+        LevelSimulation simulation = replay.createLevel(assetManager);
+        long[] slowTime = new long[SLOWEST];
+        long[] slowTick = new long[SLOWEST];
+
+        InputReplay.Player player = replay.play();
+        long start = System.nanoTime();
+        while(player.hasNext()){
+            long tick = simulation.getTickCount();
+            long tickStart = System.nanoTime();
+            player.step(simulation);
+            keepIfSlow(System.nanoTime() - tickStart, tick, slowTime, slowTick);
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        double played = replay.getTicks() * LevelSimulation.TIME_STEP;
+        System.out.println(String.format(Locale.ROOT, "%s: screen %d, seed %d, %d ticks (%.1f s), %d presses",
+                path, replay.getScreen(), replay.getSeed(), replay.getTicks(), played, replay.getPresses()));
+        System.out.println(String.format(Locale.ROOT, "  played in %.1f ms, %.0fx real time",
+                elapsed / 1e6, played * 1e9 / elapsed));
+        StringBuilder slowest = new StringBuilder("  slowest ticks:");
+        for(int i = 0; i < SLOWEST && slowTime[i] > 0; i++){
+            slowest.append(String.format(Locale.ROOT, " %d (%.1f us)", slowTick[i], slowTime[i] / 1e3));
+        }
+        System.out.println(slowest);
+        SpaceCraft spaceCraft = simulation.getSpaceCraft();
+        System.out.println(String.format(Locale.ROOT, "  ended with the spaceship at %.2f, %.2f on screen, level %s",
+                spaceCraft.getX() - simulation.getScrollX(), spaceCraft.getY(),
+                simulation.isLevelComplete() ? "complete" : "not complete"));
+    }
+
+    /*
+    Input: Time of a tick, its number, the slowest times and ticks so far sorted slowest first
+    Output: Void
+    Purpose: Puts the tick into the list if it's slower than the last one in it
+    */
+    private static void keepIfSlow(long time, long tick, long[] slowTime, long[] slowTick){
+        int i = slowTime.length - 1;
+        if(time <= slowTime[i]){ return; }
+        while(i > 0 && slowTime[i - 1] < time){
+            slowTime[i] = slowTime[i - 1];
+            slowTick[i] = slowTick[i - 1];
+            i--;
+        }
+        slowTime[i] = time;
+        slowTick[i] = tick;
+    }
+}
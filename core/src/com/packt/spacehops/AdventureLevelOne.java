@@ -5,11 +5,8 @@ while in an active game environment.
     Adds textures over the wireframe
     Render all the updates to the objects on screen
 
-
-    Collectible mechanics, to match the distancing between asteroids and collectibles
-        the collectibles are turned invisible at collision and gotten rid off once they leave
-        the screen otherwise they would slowly encroach onto of the asteroids where players
-        can't get to
+    The game logic itself lives in LevelOneSimulation, this screen passes on the input and the
+    frame time and draws whatever the simulation holds.
  */
 
 package com.packt.spacehops;
@@ -22,13 +19,9 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -40,87 +33,42 @@ class AdventureLevelOne extends ScreenAdapter {
     private static final float WORLD_WIDTH = 320;
     private static final float WORLD_HEIGHT = 480;
 
-
-    /*
-    Games States dictate how the game should be behaving, we always start in Playing state here
-    */
-    private enum PART {PartOne, PartTwo, PartThree, PartFour, PartFive}
-    private PART part = PART.PartOne;
-
     /*
     Image processing -- Objects that modify the view and textures
      */
-    private ShapeRenderer shapeRendererEnemy; //Creates the wire frames
-    private ShapeRenderer shapeRendererUser;
-    private ShapeRenderer shapeRendererBackground;
-    private ShapeRenderer shapeRendererCollectible;
-
     private Viewport viewport;			 //The screen where we display things
-    private Camera camera;				 //The camera viewing the viewport
+    private Camera camera;				 //The camera viewing the viewport, stays put for the HUD and buttons
+    private Camera worldCamera;          //Follows the scroll of the level, the world is drawn through it
     private SpriteBatch batch;			 //Batch that holds all of the textures
 
     /*
-    Textures
+    Game logic of the level, asteroids, collectibles, spaceship and the parts of the level
      */
-    private TextureRegion topAsteroidTexture;
-    private TextureRegion bottomAsteroidTexture;
-    private TextureRegion earthTexture;
-    private TextureRegion moonTexture;
-    private TextureRegion collectibleTexture;
-    private TextureRegion progressBarTexture;
-    private TextureRegion profileTexture;
-    private TextureRegion communicationFrameTexture;
-    private TextureRegion progressBarFrameTexture;
-    private TextureRegion spaceCraftTexture;
-
-    /*
-    User spaceship object
-     */
-    private SpaceCraft spaceCraft;
-
-    /*
-    Array of the asteroids and collectibles that the user will encounter
-     */
-    private Array<Asteroids> asteroids = new Array<>();         //Array of asteroids
-    private Array<Collectible> collectibles = new Array<>();    //Array of collectibles
-
-    //Background objects we use
-    private Planet earth;                   //Shows earth and moon
-    private ProgressBar progressBar;        //Progress Bar that show user's progress
-    private ConversationBox conversationBox;//Conversation box that is used to talk to the user
+    private LevelOneSimulation simulation;
     private PauseMenu pauseMenu;            //Pause Menu deals with buttons
-
-    //Static variables
-    private static final int ASTEROIDS_PASSED = 5;              //Amount of asteroids that need to be passed to move to next part
-    private static final int GOAL = 10;                         //Goal of the level to end
-    private static final float GAP_BETWEEN_ASTEROID = 200;      //Distance between objects
-
-    //Timing variables
-    private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
-    private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
-
-    //
-    private int asteroidsPassed = 0;      //In game counter to see how many asteroids have been passed
+    private InputReplay replay;             //Input of the session, written when the screen closes, null unless replays are on
 
     /*
-    Bitmap and GlyphLayout
+    Bitmap and the text laid out with them
      */
     private BitmapFont bitmapFont;
-    private GlyphLayout glyphLayout;
     private BitmapFont menuBitmapFont;
-    private GlyphLayout menuGlyphLayout;
+    private TextCache dialogText;           //Lines of the conversation box
+    private TextCache scoreText;            //Number on the progress bar
+    private TextCache menuText;             //Menu button
+    private TextCache pauseText;            //Pause menu buttons
+    private TextCache nextLevelText;        //End of level buttons
 
     /*
     Flags
      */
     private boolean debugFlag = false;          //Tells screen to draw debug wireframe
     private boolean textureFlag = true;         //Tells screen to draw textures
-    private boolean stopSpawningFlag = false;   //Tells screen to stop creating more asteroids and collectibles
     private boolean endLevelFlag = false;       //Tells screen that the level is complete and to give the next stage menu
-    private boolean screenOnFlag = true;        //Tells screen that the conversation box is on
 
     //
     private final SpaceHops spaceHops;
+    private final ScreenResources resources = new ScreenResources(this);   //Batches, renderers, fonts and stages of this screen
     AdventureLevelOne(SpaceHops spaceHops) { this.spaceHops = spaceHops; }
 
     /*
@@ -141,18 +89,17 @@ class AdventureLevelOne extends ScreenAdapter {
     @Override
     public void show() {
         showCamera();           //Sets up camera through which objects are draw through
-        showTexture();          //Connects textures to the images
+        batch = resources.add(new SpriteBatch());   //Batch the level, HUD and buttons are all drawn with
         showObjects();          //Creates object and passes them the dimensions and textures
-        showRender();           //Sets up renders that will draw the debug of objects
-
-        //Sets up the texture with the images
-        batch = new SpriteBatch();
 
-        //BitmapFont and GlyphLayout
-        bitmapFont = new BitmapFont();
-        glyphLayout = new GlyphLayout();
-        menuBitmapFont = new BitmapFont();
-        menuGlyphLayout = new GlyphLayout();
+        //BitmapFont and TextCaches
+        bitmapFont = resources.add(new BitmapFont());
+        menuBitmapFont = resources.add(new BitmapFont());
+        dialogText = new TextCache(bitmapFont);
+        scoreText = new TextCache(bitmapFont);
+        menuText = new TextCache(menuBitmapFont);
+        pauseText = new TextCache(menuBitmapFont);
+        nextLevelText = new TextCache(menuBitmapFont);
     }
 
     /*
@@ -162,21 +109,16 @@ class AdventureLevelOne extends ScreenAdapter {
     Mostly giving objects dimension, position and connecting them to textures.
     */
     private void showObjects(){
-        //Spaceship creation
-        spaceCraft = new SpaceCraft(spaceCraftTexture);
-        spaceCraft.updatePosition(WORLD_WIDTH/4, WORLD_HEIGHT/2);
-
-        //Earth and Moon background object
-        earth = new Planet(150,150,100, earthTexture);
-        earth.createMoon(20,moonTexture);
+        //Level logic, creates the spaceship, planet and UI objects
+        simulation = new LevelOneSimulation(spaceHops.getAssetManager(), TimeUtils.millis());
+        if(spaceHops.getReplayFlag()){
+            replay = new InputReplay(1, simulation.getSeed());
+            simulation.record(replay);
+        }
+        simulation.setProfiler(spaceHops.getProfiler());
 
-        pauseMenu = new PauseMenu(spaceHops);
+        pauseMenu = new PauseMenu(spaceHops, resources, viewport, batch);
         pauseMenu.createNextLevelButton(1);
-
-        //Player UI
-        progressBar = new ProgressBar(progressBarTexture);
-        progressBar.setGoal(GOAL);
-        conversationBox = new ConversationBox(WORLD_WIDTH, WORLD_HEIGHT, communicationFrameTexture, profileTexture);
     }
 
     /*
@@ -189,62 +131,17 @@ class AdventureLevelOne extends ScreenAdapter {
         camera.position.set(WORLD_WIDTH / 2, WORLD_HEIGHT / 2, 0);	//Places the camera in the center of the view port
         camera.update();													//Updates the camera
         viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);		//
+        worldCamera = new OrthographicCamera(WORLD_WIDTH, WORLD_HEIGHT);
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Connects the images to the Texture objects
+    Purpose: Moves the world camera to where the level has scrolled to, the only thing scrolling moves
     */
-    private void showTexture(){
-        TextureAtlas levelAtlas = spaceHops.getAssetManager().get("level_one_assets.atlas");
-        TextureAtlas shipAtlas = spaceHops.getAssetManager().get("ship_assets.atlas");
-        TextureAtlas profileAtlas = spaceHops.getAssetManager().get("profile_assets.atlas");
-        TextureAtlas uiAtlas = spaceHops.getAssetManager().get("ui_assets.atlas");
-
-        //AsteroidTextures
-        topAsteroidTexture = levelAtlas.findRegion("TowerUp");
-        bottomAsteroidTexture = levelAtlas.findRegion("TowerDown");
-
-        //Spaceship
-        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
-
-        //Background
-        earthTexture = levelAtlas.findRegion("Earth");
-        moonTexture = levelAtlas.findRegion("Moon");
-
-        //Collectible
-        collectibleTexture = uiAtlas.findRegion("CollectiblePack");
-
-        //Progress Bar
-        progressBarTexture = uiAtlas.findRegion("Score");
-
-        //Communication Frame
-        communicationFrameTexture = uiAtlas.findRegion("CommunicationFrame");
-        profileTexture = profileAtlas.findRegion("Profile_Pack");
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Sets up the different renders to draw objects in wireframe
-    */
-    private void showRender(){
-        //Enemy
-        shapeRendererEnemy = new ShapeRenderer();
-        shapeRendererEnemy.setColor(Color.RED);
-
-        //User
-        shapeRendererUser = new ShapeRenderer();
-        shapeRendererUser.setColor(Color.GREEN);
-
-        //Background
-        shapeRendererBackground = new ShapeRenderer();
-        shapeRendererBackground.setColor(Color.WHITE);
-
-        //Intractable
-        shapeRendererCollectible = new ShapeRenderer();
-        shapeRendererCollectible.setColor(Color.BLUE);
+    private void updateWorldCamera(){
+        worldCamera.position.set(simulation.getScrollX() + WORLD_WIDTH / 2, WORLD_HEIGHT / 2, 0);
+        worldCamera.update();
     }
 
     /*
@@ -254,82 +151,64 @@ class AdventureLevelOne extends ScreenAdapter {
     */
     @Override
     public void render(float delta) {
+        setProfilerMode();              //Checks if the user turned the frame profiler on or off
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.beginFrame();
         clearScreen();	                //Wipes screen
+        updateWorldCamera();            //Catches the camera up with the level
         setTextureMode();               //Checks if the user changed the status of texturesOnFlag
         if(textureFlag) {draw();}	    //Draws the textures
 
         setDebugMode();                 //Checks if user changed the status of the debugModeFlag
-        if(debugFlag) {                 //If debugMode is on ShapeRender will drawing lines
-            renderEnemy();              //Draws Enemy Wire Frame
-            renderUser();               //Draws User Wire Frame
-            renderBackground();         //Draws Background Wire Frame
-            renderCollectible();        //Draws Collectible Wire Frame
-        }
+        profiler.start(FrameProfiler.Phase.DEBUG);
+        if(debugFlag) {renderDebug();}  //If debugMode is on the wireframes are drawn over the textures
+        profiler.stop(FrameProfiler.Phase.DEBUG);
+        profiler.start(FrameProfiler.Phase.UPDATE);
         if(!pauseMenu.getPauseFlag() && !endLevelFlag){ update(delta);} //Updates the variables of all object if the game is not paused
+        profiler.stop(FrameProfiler.Phase.UPDATE);
+        profiler.endFrame();
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Draws the enemy/obstacle wireframe
+    Purpose: Draws the wireframe of every object in one batch, colored by what kind of object it is
     */
-    private void renderEnemy(){
-        shapeRendererEnemy.setProjectionMatrix(camera.projection);      		                 //Screen set up camera
-        shapeRendererEnemy.setTransformMatrix(camera.view);            			                 //Screen set up camera
-        shapeRendererEnemy.begin(ShapeRenderer.ShapeType.Line);         		                 //Sets up to draw lines
-        for (Asteroids asteroid : asteroids) { asteroid.drawDebug(shapeRendererEnemy); } //Draws all the asteroids
-        shapeRendererEnemy.end();
+    private void renderDebug(){
+        DebugOverlay debugOverlay = spaceHops.getDebugOverlay();
+        debugOverlay.begin(worldCamera);
+        //Enemies
+        ShapeRenderer shapeRenderer = debugOverlay.use(DebugOverlay.Category.ENEMY);
+        simulation.getAsteroids().drawDebug(shapeRenderer);                 //Draws all the asteroids
+        //User
+        simulation.getSpaceCraft().drawDebug(debugOverlay.use(DebugOverlay.Category.USER));         //Draws the spaceship
+        //Collectibles
+        shapeRenderer = debugOverlay.use(DebugOverlay.Category.COLLECTIBLE);
+        simulation.getCollectibles().drawDebug(shapeRenderer);
+        //Background and UI, they don't scroll
+        debugOverlay.setCamera(camera);
+        shapeRenderer = debugOverlay.use(DebugOverlay.Category.BACKGROUND);
+        simulation.getSky().drawDebug(shapeRenderer);                         //Draws the earth and all of it's moons
+        if(simulation.getPart() != LevelOneSimulation.PART.PartOne) {simulation.getProgressBar().drawDebug(shapeRenderer);}   //Draws the progressbar if not in stage one of the level
+        simulation.getConversationBox().drawDebug(shapeRenderer);             //Draws the communication frame
+        debugOverlay.end();
     }
 
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Draws user wireframe
-    */
-    private void renderUser(){
-        shapeRendererUser.setProjectionMatrix(camera.projection);    //Screen set up camera
-        shapeRendererUser.setTransformMatrix(camera.view);           //Screen set up camera
-        shapeRendererUser.begin(ShapeRenderer.ShapeType.Line);       //Sets up to draw lines
-        spaceCraft.drawDebug(shapeRendererUser);                     //Draws draws the spaceship
-        shapeRendererUser.end();
-    }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Draws the background object and UI wireframes
+    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off, while it's on
+    the EntityTrace records what the entities do and 3 writes what it has to the log
     */
-    private void renderBackground(){
-        shapeRendererBackground.setProjectionMatrix(camera.projection);                 //Screen set up camera
-        shapeRendererBackground.setTransformMatrix(camera.view);                        //Screen set up camera
-        shapeRendererBackground.begin(ShapeRenderer.ShapeType.Line);                    //Starts to draw
-        earth.drawDebug(shapeRendererBackground);                                       //Draws the earth and all of it's moons
-        if(part != PART.PartOne) {progressBar.drawDebug(shapeRendererBackground);}   //Draws the progressbar if not in stage one of the level
-        conversationBox.drawDebug(shapeRendererBackground);                             //Draws the communication frame
-        shapeRendererBackground.end();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Draws wireframe of the collectibles -- needs to be redone along with collectible objects
-    */
-    private void renderCollectible(){
-        shapeRendererCollectible.setProjectionMatrix(camera.projection);
-        shapeRendererCollectible.setTransformMatrix(camera.view);
-        shapeRendererCollectible.begin(ShapeRenderer.ShapeType.Line);
-        for(Collectible collectible : collectibles) {collectible.drawDebug(shapeRendererCollectible);}
-        shapeRendererCollectible.end();
+    private void setDebugMode() {
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) {
+            debugFlag = !debugFlag;
+            EntityTrace.setLevel(debugFlag ? EntityTrace.STATE : EntityTrace.OFF);
+        }
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_3)) { EntityTrace.dump(); }
     }
 
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off
-    */
-    private void setDebugMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) { debugFlag = !debugFlag;} }
-
     /*
     Input: Void
     Output: Void
@@ -340,300 +219,34 @@ class AdventureLevelOne extends ScreenAdapter {
     /*
     Input: Void
     Output: Void
-    Purpose: Creates a new asteroid row and adds it to the array
-    */
-    private void createNewAsteroid(){
-        Asteroids newAsteroid = new Asteroids(topAsteroidTexture, bottomAsteroidTexture, true);
-        newAsteroid.setPosition(WORLD_WIDTH + newAsteroid.getRadius());
-        asteroids.add(newAsteroid);
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Creates a new collectible, first one is off set to match the distancing along with asteroids
-    */
-    private void createNewCollectible(){
-        Collectible newCollectible = new Collectible(collectibleTexture);
-        if(asteroids.size == 1) {newCollectible.setPosition(asteroids.first().getX() + newCollectible.getAsteroidRadius() + GAP_BETWEEN_ASTEROID/2);}
-        else{newCollectible.setPosition(WORLD_WIDTH + newCollectible.getAsteroidRadius());}
-        if(part == PART.PartOne){newCollectible.setCollidingFlag();}
-        collectibles.add(newCollectible);
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if we need to make either a collectible or asteroid
-    */
-    private void checkForNewObjectsNeeded(){
-        checkIfNewAsteroidIsNeeded();
-        checkIfNewCollectibleIsNeeded();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if there is need to create a new collectible is need to be created
-    */
-    private void checkIfNewCollectibleIsNeeded(){
-        //No collectible exits
-        if (collectibles.size == 0) {
-            createNewCollectible();
-        }
-        //collectible is distance away
-        else {
-            Collectible collectible = collectibles.peek();
-            if (collectible.getX() < WORLD_WIDTH - GAP_BETWEEN_ASTEROID) {
-                createNewCollectible();
-            }
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if there is need to create a new asteroid if does calls createNewAsteroid()
-    */
-    private void checkIfNewAsteroidIsNeeded(){
-        //If no asteroids on screen exits
-        if (asteroids.size == 0) {
-            createNewAsteroid();
-        }
-        //If the distance between the world and the new asteroid is enough
-        else {
-            Asteroids asteroid = asteroids.peek();
-            if (asteroid.getX() < WORLD_WIDTH - GAP_BETWEEN_ASTEROID) {
-                createNewAsteroid();
-            }
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if asteroids or collectibles need ot be destroyed
-    */
-    private void checkForRemovingObject(){
-        removeAsteroidIfPassed();
-        removeCollectible();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Gets rid of the collectible from array that went past the screen
+    Purpose: Checks for user input if the user clicks turns the frame profiler overlay on and off
     */
-    private void removeCollectible(){
-        if(collectibles.size > 0){																					//Checks if we have more than 0 flowers
-            Collectible firstCollectible = collectibles.first();																//Grabs the first flower
-            if(firstCollectible.getX() < - firstCollectible.getRadius()){ collectibles.removeValue(firstCollectible,true); }	//If x is off screen remove from array
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Removes asteroids from array if its off the screen
-    */
-    private void removeAsteroidIfPassed(){
-        if(asteroids.size > 0){																					//Checks if we have more than 0 flowers
-            Asteroids firstAsteroid = asteroids.first();																//Grabs the first flower
-            if(firstAsteroid.getX() < - firstAsteroid.getRadius()){ asteroids.removeValue(firstAsteroid,true); }	//If x is off screen remove from array
-        }
-    }
+    private void setProfilerMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_4)) {spaceHops.getProfiler().toggle();} }
 
     /*
     Input: Delta, timing
     Output: Void
-    Purpose: Central function that starts all the other update functions
+    Purpose: Central function that passes input and time on to the simulation
     */
     private void update(float delta){
-        //If we are leaving the screen we get rid of everything in memory
-        if(pauseMenu.getDisposeFlag()){dispose();}
-        //Creation and destruction of new flowers
-        if(!stopSpawningFlag) {checkForNewObjectsNeeded();}
-        checkForRemovingObject();
-
-        //Updates status of variables
-        updatePart(delta);      //Checks which part of the level we are in and sets off events when we enter new
-        //Part of the level
-        updateScore();                           //Updates score
-        updateCommunicationScreenTime(delta);    //Updates the time that the screen time is on for
-        updateSpaceship();                       //Updates the position of the spaceship
-        updateAsteroids(delta);                  //Updates the asteroids
-        updateCollectibles(delta);
-        updatePlanet();                          //Updates the position of the moons
-        if(checkForDeathCollision()){ restart();}//Checks for restart
-    }
-
-    /*
-    Input: Delta, timing
-    Output: Void
-    Purpose: Checks for what stage of the level we are and sets off appropriate events that correspond
-    */
-    private void updatePart(float delta){
-        //Moves from Part 1 to Part 2, turns on commutation window
-        if(part == PART.PartOne && asteroidsPassed == ASTEROIDS_PASSED){
-            part = PART.PartTwo;
-            screenOnFlag = true;
-            conversationBox.restartTimer();
-        }
-        //Moves from Part 2 to Part 3, turns on commutation window
-        if(part == PART.PartTwo && progressBar.getScore() == 1){
-            part = PART.PartThree;
-            screenOnFlag = true;
-            conversationBox.restartTimer();
-        }
-        //Moves from Part 3 to Part 4, turns on commutation window
-        if(part == PART.PartThree && progressBar.getScore() == GOAL-1){
-            stopSpawningFlag = true;
-            part = PART.PartFour;
-            screenOnFlag = true;
-            conversationBox.restartTimer();
-            Asteroids newAsteroid = new Asteroids(topAsteroidTexture, bottomAsteroidTexture, false);
-            newAsteroid.setPosition(3*WORLD_WIDTH/2 + newAsteroid.getRadius());
-            asteroids.add(newAsteroid);
-        }
-        if(part == PART.PartFour && progressBar.getScore() == GOAL){
-            part = PART.PartFive;
-            conversationBox.restartTimer();
-        }
-        if(part == PART.PartFive){
-            endLevelFlag = true;
-            conversationBox.restartTimer();
-            //Sets level to be completed
-            spaceHops.getSettings().setLevelCompletion(0);
-            Gdx.input.setInputProcessor(pauseMenu.getNextLevelStage());
-
-        }
-
-        //Tells the screen to turn on and which text output to give
-        if(part.equals(PART.PartOne) && screenOnFlag){ conversationBox.update(delta, 0);}
-        if(part.equals(PART.PartOne) && !screenOnFlag) {conversationBox.update(delta, 1);}
-        if(part.equals(PART.PartTwo) && screenOnFlag && collectibles.first().getX() < WORLD_WIDTH && collectibles.first().getCollidingFlag()){ conversationBox.update(delta, 0);}
-        if(part.equals(PART.PartTwo) && !screenOnFlag) {conversationBox.update(delta, 1);}
-        if(part.equals(PART.PartThree) && screenOnFlag){ conversationBox.update(delta,0);}
-        if(part.equals(PART.PartThree) && !screenOnFlag) {conversationBox.update(delta, 1);}
-    }
-
-    /*
-    Input: Delta, timing
-    Output: Void
-    Purpose: Counts down until the communication screen turns off
-    */
-    private void updateCommunicationScreenTime(float delta) {
-        moveTimer -= delta;
-        if (moveTimer <= 0) {
-            moveTimer = MOVE_TIME;
-            screenOnFlag = false;
-        }
+        //Player input is held until the next tick of the simulation
+        if(Gdx.input.isKeyJustPressed(Input.Keys.UP)) { simulation.queueFlyUp(); }
+        simulation.advance(delta);              //Runs as many fixed ticks as fit in this frame
+        //Once the last part starts the next level loads in the background, so its button doesn't need the LoadingScreen
+        if(simulation.getPart().ordinal() >= LevelOneSimulation.PART.PartFour.ordinal()){ spaceHops.preloadScreen(2); }
+        if(simulation.isLevelComplete()){ endLevel(); }
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Updates the position of the moons
-    */
-    private void updatePlanet(){ earth.update(); }
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Updates the position of the spaceship
+    Purpose: Brings up the next level menu and sets the level as completed
     */
-    private void updateSpaceship(){
-        spaceCraft.update();
-        if(Gdx.input.isKeyJustPressed(Input.Keys.UP)) {
-            spaceCraft.flyUp();
-        }
-        blockSpaceshipLeavingTheWorld();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Stops the Circle from going past the bottom of the screen
-    */
-    private void blockSpaceshipLeavingTheWorld(){
-        //Gets the Y, sets the min: Radius away from bottom, max: World Height - Radius
-        spaceCraft.updatePosition(spaceCraft.getX(), MathUtils.clamp(spaceCraft.getY(), spaceCraft.getRadius(), WORLD_HEIGHT - spaceCraft.getRadius()) );
-    }
-
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Goes through each asteroid in the array and updates the position
-    */
-    private void updateAsteroids(float delta){ for(Asteroids asteroid : asteroids){ asteroid.update(delta);}}
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Goes through each collectible in the array and updates the position
-    */
-    private void updateCollectibles(float delta){ for(Collectible collectible : collectibles){ collectible.update(delta, spaceCraft); } }
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Checks what is the amount of asteroids passed and collectibles collected
-    */
-    private void updateScore(){
-        if(!asteroids.isEmpty()) { updateAsteroidScore();}
-        if(!collectibles.isEmpty()) { updateCollectibleScore();}
-    }
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Checks what is the amount of asteroids passed
-    */
-    private void updateAsteroidScore(){
-        Asteroids asteroid = asteroids.first();
-        if (asteroid.getX() <= spaceCraft.getX() && !asteroid.isPointClaimed()) {
-            asteroid.markPointClaimed();
-            asteroidsPassed++;
-        }
-    }
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Checks if any collectibles have been collected with
-    */
-    private void updateCollectibleScore(){
-        Collectible collectible = collectibles.first();
-        if (collectible.isColliding(spaceCraft) && collectible.getCollidingFlag()) {
-            progressBar.update();
-            collectible.setCollidingFlag();
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Restart the variables to initial position and removes all flowers from array.
-    */
-    private void restart(){
-        spaceCraft.updatePosition(WORLD_WIDTH/4,WORLD_HEIGHT/2);
-        asteroids.clear();
-        collectibles.clear();
-        asteroidsPassed = 0;
-        part = PART.PartOne;
-        screenOnFlag = true;
-        progressBar.restart();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks for if spaceship has hit into any of the flowers
-    */
-    private boolean checkForDeathCollision(){
-        for (Asteroids asteroid : asteroids){ if(asteroid.isColliding(spaceCraft)){return true;}}
-        return false;
+    private void endLevel(){
+        endLevelFlag = true;
+        //Sets level to be completed
+        spaceHops.getSettings().setLevelCompletion(0);
+        Gdx.input.setInputProcessor(pauseMenu.getNextLevelStage());
     }
 
     /*
@@ -642,66 +255,88 @@ class AdventureLevelOne extends ScreenAdapter {
     Purpose: Central function that draws the textures
     */
     private void draw() {
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.start(FrameProfiler.Phase.DRAW);
         //Viewport/Camera projection
         batch.setProjectionMatrix(camera.projection);
         batch.setTransformMatrix(camera.view);
         //Batch setting up texture
         batch.begin();
-        earth.draw(batch);                  //Draws earth
-        drawAsteroid();                     //Draws all asteroids
-        drawCollectible();                  //Draws all collectibles
-        spaceCraft.draw(batch);             //Draws user
-        conversationBox.draw(batch);        //Draws conversation box
+        simulation.getSky().draw(batch);                    //Draws earth, it stays put in the background
+        //The level scrolls past, moving the camera moves all of it
+        batch.setTransformMatrix(worldCamera.view);
+        drawAsteroid();                                     //Draws all asteroids
+        drawCollectible();                                  //Draws all collectibles
+        simulation.getSpaceCraft().draw(batch);             //Draws user
+        batch.setTransformMatrix(camera.view);              //HUD and buttons stay put
+        simulation.getConversationBox().draw(batch);        //Draws conversation box
         drawText();
         //While not in part one draws the progress bar
-        if(part != PART.PartOne) {progressBar.draw(batch, glyphLayout, bitmapFont);}
+        if(simulation.getPart() != LevelOneSimulation.PART.PartOne) {simulation.getProgressBar().draw(batch, scoreText);}
+        profiler.start(FrameProfiler.Phase.MENUS);
         //Draws menu if paused or level has ended
         if(pauseMenu.getPauseFlag() || endLevelFlag){pauseMenu.draw(batch);}
+        drawMenus();                                        //Buttons and their text go on top, in the same batch
+        profiler.stop(FrameProfiler.Phase.MENUS);
+        profiler.draw(batch);                               //Frame times over everything when the profiler is on
         batch.end();
-
-        drawMenus();
+        profiler.stop(FrameProfiler.Phase.DRAW);
+        profiler.countBatch(batch.renderCalls);
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: For every asteroid in the array it call the draw function from that object
+    Purpose: Draws every asteroid in the store
     */
-    private void drawAsteroid(){ for(Asteroids asteroid : asteroids){ asteroid.draw(batch); } }
+    private void drawAsteroid(){ simulation.getAsteroids().draw(batch); }
 
     /*
     Input: Void
     Output: Void
-    Purpose: For every asteroid in the array it call the draw function from that object
+    Purpose: Draws every collectible in the store
     */
-    private void drawCollectible(){ for(Collectible collectible : collectibles){ collectible.draw(batch); } }
+    private void drawCollectible(){ simulation.getCollectibles().draw(batch); }
 
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the dialog of the conversation box, it's only laid out again when the part changes
+    or the profile shows up or goes away
+    */
     private void drawText(){
-        if(part.equals(PART.PartOne) && conversationBox.getProfileFlag()) {
-            setUpText("We've found an unusual",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30);
-            setUpText("signal in the asteroid ",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30 - glyphLayout.height - 3);
-            setUpText("belt, investigate it!",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30 - 2 * glyphLayout.height - 6);
+        LevelOneSimulation.PART part = simulation.getPart();
+        int key = simulation.getConversationBox().getProfileFlag() ? part.ordinal() : -1;
+        if(dialogText.needsLayout(key)){
+            dialogText.clear(key);
+            if(key != -1){ setUpText(part); }
+        }
+        dialogText.draw(batch);
+    }
+
+    /*
+    Input: Part of the level
+    Output: Void
+    Purpose: Lays out the lines the conversation box says in that part
+    */
+    private void setUpText(LevelOneSimulation.PART part){
+        if(part.equals(LevelOneSimulation.PART.PartOne)) {
+            setUpText("We've found an unusual", 0);
+            setUpText("signal in the asteroid ", 1);
+            setUpText("belt, investigate it!", 2);
         }
-        if(part.equals(PART.PartTwo) && conversationBox.getProfileFlag()) {
-            setUpText("What a strange rock...",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30);
+        if(part.equals(LevelOneSimulation.PART.PartTwo)) {
+            setUpText("What a strange rock...", 0);
         }
-        if(part.equals(PART.PartThree) && conversationBox.getProfileFlag()) {
-            setUpText("Seems like it's the",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30);
-            setUpText("source of the signal,",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30 - glyphLayout.height - 3);
-            setUpText("collect few more samples.",
-                    WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30 - 2 * glyphLayout.height - 6);
+        if(part.equals(LevelOneSimulation.PART.PartThree)) {
+            setUpText("Seems like it's the", 0);
+            setUpText("source of the signal,", 1);
+            setUpText("collect few more samples.", 2);
         }
     }
 
-    private void setUpText(String string, float x, float y){
-        glyphLayout.setText(bitmapFont, string);
-        bitmapFont.draw(batch, string, x, y);
+    private void setUpText(String string, int line){
+        dialogText.addText(string, WORLD_WIDTH / 4 + 15, WORLD_HEIGHT - 30 - line * (dialogText.getHeight() + 3));
     }
 
     /*
@@ -714,51 +349,34 @@ class AdventureLevelOne extends ScreenAdapter {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);										 //Sends it to the buffer
     }
 
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the buttons and their text on top of the level, inside the batch the level is already drawing
+    */
     private void drawMenus(){
-        //Buttons are not part of the batch
         if(!pauseMenu.getPauseFlag() && !endLevelFlag){
-            pauseMenu.getMenuButtonStage().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawMenuText(menuGlyphLayout, menuBitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getMenuButtonStage(), batch);
+            pauseMenu.drawMenuText(menuText, batch);
         }
         else {
-            pauseMenu.getPauseMenuScreen().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawPauseText(menuGlyphLayout, menuBitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getPauseMenuScreen(), batch);
+            pauseMenu.drawPauseText(pauseText, batch);
         }
         if(endLevelFlag) {
-            pauseMenu.getNextLevelStage().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawNextLevelText(menuGlyphLayout, menuBitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getNextLevelStage(), batch);
+            pauseMenu.drawNextLevelText(nextLevelText, batch);
         }
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Destroys everything once we move onto the new screen
+    Purpose: Keeps the replay of the session, then destroys everything once we move onto the new screen
     */
     @Override
     public void dispose() {
-        pauseMenu.dispose();
-        spaceHops.getAssetManager().unload("level_one_assets.atlas");
-        spaceHops.getAssetManager().unload("ship_assets.atlas");
-        spaceHops.getAssetManager().unload("profile_assets.atlas");
-
+        if(replay != null){ replay.save(); }
+        resources.dispose();
     }
-}
\ No newline at end of file
+}
@@ -5,11 +5,8 @@ while in an active game environment.
     Adds textures over the wireframe
     Render all the updates to the objects on screen
 
-
-    Collectible mechanics, to match the distancing between asteroids and collectibles
-        the collectibles are turned invisible at collision and gotten rid off once they leave
-        the screen otherwise they would slowly encroach onto of the asteroids where players
-        can't get to
+    The game logic itself lives in LevelTwoSimulation, this screen passes on the input and the
+    frame time and draws whatever the simulation holds.
  */
 
 package com.packt.spacehops;
@@ -22,14 +19,11 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -41,20 +35,9 @@ class AdventureLevelTwo extends ScreenAdapter {
     private static final float WORLD_WIDTH = 320;
     private static final float WORLD_HEIGHT = 480;
 
-    /*
-    Games States dictate how the game should be behaving, we always start in Playing state here
-    */
-    private enum PART {PartOne, PartTwo, PartThree, PartFour, PartFive}
-    private PART part = PART.PartOne;
-
     /*
     Image processing -- Objects that modify the view and textures
      */
-    private ShapeRenderer shapeRendererEnemy;           //Creates wire frame for enemy objects
-    private ShapeRenderer shapeRendererUser;            //Creates wire frame for player object
-    private ShapeRenderer shapeRendererBackground;      //Creates wire frame for background objects
-    private ShapeRenderer shapeRendererCollectible;     //Creates wire frame for collectible objects
-
     private Viewport viewport;			 //The screen where we display things
     private Camera camera;				 //The camera viewing the viewport
     private SpriteBatch batch;			 //Batch that holds all of the textures
@@ -62,66 +45,39 @@ class AdventureLevelTwo extends ScreenAdapter {
     /*
     Textures
      */
-    private TextureRegion spaceCraftTexture;          //Player Texture
-    private TextureRegion collectibleTexture;         //Collectible Texture
-    private TextureRegion scaleTexture;               //Trail behind the "Dragon"
-    private TextureRegion fireTexture;                //Texture of the "Fire" attack
-    private TextureRegion laserTexture;               //Texture of the laser
-    private TextureRegion borderTexture;              //Texture of the bounds on top and bottom of screen
-    private TextureRegion dragonHeadTexture;          //Texture of the enemy
-    private TextureRegion progressBarTexture;         //Texture of the progress bar
-    private TextureRegion progressBarFrameTexture;    //Texture of the Frame of the Progress bar
     private TextureRegion backgroundTexture;          //Background
     private TextureRegion portalLineTexture;          //Texture of the lines flying in the backgrounf
-    private TextureRegion profileTexture;             //Profile of the talking character
-    private TextureRegion communicationFrameTexture;  //Frame
     private TextureRegion sputnikTexture;             //Sputnik NPC Texture
 
     /*
-    User spaceship object
+    Game logic of the level, dragon, boarders, collectibles and the spaceship
      */
-    private SpaceCraft spaceCraft;          //Player object
-    private Dragon dragon;                  //Enemy object
-    private ConversationBox conversationBox;//Conversation box that is used to talk to the user
-
-    /*
-    Array of the asteroids and collectibles that the user will encounter
-     */
-    private Array<SpaceBorder> spaceBorders = new Array<>();     //Array of asteroids
-    private Array<Collectible> collectibles = new Array<>();    //Array of collectibles
-    private Array<Rectangle> portalLines = new Array<>();       //Keeps track of the background lines
+    private LevelTwoSimulation simulation;
 
     //Background objects we use
     private PauseMenu pauseMenu;
-    private ProgressBar progressBar;        //Progress Bar that show user's progress
+    private InputReplay replay;             //Input of the session, written when the screen closes, null unless replays are on
     private BitmapFont menuBitmapFont;
-    private GlyphLayout menuGlyphLayout;
-
-    //Timing variables
-    private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
-    private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
 
     /*
-    Bitmap and GlyphLayout
+    Bitmap and the text laid out with them
      */
     private BitmapFont bitmapFont;
-    private GlyphLayout glyphLayout;
+    private TextCache scoreText;            //Number on the progress bar
+    private TextCache menuText;             //Menu button
+    private TextCache pauseText;            //Pause menu buttons
+    private TextCache nextLevelText;        //End of level buttons
 
     /*
     Flags
      */
-    private static final int GOAL = 6;          //Goal of the level to end
     private boolean debugFlag = false;          //Tells screen to draw debug wireframe
     private boolean textureFlag = true;         //Tells screen to draw textures
-    private boolean stopSpawningFlag = false;   //Tells screen to stop creating more asteroids and collectibles
     private boolean endLevelFlag = false;       //Tells screen that the level is complete and to give the next stage menu
-    private boolean screenOnFlag = true;        //Tells screen that the conversation box is on
-    private boolean sputnikAliveFlag = true;    //Tells screen to show the sputnik texture
-    private boolean sputnikMovementFlag = false; //Tells sputnik to move up and down, true = up, false = down
-    private float sputnikY = 240;               //Base y position of the Sputnik
 
     //
     private final SpaceHops spaceHops;
+    private final ScreenResources resources = new ScreenResources(this);   //Batches, renderers, fonts and stages of this screen
     AdventureLevelTwo(SpaceHops spaceHops) { this.spaceHops = spaceHops; }
 
     /*
@@ -142,18 +98,17 @@ class AdventureLevelTwo extends ScreenAdapter {
     @Override
     public void show() {
         showCamera();           //Sets up camera through which objects are draw through
+        batch = resources.add(new SpriteBatch());   //Batch the level, HUD and buttons are all drawn with
         showTexture();          //Connects textures to the images
         showObjects();          //Creates object and passes them the dimensions and textures
-        showRender();           //Sets up renders that will draw the debug of objects
-
-        //Sets up the texture with the images
-        batch = new SpriteBatch();
 
-        //BitmapFont and GlyphLayout
-        bitmapFont = new BitmapFont();
-        glyphLayout = new GlyphLayout();
-        menuBitmapFont = new BitmapFont();
-        menuGlyphLayout = new GlyphLayout();
+        //BitmapFont and TextCaches
+        bitmapFont = resources.add(new BitmapFont());
+        menuBitmapFont = resources.add(new BitmapFont());
+        scoreText = new TextCache(bitmapFont);
+        menuText = new TextCache(menuBitmapFont);
+        pauseText = new TextCache(bitmapFont);
+        nextLevelText = new TextCache(bitmapFont);
     }
 
     /*
@@ -163,21 +118,16 @@ class AdventureLevelTwo extends ScreenAdapter {
     Mostly giving objects dimension, position and connecting them to textures.
     */
     private void showObjects(){
-        //Spaceship creation
-        spaceCraft = new SpaceCraft(spaceCraftTexture);
-        spaceCraft.updatePosition(2*WORLD_WIDTH/3, WORLD_HEIGHT/2);
-
-        //Enemy set up
-        dragon = new Dragon(dragonHeadTexture, scaleTexture, fireTexture, laserTexture);
-
-        //Player UI
-            //Progress of stage
-        progressBar = new ProgressBar(progressBarTexture);
-        progressBar.setGoal(GOAL);
-            //Talk from NPC
-        conversationBox = new ConversationBox(WORLD_WIDTH, WORLD_HEIGHT, communicationFrameTexture, profileTexture);
+        //Level logic, creates the spaceship, dragon and UI objects
+        simulation = new LevelTwoSimulation(spaceHops.getAssetManager(), TimeUtils.millis());
+        if(spaceHops.getReplayFlag()){
+            replay = new InputReplay(2, simulation.getSeed());
+            simulation.record(replay);
+        }
+        simulation.setProfiler(spaceHops.getProfiler());
+
             //Menus
-        pauseMenu = new PauseMenu(spaceHops);
+        pauseMenu = new PauseMenu(spaceHops, resources, viewport, batch);
         pauseMenu.createNextLevelButton(2);
 
     }
@@ -198,62 +148,15 @@ class AdventureLevelTwo extends ScreenAdapter {
     /*
     Input: Void
     Output: Void
-    Purpose: Connects the images to the Texture objects
+    Purpose: Connects the images to the Texture objects that are only drawn
     */
     private void showTexture(){
         TextureAtlas levelAtlas = spaceHops.getAssetManager().get("level_two_assets.atlas");
-        TextureAtlas shipAtlas = spaceHops.getAssetManager().get("ship_assets.atlas");
-        TextureAtlas profileAtlas = spaceHops.getAssetManager().get("profile_assets.atlas");
-        TextureAtlas uiAtlas = spaceHops.getAssetManager().get("ui_assets.atlas");
-
-        //Spaceship
-        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
-
-
-        //Collectible
-        collectibleTexture = uiAtlas.findRegion("CollectiblePack");
-
-        //Enemy
-        dragonHeadTexture = levelAtlas.findRegion("DragonPack");
-        laserTexture = levelAtlas.findRegion("Laser");
-        fireTexture = levelAtlas.findRegion("CloudPack");
-        scaleTexture = levelAtlas.findRegion("TearPack");
-        borderTexture = levelAtlas.findRegion("CloudBoarder");
 
         //Background
         backgroundTexture = levelAtlas.findRegion("PortalBackground");
         portalLineTexture = levelAtlas.findRegion("PortalLines");
         sputnikTexture = levelAtlas.findRegion("Spudnik");
-
-        //Communication Frame
-        communicationFrameTexture = uiAtlas.findRegion("CommunicationFrame");
-        profileTexture = profileAtlas.findRegion("RussianPack");
-
-        //Progress Bar
-        progressBarTexture = uiAtlas.findRegion("Score");
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Sets up the different renders to draw objects in wireframe
-    */
-    private void showRender(){
-        //Enemy
-        shapeRendererEnemy = new ShapeRenderer();
-        shapeRendererEnemy.setColor(Color.RED);
-
-        //User
-        shapeRendererUser = new ShapeRenderer();
-        shapeRendererUser.setColor(Color.GREEN);
-
-        //Background
-        shapeRendererBackground = new ShapeRenderer();
-        shapeRendererBackground.setColor(Color.WHITE);
-
-        //Intractable
-        shapeRendererCollectible = new ShapeRenderer();
-        shapeRendererCollectible.setColor(Color.BLUE);
     }
 
     /*
@@ -263,81 +166,60 @@ class AdventureLevelTwo extends ScreenAdapter {
     */
     @Override
     public void render(float delta) {
+        setProfilerMode();              //Checks if the user turned the frame profiler on or off
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.beginFrame();
         clearScreen();	                //Wipes screen
         setTextureMode();               //Checks if the user changed the status of texturesOnFlag
         if(textureFlag) {draw();}	    //Draws the textures
 
         setDebugMode();                 //Checks if user changed the status of the debugModeFlag
-        if(debugFlag) {                 //If debugMode is on ShapeRender will drawing lines
-            renderEnemy();              //Draws Enemy Wire Frame
-            renderUser();               //Draws User Wire Frame
-            renderBackground();         //Draws Background Wire Frame
-            renderCollectible();        //Draws Collectible Wire Frame
-        }
+        profiler.start(FrameProfiler.Phase.DEBUG);
+        if(debugFlag) {renderDebug();}  //If debugMode is on the wireframes are drawn over the textures
+        profiler.stop(FrameProfiler.Phase.DEBUG);
+        profiler.start(FrameProfiler.Phase.UPDATE);
         if(!pauseMenu.getPauseFlag() && !endLevelFlag){ update(delta);} //Updates the variables of all object if the game is not paused
+        profiler.stop(FrameProfiler.Phase.UPDATE);
+        profiler.endFrame();
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Draws the enemy/obstacle wireframe
-    */
-    private void renderEnemy(){
-        shapeRendererEnemy.setProjectionMatrix(camera.projection);      		                 //Screen set up camera
-        shapeRendererEnemy.setTransformMatrix(camera.view);            			                 //Screen set up camera
-        shapeRendererEnemy.begin(ShapeRenderer.ShapeType.Line);         		                 //Sets up to draw lines
-        for(SpaceBorder spaceBorder : spaceBorders) {spaceBorder.drawDebug(shapeRendererEnemy);}
-        dragon.drawDebug(shapeRendererEnemy);
-        shapeRendererEnemy.end();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Draws user wireframe
+    Purpose: Draws the wireframe of every object in one batch, colored by what kind of object it is
     */
-    private void renderUser(){
-        shapeRendererUser.setProjectionMatrix(camera.projection);    //Screen set up camera
-        shapeRendererUser.setTransformMatrix(camera.view);           //Screen set up camera
-        shapeRendererUser.begin(ShapeRenderer.ShapeType.Line);       //Sets up to draw lines
-        spaceCraft.drawDebug(shapeRendererUser);                     //Draws draws the spaceship
-        shapeRendererUser.end();
+    private void renderDebug(){
+        DebugOverlay debugOverlay = spaceHops.getDebugOverlay();
+        debugOverlay.begin(camera);
+        //Enemies
+        ShapeRenderer shapeRenderer = debugOverlay.use(DebugOverlay.Category.ENEMY);
+        for(SpaceBorder spaceBorder : simulation.getSpaceBorders()) {spaceBorder.drawDebug(shapeRenderer);}
+        simulation.getDragon().drawDebug(shapeRenderer);
+        //User
+        simulation.getSpaceCraft().drawDebug(debugOverlay.use(DebugOverlay.Category.USER));         //Draws the spaceship
+        //Background
+        if(simulation.getPortalLines().getSize() > 0) {drawDebugPortalLine(debugOverlay.use(DebugOverlay.Category.BACKGROUND));}
+        //Collectibles
+        shapeRenderer = debugOverlay.use(DebugOverlay.Category.COLLECTIBLE);
+        simulation.getCollectibles().drawDebug(shapeRenderer);
+        debugOverlay.end();
     }
 
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Draws the background object and UI wireframes
-    */
-    private void renderBackground(){
-        shapeRendererBackground.setProjectionMatrix(camera.projection);                 //Screen set up camera
-        shapeRendererBackground.setTransformMatrix(camera.view);                        //Screen set up camera
-        shapeRendererBackground.begin(ShapeRenderer.ShapeType.Line);                    //Starts to draw
-        if(portalLines.size > 0) {drawDebugPortalLine(shapeRendererBackground);}
-        shapeRendererBackground.end();
-    }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Draws wireframe of the collectibles -- needs to be redone along with collectible objects
+    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off, while it's on
+    the EntityTrace records what the entities do and 3 writes what it has to the log
     */
-    private void renderCollectible(){
-        shapeRendererCollectible.setProjectionMatrix(camera.projection);
-        shapeRendererCollectible.setTransformMatrix(camera.view);
-        shapeRendererCollectible.begin(ShapeRenderer.ShapeType.Line);
-        for(Collectible collectible : collectibles) {collectible.drawDebug(shapeRendererCollectible);}
-        shapeRendererCollectible.end();
+    private void setDebugMode() {
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) {
+            debugFlag = !debugFlag;
+            EntityTrace.setLevel(debugFlag ? EntityTrace.STATE : EntityTrace.OFF);
+        }
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_3)) { EntityTrace.dump(); }
     }
 
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off
-    */
-    private void setDebugMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) { debugFlag = !debugFlag;} }
-
     /*
     Input: Void
     Output: Void
@@ -345,257 +227,46 @@ class AdventureLevelTwo extends ScreenAdapter {
     */
     private void setTextureMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_2)) {textureFlag = !textureFlag;} }
 
-    /*
-    Input: Delta, timing
-    Output: Void
-    Purpose: Central function that starts all the other update functions
-    */
-    private void update(float delta){
-        //If we are leaving the screen we get rid of everything in memory
-        if(pauseMenu.getDisposeFlag()){dispose();}      //If flag is true delete all the Stage and Texture objects
-        updateSputnik();                                //Checks if sputnik should be displayed
-        if(screenOnFlag) {updateCommunicationScreenTime(delta);}   //Counts down till screen goes down
-        updatePart(delta);                              //Updates the phase of the level changing the enemy pattern
-        updatePortalLines();                            //Updates the background line position
-        updateCheckForDeath();                          //Check for death collision
-        updateDragon(delta);                            //Updates the action and position of enemy
-        updateCollectibles();                           //Update the position of collectibles
-        updateSpaceBoarders();                          //Updates player with progress through the stage
-        updateSpaceship();                       //Updates the position of the spaceship
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Updates the position and turns off texture if "killed"
-    */
-    private void updateSputnik(){
-        updateSputnikPosition();
-        if(dragon.getX() + dragon.getWidth() >= WORLD_WIDTH/4 + sputnikTexture.getRegionWidth()){sputnikAliveFlag = false;}
-    }
-
-
     /*
     Input: Void
     Output: Void
-    Purpose: Updates the State and position of the of the sputnik
-    */
-    private void updateSputnikPosition(){
-        //oscillating_horizontal : true = up, false = down]
-        if(sputnikY == 250){
-            sputnikMovementFlag = false;}
-        else if(sputnikY == 230){
-            sputnikMovementFlag = true;}
-
-        if(sputnikMovementFlag){ sputnikY += 1; }
-        else{ sputnikY -= 1; }
-    }
-    /*
-    Input: Delta, timing
-    Output: Void
-    Purpose: Checks for what stage of the level we are and sets off appropriate events that correspond
+    Purpose: Checks for user input if the user clicks turns the frame profiler overlay on and off
     */
-    private void updatePart(float delta){
-        //Moves from Part 1 to Part 2, turns on commutation window, brings dragon in once communication end
-        if(part == PART.PartOne && !screenOnFlag){ screenOnFlag = true;}
-        else if(part == PART.PartOne && moveTimer-delta <= 0){
-            part = PART.PartTwo;
-            dragon.setStart();
-        }
-        //Moves from Part 2 to Part 3, turns on commutation window, sets dragon to bite enemy
-        if(part == PART.PartTwo && progressBar.getScore() == 2){
-            part = PART.PartThree;
-            dragon.setPhase(1);
-            screenOnFlag = true;
-        }
-        //Moves from Part 2 to Part 3, turns on commutation window, sets dragon to shoot fire and bite
-        if(part == PART.PartThree && progressBar.getScore() == 4){
-            part = PART.PartFour;
-            dragon.setPhase(2);
-            screenOnFlag = true;
-        }
-        //Moves from Part 2 to Part 3, turns on commutation window, sets dragon to shoot fire and laser and bite
-        if(part == PART.PartFour && progressBar.getScore() == 6){
-            part = PART.PartFive;
-            screenOnFlag = true;
-        }
-
-        //Tells the screen to turn on and which text output to give
-        if(screenOnFlag){ conversationBox.update(delta, 0);}
-        else{conversationBox.update(delta, 1);}
-
-    }
+    private void setProfilerMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_4)) {spaceHops.getProfiler().toggle();} }
 
     /*
     Input: Delta, timing
     Output: Void
-    Purpose: Counts down until the communication screen turns off
-    */
-    private void updateCommunicationScreenTime(float delta) {
-        moveTimer -= delta;
-        if (moveTimer <= 0) {
-            moveTimer = MOVE_TIME;
-            screenOnFlag = false;
-        }
-    }
-
-    /*
-    Input: Delta
-    Output: Void
-    Purpose: Updates the position of the spaceship
-    */
-    private void updateSpaceship(){
-        spaceCraft.update();
-        if(Gdx.input.isKeyJustPressed(Input.Keys.UP)) {
-            spaceCraft.flyUp();
-        }
-        blockSpaceshipLeavingTheWorld();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Stops the Circle from going past the bottom of the screen
-    */
-    private void blockSpaceshipLeavingTheWorld(){
-        //Gets the Y, sets the min: Radius away from bottom, max: World Height - Radius
-        spaceCraft.updatePosition(spaceCraft.getX(), MathUtils.clamp(spaceCraft.getY(), spaceCraft.getRadius(), WORLD_HEIGHT - spaceCraft.getRadius()) );
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if the player collided with any enemy objects if they did restarts
-    */
-    private void updateCheckForDeath(){
-        //Checks if the player touched the boarders
-        for (SpaceBorder spaceBorder : spaceBorders) {
-            if(spaceBorder.isColliding(spaceCraft)){restart();}
-        }
-        //Checks if the player touched the enemy dragon or any of it's attacks
-        if(dragon.isColliding(spaceCraft)){restart();}
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Central update dragon, all of the dragon updates are internal
+    Purpose: Central function that passes input and time on to the simulation
     */
-    private void updateDragon(float delta){ dragon.update(delta);}
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Central collectible update method. Updates if we need a new collectible or if one needs to be removed
-    */
-    private void updateCollectibles(){
-        checkIfNewCollectibleIsNeeded();
-        removeCollectible();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if there is needs to create a new collectible, creates one once the dragon
-        passes over the player y line
-    */
-    private void checkIfNewCollectibleIsNeeded(){
-        if(dragon.getX() + dragon.getWidth()/2 >= 2*WORLD_WIDTH/3 && collectibles.size < 1){
-            createNewCollectible();
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Creates a new collectible
-    */
-    private void createNewCollectible(){
-        Collectible collectible = new Collectible(collectibleTexture);
-        collectible.setPosition(2*WORLD_WIDTH/3,dragon.getCentralY() + dragon.getHeight(), dragon.getHeight());
-        collectible.setRadius(10f);
-        collectibles.add(collectible);
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Removes a collectible if it was touched, updates the score and if score is equal to goal
-    tells level to end
-    */
-    private void removeCollectible(){
-        for(Collectible collectible : collectibles){
-            //If space craft collides removes collectible and increases score
-            if (collectible.isColliding(spaceCraft)) {
-                collectibles.removeValue(collectible,true);
-                progressBar.update();
-                //If score is done end game
-                if(progressBar.getScore() == GOAL){
-                    Gdx.input.setInputProcessor(pauseMenu.getNextLevelStage());
-                    spaceHops.getSettings().getLevelCompletion()[1] = true;
-                    endLevelFlag = true;}
-            }
-        }
-    }
-
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Central method for updating the portal lines
-    */
-    private void updatePortalLines(){
-        checkIfNewPortalLineIsNeeded();     //Checks if we need more
-        if(portalLines.size > 0) {
-            updatePortalLinePosition();         //Updates their position
-            removePortalLine();                 //Removes liens that are off screen
-        }
+    private void update(float delta){
+        //Player input is held until the next tick of the simulation
+        if(Gdx.input.isKeyJustPressed(Input.Keys.UP)) { simulation.queueFlyUp(); }
+        simulation.advance(delta);                      //Runs as many fixed ticks as fit in this frame
+        //Once the last part starts the next level loads in the background, so its button doesn't need the LoadingScreen
+        if(simulation.getPart().ordinal() >= LevelTwoSimulation.PART.PartFour.ordinal()){ spaceHops.preloadScreen(3); }
+        if(simulation.isLevelComplete()){ endLevel(); }
     }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Checks if we need more lines, if we do makes more
-    */
-    private void checkIfNewPortalLineIsNeeded(){ if(portalLines.size < 5){createPortalLine();} }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Creates a new line
+    Purpose: Brings up the next level menu and sets the level as completed
     */
-    private void createPortalLine(){
-        float height = MathUtils.random(1,3);       //Sets a random height of the line
-        float width = MathUtils.random(16,64);      //Sets a random width of the height
-        float y = MathUtils.random(WORLD_HEIGHT);   //Sets a random position on the screen
-        Rectangle rectangle = new Rectangle(WORLD_WIDTH, y, width,height);  //Creates a rectangle
-        portalLines.add(rectangle);                 //Adds it to the array
+    private void endLevel(){
+        Gdx.input.setInputProcessor(pauseMenu.getNextLevelStage());
+        spaceHops.getSettings().setLevelCompletion(1);
+        endLevelFlag = true;
     }
 
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Updates the position of the line with the speed being a ration between the width of line and world
-    */
-    private void updatePortalLinePosition(){for (Rectangle portalLine : portalLines){ portalLine.x -= WORLD_WIDTH/portalLine.width; }}
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Removes the lines if they go off screen
-    */
-    private void removePortalLine(){
-        for (Rectangle portalLine : portalLines) {
-            if (portalLine.x + portalLine.width < 0) { portalLines.removeValue(portalLine, true);} }
-        }
-
     /*
     Input: ShapeRender to add to the list of things to draw
     Output: Void
     Purpose: Draws the wire frame of the lines
     */
     private void drawDebugPortalLine(ShapeRenderer shapeRenderer){
-            for (Rectangle portalLine : portalLines){ shapeRenderer.rect(portalLine.x, portalLine.y, portalLine.width, portalLine.height); }
+        PortalLineStore portalLines = simulation.getPortalLines();
+        for (int i = 0; i < portalLines.getSize(); i++){ shapeRenderer.rect(portalLines.getX(i), portalLines.getY(i), portalLines.getWidth(i), portalLines.getHeight(i)); }
     }
 
     /*
@@ -604,78 +275,8 @@ class AdventureLevelTwo extends ScreenAdapter {
     Purpose: Draws the texture
     */
     private void drawPortalLine(SpriteBatch batch){
-        for (Rectangle portalLine : portalLines){ batch.draw(portalLineTexture, portalLine.x, portalLine.y, portalLine.width, portalLine.height); }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose:Central function for updating the space boarders
-    */
-    private void updateSpaceBoarders(){
-        checkIfRemoveSpaceBoarder();
-        checkIfNewBoarderIsNeeded();
-        updateSpaceBoarderPosition();
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Creates a new set of boarders
-    */
-    private void createNewSpaceBoarder(float initialX){
-        SpaceBorder spaceBorder = new SpaceBorder(initialX, borderTexture, borderTexture);
-        spaceBorders.add(spaceBorder);
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Checks if there is need to create a new boarder
-    */
-    private void checkIfNewBoarderIsNeeded(){
-        //If no boarder on screen exits
-        if (spaceBorders.size == 0) { createNewSpaceBoarder(0); }
-        //If the there is only one make another one
-        else if (spaceBorders.size == 1){ createNewSpaceBoarder(WORLD_WIDTH);}
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Gets rid of the space boarder that's off the screen
-    */
-    private void checkIfRemoveSpaceBoarder(){
-        if(spaceBorders.size > 0){
-            SpaceBorder firstSpaceBorder = spaceBorders.first();
-            if(firstSpaceBorder.getX() <= -WORLD_WIDTH){spaceBorders.removeValue(firstSpaceBorder,true); }
-        }
-    }
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Updates the position of the boarders
-    */
-    private void updateSpaceBoarderPosition(){ for(SpaceBorder spaceBorder : spaceBorders){ spaceBorder.updatePosition(); }}
-
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Restart the variables to initial position and removes all flowers from array.
-    */
-    private void restart(){
-        spaceCraft.updatePosition(2*WORLD_WIDTH/3,WORLD_HEIGHT/2);
-        spaceCraft.restart();
-        dragon.restart();
-        progressBar.restart();
-        collectibles.clear();
-        part = PART.PartOne;
-        moveTimer = MOVE_TIME;
-        sputnikAliveFlag = true;
-        sputnikMovementFlag = false;
-        sputnikY = 240;
-        screenOnFlag = true;
+        PortalLineStore portalLines = simulation.getPortalLines();
+        for (int i = 0; i < portalLines.getSize(); i++){ batch.draw(portalLineTexture, portalLines.getX(i), portalLines.getY(i), portalLines.getWidth(i), portalLines.getHeight(i)); }
     }
 
     /*
@@ -684,6 +285,8 @@ class AdventureLevelTwo extends ScreenAdapter {
     Purpose: Central function that draws the textures
     */
     private void draw() {
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.start(FrameProfiler.Phase.DRAW);
         //Viewport/Camera projection
         batch.setProjectionMatrix(camera.projection);
         batch.setTransformMatrix(camera.view);
@@ -692,26 +295,30 @@ class AdventureLevelTwo extends ScreenAdapter {
         //Draws the background
         batch.draw(backgroundTexture, 0 ,0, WORLD_WIDTH, WORLD_HEIGHT);
         //If there are lines draw lines
-        if(portalLines.size > 0){drawPortalLine(batch);}
+        if(simulation.getPortalLines().getSize() > 0){drawPortalLine(batch);}
         //Draws player
-        spaceCraft.draw(batch);
+        simulation.getSpaceCraft().draw(batch);
         //Draws collectibles
-        for (Collectible collectible : collectibles){collectible.draw(batch);}
+        simulation.getCollectibles().draw(batch);
         //Draws the boarder s
-        for(SpaceBorder spaceBorder : spaceBorders){spaceBorder.draw(batch);}
+        for(SpaceBorder spaceBorder : simulation.getSpaceBorders()){spaceBorder.draw(batch);}
         //Draws the dragon
-        dragon.draw(batch);
+        simulation.getDragon().draw(batch);
         //Draws sputnik
-        if(sputnikAliveFlag){batch.draw(sputnikTexture, WORLD_WIDTH/4, sputnikY);}
+        if(simulation.getSputnikAliveFlag()){batch.draw(sputnikTexture, WORLD_WIDTH/4, simulation.getSputnikY());}
         //Draws conversation box
-        conversationBox.draw(batch);
+        simulation.getConversationBox().draw(batch);
         //Draws progress bar
-        progressBar.draw(batch, glyphLayout, bitmapFont);
+        simulation.getProgressBar().draw(batch, scoreText);
+        profiler.start(FrameProfiler.Phase.MENUS);
         //Draws the pause menu frame
         if(pauseMenu.getPauseFlag() || endLevelFlag){pauseMenu.draw(batch);}
+        drawMenus();                                        //Buttons and their text go on top, in the same batch
+        profiler.stop(FrameProfiler.Phase.MENUS);
+        profiler.draw(batch);                               //Frame times over everything when the profiler is on
         batch.end();
-
-        drawMenus();
+        profiler.stop(FrameProfiler.Phase.DRAW);
+        profiler.countBatch(batch.renderCalls);
     }
 
     /*
@@ -724,47 +331,34 @@ class AdventureLevelTwo extends ScreenAdapter {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);										 //Sends it to the buffer
     }
 
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the buttons and their text on top of the level, inside the batch the level is already drawing
+    */
     private void drawMenus(){
-        //Buttons are not part of the batch
         if(!pauseMenu.getPauseFlag() && !endLevelFlag){
-            pauseMenu.getMenuButtonStage().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawMenuText(menuGlyphLayout, menuBitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getMenuButtonStage(), batch);
+            pauseMenu.drawMenuText(menuText, batch);
         }
         else {
-            pauseMenu.getPauseMenuScreen().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawPauseText(glyphLayout, bitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getPauseMenuScreen(), batch);
+            pauseMenu.drawPauseText(pauseText, batch);
         }
         if(endLevelFlag) {
-            pauseMenu.getNextLevelStage().draw();
-
-            batch.setProjectionMatrix(camera.projection);
-            batch.setTransformMatrix(camera.view);
-            //Batch setting up texture
-            batch.begin();
-            pauseMenu.drawNextLevelText(glyphLayout, bitmapFont, batch);
-            batch.end();
+            pauseMenu.drawStage(pauseMenu.getNextLevelStage(), batch);
+            pauseMenu.drawNextLevelText(nextLevelText, batch);
         }
     }
 
     /*
 Input: Void
 Output: Void
-Purpose: Destroys everything once we move onto the new screen
+Purpose: Keeps the replay of the session, then destroys everything once we move onto the new screen
 */
     @Override
     public void dispose() {
-        pauseMenu.dispose();
+        if(replay != null){ replay.save(); }
+        resources.dispose();
     }
-}
\ No newline at end of file
+}
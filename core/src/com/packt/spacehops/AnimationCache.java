@@ -0,0 +1,118 @@
+/*
+The AnimationCache class splits a texture into tiles once and hands the same tiles and animations to
+everything that asks for them. Before this every collectible, Dragon and SpaceCraft made its own copy of
+the region and split it again in its constructor.
+
+    Everything handed out is shared, callers must treat the tile arrays and animations as read only.
+    Entries are keyed by the region object itself so clear() has to be called once the atlas the regions
+    came from has been unloaded.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+
+final class AnimationCache {
+
+    //Tiles and animations that have already been made
+    private static final ObjectMap<Key, TextureRegion[][]> tiles = new ObjectMap<>();
+    private static final ObjectMap<Key, Animation<TextureRegion>> animations = new ObjectMap<>();
+
+    //Reused for look ups so finding something that is already cached doesn't allocate
+    private static final Key lookUp = new Key();
+
+    private AnimationCache(){}
+
+    /*
+    Input: Region of the atlas, width and height of the tiles
+    Output: Tiles the region is broken down into
+    Purpose: Splits the region the first time it's asked for and returns the same tiles after that
+    */
+    static synchronized TextureRegion[][] getTiles(TextureRegion region, int tileWidth, int tileHeight){
+        lookUp.set(region, tileWidth, tileHeight, 0, null, null);
+        TextureRegion[][] cached = tiles.get(lookUp);
+        if(cached == null){
+            cached = new TextureRegion(region).split(tileWidth, tileHeight); //Breaks down the texture into tiles
+            tiles.put(lookUp.copy(), cached);
+        }
+        return cached;
+    }
+
+    /*
+    Input: Region of the atlas, width and height of the tiles, how long each frame lasts, how it plays and the
+        frames as row, column pairs
+    Output: Animation made of those tiles
+    Purpose: Builds the animation the first time it's asked for and returns the same one after that
+    */
+    static synchronized Animation<TextureRegion> getAnimation(TextureRegion region, int tileWidth, int tileHeight,
+                                                              float frameDuration, Animation.PlayMode playMode, int[] frames){
+        lookUp.set(region, tileWidth, tileHeight, frameDuration, playMode, frames);
+        Animation<TextureRegion> cached = animations.get(lookUp);
+        if(cached == null){
+            Key key = lookUp.copy();    //Copied first, getTiles reuses the look up key
+            TextureRegion[][] regionTiles = getTiles(region, tileWidth, tileHeight);
+            TextureRegion[] keyFrames = new TextureRegion[frames.length/2];
+            for(int i = 0; i < keyFrames.length; i++){ keyFrames[i] = regionTiles[frames[2*i]][frames[2*i + 1]]; }
+            cached = new Animation<>(frameDuration, keyFrames);
+            cached.setPlayMode(playMode);
+            animations.put(key, cached);
+        }
+        return cached;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Forgets everything, called when the atlases the regions came from are unloaded
+    */
+    static synchronized void clear(){
+        tiles.clear();
+        animations.clear();
+    }
+
+    /*
+    The Key class identifies a region split into one tile size, and for animations which frames are played and how
+     */
+    private static final class Key {
+        private TextureRegion region;
+        private int tileWidth;
+        private int tileHeight;
+        private float frameDuration;
+        private Animation.PlayMode playMode;
+        private int[] frames;
+
+        Key set(TextureRegion region, int tileWidth, int tileHeight, float frameDuration, Animation.PlayMode playMode, int[] frames){
+            this.region = region;
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.frameDuration = frameDuration;
+            this.playMode = playMode;
+            this.frames = frames;
+            return this;
+        }
+
+        Key copy(){ return new Key().set(region, tileWidth, tileHeight, frameDuration, playMode, frames == null ? null : frames.clone()); }
+
+        @Override
+        public int hashCode(){
+            int hash = System.identityHashCode(region);
+            hash = 31 * hash + tileWidth;
+            hash = 31 * hash + tileHeight;
+            hash = 31 * hash + Float.floatToIntBits(frameDuration);
+            hash = 31 * hash + (playMode == null ? 0 : playMode.ordinal());
+            return 31 * hash + Arrays.hashCode(frames);
+        }
+
+        @Override
+        public boolean equals(Object object){
+            if(!(object instanceof Key)){return false;}
+            Key key = (Key) object;
+            return region == key.region && tileWidth == key.tileWidth && tileHeight == key.tileHeight &&
+                    frameDuration == key.frameDuration && playMode == key.playMode && Arrays.equals(frames, key.frames);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+The AssetManifest class lists the assets a screen needs on top of the shared ones.
+    The ui, ship and profile atlases are used by every screen so they are loaded once when the game
+    starts and stay pinned. Everything else belongs to one screen, when the game moves to another screen
+    the assets the new one doesn't share are unloaded, so only one level's atlas is ever in memory.
+
+    The AssetManager counts references itself, each manifest holds exactly one reference on every
+    asset it lists from the time it's loaded until the next manifest replaces it.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+
+class AssetManifest {
+
+    //Atlases every screen uses, never unloaded
+    static final AssetManifest SHARED = new AssetManifest()
+            .atlas("ui_assets.atlas")
+            .atlas("ship_assets.atlas")
+            .atlas("profile_assets.atlas");
+
+    private final Array<AssetDescriptor<?>> assets = new Array<>();
+
+    /*
+    Input: Which screen the LoadingScreen is going to, 0 is the start screen, 1 to 3 are the levels and the
+        endless modes come after them
+    Output: Manifest of that screen
+    Purpose: Lists what each screen loads on top of the shared atlases
+    */
+    static AssetManifest forScreen(int levelSelectFlag){
+        //Endless mode takes the asteroids from the belt and the boarders and junk from the warehouse
+        if(levelSelectFlag >= SpaceHops.ENDLESS_FLAG){
+            return new AssetManifest().atlas("level_one_assets.atlas").atlas("level_three_assets.atlas");
+        }
+        switch (levelSelectFlag){
+            case 1: return new AssetManifest().atlas("level_one_assets.atlas");
+            case 2: return new AssetManifest().atlas("level_two_assets.atlas");
+            case 3: return new AssetManifest().atlas("level_three_assets.atlas");
+            default:
+                BitmapFontLoader.BitmapFontParameter bitmapFontParameter = new BitmapFontLoader.BitmapFontParameter();
+                bitmapFontParameter.atlasName = "font_assets.atlas";
+                return new AssetManifest()
+                        .atlas("main_screen_assets.atlas")
+                        .add(new AssetDescriptor<>("Fonts/ButtonFont.fnt", BitmapFont.class, bitmapFontParameter));
+        }
+    }
+
+    /*
+    Input: File name of the atlas
+    Output: This manifest
+    Purpose: Adds an atlas to the manifest
+    */
+    AssetManifest atlas(String fileName){ return add(new AssetDescriptor<>(fileName, TextureAtlas.class)); }
+
+    /*
+    Input: Asset
+    Output: This manifest
+    Purpose: Adds any kind of asset to the manifest
+    */
+    AssetManifest add(AssetDescriptor<?> asset){
+        assets.add(asset);
+        return this;
+    }
+
+    /*
+    Input: AssetManager, manifest that's already loaded, null if there is none
+    Output: Void
+    Purpose: Queues every asset the other manifest doesn't already hold
+    */
+    void load(AssetManager assetManager, AssetManifest loaded){
+        for(AssetDescriptor<?> asset : assets){
+            if(loaded == null || !loaded.contains(asset.fileName)){ assetManager.load(asset); }
+        }
+    }
+
+    /*
+    Input: AssetManager, manifest whose assets are kept, like the one replacing this one
+    Output: Boolean, true if anything was unloaded
+    Purpose: Lets go of every asset the other manifest doesn't hold
+    */
+    boolean unload(AssetManager assetManager, AssetManifest kept){
+        boolean unloadedFlag = false;
+        for(AssetDescriptor<?> asset : assets){
+            if(!kept.contains(asset.fileName)){
+                assetManager.unload(asset.fileName);
+                unloadedFlag = true;
+            }
+        }
+        return unloadedFlag;
+    }
+
+    /*
+    Input: File name
+    Output: Boolean
+    Purpose: Checks if the manifest lists the file
+    */
+    private boolean contains(String fileName){
+        for(AssetDescriptor<?> asset : assets){ if(asset.fileName.equals(fileName)){ return true; } }
+        return false;
+    }
+}
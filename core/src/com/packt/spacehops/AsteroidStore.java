@@ -0,0 +1,193 @@
+/*
+The AsteroidStore class keeps the rows of asteroids of a level, each row a floor coming up from the bottom
+and a ceiling hanging down from the top with a gap between them.
+    A row used to be an Asteroids object holding two circles and two rectangles that were moved one by one.
+    All that changes between rows is where the row is and how high its floor and ceiling are, so that's all
+    the columns hold, the circles and rectangles are worked out from them when the row is tested or drawn.
+
+    Rows come in on the right in the order they're added, so the store stays sorted along x. The collision
+    check uses that the same way SweepAndPrune does for the queues, a binary search for the first row that
+    reaches the spaceship and a sweep that stops at the first one past it.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Circle;
+
+class AsteroidStore extends ObstacleStore {
+
+    /*
+    Dimensions
+     */
+    static final float DISTANCE_BETWEEN_FLOOR_AND_CEILING = 225F;
+    private static final float COLLISION_RECTANGLE_WIDTH = 15f;
+    static final float COLLISION_RECTANGLE_HEIGHT = 225f;
+    static final float HEIGHT_OFFSET = -200f;
+    static final float RADIUS = 32f;
+    private static final float CENTER = COLLISION_RECTANGLE_WIDTH/2;    //From the left of the rectangles to the middle of the circles
+
+    /*
+    Columns, entry i of each array together make up row i
+     */
+    private float[] x;                  //Left edge of the rectangles
+    private float[] floorY;             //Bottom of the floor, its circle sits on top of it
+    private float[] ceilingY;           //Bottom of the ceiling, its circle is at the bottom
+    private boolean[] pointClaimed;     //Set once the spaceship went past the row
+
+    /*
+    Textures
+     */
+    private final TextureRegion floorTexture;
+    private final TextureRegion ceilingTexture;
+
+    /*
+    Input: Textures of the floor and ceiling
+    Output: Void
+    Purpose: Creates the empty columns, they grow if more rows are on screen than ever before
+    */
+    AsteroidStore(TextureRegion floorTexture, TextureRegion ceilingTexture){
+        super(16);
+        this.floorTexture = floorTexture;
+        this.ceilingTexture = ceilingTexture;
+        x = new float[16];
+        floorY = new float[16];
+        ceilingY = new float[16];
+        pointClaimed = new boolean[16];
+    }
+
+    /*
+    Input: X, y of the floor between HEIGHT_OFFSET and 0, if there is a gap above the floor
+    Output: Void
+    Purpose: Adds a row at the end of the store, a row without a gap closes off the level
+    */
+    void add(float x, float floorY, boolean open){
+        int slot = addSlot();
+        this.x[slot] = x;
+        this.floorY[slot] = floorY;
+        if(open){ ceilingY[slot] = floorY + COLLISION_RECTANGLE_HEIGHT + DISTANCE_BETWEEN_FLOOR_AND_CEILING; }
+        else { ceilingY[slot] = floorY + COLLISION_RECTANGLE_HEIGHT; }
+        pointClaimed[slot] = false;
+    }
+
+    /*
+    Input: Index of the row
+    Output: Values of the row
+    Purpose: Getters for the levels and the batch runs
+    */
+    float getX(int index){ return x[start + index]; }
+
+    float getLeft(int index){ return x[start + index] + CENTER - RADIUS; }      //Left edge of the circles, the widest part of the row
+
+    float getRight(int index){ return x[start + index] + CENTER + RADIUS; }
+
+    float getGapCenter(int index){ return floorY[start + index] + COLLISION_RECTANGLE_HEIGHT + DISTANCE_BETWEEN_FLOOR_AND_CEILING / 2; }
+
+    boolean isPointClaimed(int index){ return pointClaimed[start + index]; }
+
+    /*
+    Input: Index of the row
+    Output: Void
+    Purpose: Sets flag that the spaceship went past this row
+    */
+    void markPointClaimed(int index){ pointClaimed[start + index] = true; }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves every row to the left, used when the world is moved back to 0
+    */
+    void scroll(float distance){
+        float[] x = this.x;
+        for(int i = start; i < end; i++){ x[i] -= distance; }
+    }
+
+    /*
+    Input: SpaceCraft
+    Output: Boolean
+    Purpose: Checks if the spaceship has hit any row, only the rows around its x get the exact test
+    */
+    boolean isColliding(SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        float right = circle.x + circle.radius;
+        for(int i = first(circle.x - circle.radius); i < end && x[i] + CENTER - RADIUS <= right; i++){
+            if(isColliding(i, circle)){ return true; }
+        }
+        return false;
+    }
+
+    /*
+    Input: Left edge of the spaceship
+    Output: Slot of the first row whose right edge reaches it, end if none do
+    Purpose: Binary search over the x column
+    */
+    private int first(float left){
+        int low = start;
+        int high = end;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(x[middle] + CENTER + RADIUS < left){ low = middle + 1; }
+            else { high = middle; }
+        }
+        return low;
+    }
+
+    /*
+    Input: Slot of the row, circle of the spaceship
+    Output: Boolean
+    Purpose: Checks if the spaceship is touching either circle or either rectangle of the row
+    */
+    private boolean isColliding(int slot, Circle circle){
+        float centerX = x[slot] + CENTER;
+        return overlaps(circle, centerX, floorY[slot] + COLLISION_RECTANGLE_HEIGHT, RADIUS) ||
+                overlaps(circle, centerX, ceilingY[slot], RADIUS) ||
+                overlaps(circle, x[slot], ceilingY[slot], COLLISION_RECTANGLE_WIDTH, COLLISION_RECTANGLE_HEIGHT) ||
+                overlaps(circle, x[slot], floorY[slot], COLLISION_RECTANGLE_WIDTH, COLLISION_RECTANGLE_HEIGHT);
+    }
+
+    /*
+    Input: SpriteBatch
+    Output: Void
+    Purpose: Draws the floor and ceiling of every row
+    */
+    void draw(SpriteBatch batch){
+        float floorOffset = CENTER - (float) floorTexture.getRegionWidth()/2;
+        float ceilingOffset = CENTER - (float) ceilingTexture.getRegionWidth()/2;
+        for(int i = start; i < end; i++){
+            batch.draw(floorTexture, x[i] + floorOffset, floorY[i] - 220 + RADIUS);
+            batch.draw(ceilingTexture, x[i] + ceilingOffset, ceilingY[i] - RADIUS);
+        }
+    }
+
+    /*
+    Input: ShapeRenderer
+    Output: Void
+    Purpose: Draws the wireframe of every row
+    */
+    void drawDebug(ShapeRenderer shapeRenderer){
+        for(int i = start; i < end; i++){
+            shapeRenderer.circle(x[i] + CENTER, floorY[i] + COLLISION_RECTANGLE_HEIGHT, RADIUS);
+            shapeRenderer.rect(x[i], floorY[i], COLLISION_RECTANGLE_WIDTH, COLLISION_RECTANGLE_HEIGHT);
+            shapeRenderer.circle(x[i] + CENTER, ceilingY[i], RADIUS);
+            shapeRenderer.rect(x[i], ceilingY[i], COLLISION_RECTANGLE_WIDTH, COLLISION_RECTANGLE_HEIGHT);
+        }
+    }
+
+    @Override
+    protected void moveColumns(int from, int to, int count){
+        System.arraycopy(x, from, x, to, count);
+        System.arraycopy(floorY, from, floorY, to, count);
+        System.arraycopy(ceilingY, from, ceilingY, to, count);
+        System.arraycopy(pointClaimed, from, pointClaimed, to, count);
+    }
+
+    @Override
+    protected void resizeColumns(int capacity){
+        x = copy(x, capacity);
+        floorY = copy(floorY, capacity);
+        ceilingY = copy(ceilingY, capacity);
+        pointClaimed = copy(pointClaimed, capacity);
+    }
+}
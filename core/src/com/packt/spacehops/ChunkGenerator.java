@@ -0,0 +1,150 @@
+/*
+The ChunkGenerator class lays out endless mode ahead of the player, one chunk of two screens at a time.
+    A chunk holds rows of asteroids, the boarders along the top and bottom, junk floating in the background
+    and collectibles in the gaps between the rows. All of it comes out of the obstacle RandomStream of the
+    run, the same seed and starting chunk always lay out the same run.
+
+    How hard a chunk is depends on how many came before it. The rows get closer together, the gap moves
+    further from one row to the next, the boarders show up more often and everything scrolls faster. After
+    RAMP_CHUNKS it stops getting harder, so a run that goes on for hours stays as dense as it was at the
+    end of the ramp and never needs more objects on screen than that.
+
+    The layout goes into a Chunk that's created once and filled again for every chunk, plain arrays sorted
+    by x, so generating doesn't create any objects. The simulation keeps the next chunk generated while the
+    current one is scrolling in and spawns from it as the screen reaches each entry.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.math.MathUtils;
+
+class ChunkGenerator {
+
+    /*
+    Kinds of entries in a chunk
+     */
+    static final byte ASTEROID = 0;
+    static final byte BORDER = 1;
+    static final byte JUNK = 2;
+    static final byte COLLECTIBLE = 3;
+
+    /*
+    Dimensions
+     */
+    static final float CHUNK_WIDTH = 2 * LevelSimulation.WORLD_WIDTH;
+    private static final float BORDER_WIDTH = LevelSimulation.WORLD_WIDTH;         //Width of one SpaceBorder
+    private static final float GAP_CENTER = AsteroidStore.COLLISION_RECTANGLE_HEIGHT + AsteroidStore.DISTANCE_BETWEEN_FLOOR_AND_CEILING / 2;  //Middle of the gap above a floor
+    private static final int CAPACITY = 24;        //Most entries a chunk can have, 5 rows and their collectibles, 3 junk and 2 boarders
+
+    /*
+    Difficulty, every value goes from the easy end to the hard end over the ramp
+     */
+    static final int RAMP_CHUNKS = 30;                 //Chunks until it's as hard as it gets
+    private static final float EASY_ROW_GAP = 220, HARD_ROW_GAP = 150;      //Distance between rows
+    private static final float EASY_JUMP = 60, HARD_JUMP = 150;             //How far the gap can move from one row to the next
+    private static final float EASY_SPEED = 100, HARD_SPEED = 160;          //How fast the chunk scrolls, per second
+    private static final float HARD_BORDER_CHANCE = 0.6f;                   //Chance of boarders, none at the start
+    private static final float EASY_COLLECTIBLE_CHANCE = 0.8f, HARD_COLLECTIBLE_CHANCE = 0.4f;
+    private static final int HARD_JUNK = 3;                                 //Most junk in a chunk
+
+    /*
+    Layout of one chunk, x is from the left edge of the chunk
+     */
+    static final class Chunk {
+        final byte[] kind = new byte[CAPACITY];
+        final float[] x = new float[CAPACITY];
+        final float[] y = new float[CAPACITY];
+        final float[] scale = new float[CAPACITY];     //Size of junk
+        final float[] drift = new float[CAPACITY];     //How far junk drifts up and down
+        int size = 0;                                  //Entries in the chunk
+        int index = 0;                                 //Which chunk of the run this is
+        float speed = EASY_SPEED;                      //How fast it scrolls, per second
+
+        /*
+        Input: Kind, position, scale and drift of an entry
+        Output: Void
+        Purpose: Adds an entry, keeping them sorted by x
+        */
+        private void add(byte kind, float x, float y, float scale, float drift){
+            int i = size++;
+            while(i > 0 && this.x[i - 1] > x){
+                this.kind[i] = this.kind[i - 1];
+                this.x[i] = this.x[i - 1];
+                this.y[i] = this.y[i - 1];
+                this.scale[i] = this.scale[i - 1];
+                this.drift[i] = this.drift[i - 1];
+                i--;
+            }
+            this.kind[i] = kind;
+            this.x[i] = x;
+            this.y[i] = y;
+            this.scale[i] = scale;
+            this.drift[i] = drift;
+        }
+    }
+
+    private final RandomStream random;
+    private int chunkIndex;         //Index of the next chunk
+    private float floorY;           //Floor of the next row, picked a row early so the collectible before it can sit between both gaps
+    private float rowX;             //Where the next row goes, from the left edge of the next chunk
+
+    /*
+    Input: Stream the layout is picked from, chunk the run starts on, later ones start harder
+    Output: Void
+    Purpose: Creates the generator, the first chunk comes out of the next call to generate
+    */
+    ChunkGenerator(RandomStream random, int startChunk){
+        this.random = random;
+        restart(startChunk);
+    }
+
+    /*
+    Input: Chunk the run starts on
+    Output: Void
+    Purpose: Starts a new run, seeding the stream again first lays out the same chunks again
+    */
+    void restart(int startChunk){
+        chunkIndex = startChunk;
+        floorY = AsteroidStore.HEIGHT_OFFSET / 2;
+        rowX = 0;
+    }
+
+    /*
+    Input: Chunk to fill
+    Output: Void
+    Purpose: Lays out the next chunk of the run
+    */
+    void generate(Chunk chunk){
+        float difficulty = Math.min(1f, (float) chunkIndex / RAMP_CHUNKS);
+        chunk.size = 0;
+        chunk.index = chunkIndex++;
+        chunk.speed = MathUtils.lerp(EASY_SPEED, HARD_SPEED, difficulty);
+
+        //Rows and the collectibles halfway to the next row, the last collectible can hang over into the next chunk
+        float rowGap = MathUtils.lerp(EASY_ROW_GAP, HARD_ROW_GAP, difficulty);
+        float jump = MathUtils.lerp(EASY_JUMP, HARD_JUMP, difficulty);
+        float collectibleChance = MathUtils.lerp(EASY_COLLECTIBLE_CHANCE, HARD_COLLECTIBLE_CHANCE, difficulty);
+        for(; rowX < CHUNK_WIDTH; rowX += rowGap){
+            float rowFloorY = floorY;
+            floorY = MathUtils.clamp(rowFloorY + (random.nextFloat() * 2 - 1) * jump, AsteroidStore.HEIGHT_OFFSET, 0);
+            chunk.add(ASTEROID, rowX, rowFloorY, 0, 0);
+            if(random.nextFloat() < collectibleChance){
+                //Between the middles of this gap and the next one, the ship is passing from one to the other there
+                chunk.add(COLLECTIBLE, rowX + rowGap / 2, (rowFloorY + floorY) / 2 + GAP_CENTER, 0, 0);
+            }
+        }
+        rowX -= CHUNK_WIDTH;
+
+        //Boarders cover the whole chunk or none of it
+        if(random.nextFloat() < HARD_BORDER_CHANCE * difficulty){
+            for(float x = 0; x < CHUNK_WIDTH; x += BORDER_WIDTH){ chunk.add(BORDER, x, 0, 0, 0); }
+        }
+
+        //Background junk, doesn't collide, same as in the warehouse
+        int junk = random.nextInt(1 + Math.round(HARD_JUNK * difficulty));
+        for(int i = 0; i < junk; i++){
+            chunk.add(JUNK, random.nextFloat() * CHUNK_WIDTH, 120 + random.nextFloat() * 240,
+                    0.2f + random.nextFloat() * 0.3f, 40 + random.nextFloat() * 40);
+        }
+    }
+}
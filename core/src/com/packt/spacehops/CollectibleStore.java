@@ -0,0 +1,279 @@
+/*
+The CollectibleStore class keeps the round objects of a level, the samples and boxes the player picks up,
+the bombs and the scales and bullets of the dragon.
+    These used to be Collectible objects, each with its own Circle, flags and animation time, and a pool per
+    texture to reuse them. A store holds all of them as columns instead, moving, animating and testing
+    them are loops over the columns and nothing is created once the columns are big enough.
+
+    The state of an object picks its texture, a store made with three textures like the boxes of level
+    three draws state 0, 1 and 2 with each of them, a store with one texture only uses state 0.
+
+    Objects that scroll in from the right are sorted along x, first and inReach are the broad phase for
+    those, the same as SweepAndPrune does for the queues. The dragon's objects aren't sorted and are
+    tested one by one.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Circle;
+
+class CollectibleStore extends ObstacleStore {
+
+    //Size objects spawn with, also how far past the left edge an object has to be before it's removed
+    static final float RADIUS = 20f;
+    private static final float BOUND = 15;              //How far past its start an object floats up and down
+
+    //Texture and Animation
+    private static final int TILE_WIDTH = 40;			//The width of each tile in the texture
+    private static final int TILE_HEIGHT = 40;			//The height of each tile in the texture
+    private static final float FRAME_DURATION = 0.25f;	//How long each tile lasts on screen
+    private static final int[] LOOP_FRAMES = {0,0, 0,1, 0,2, 0,1};  //Row and column of each frame of the loop
+    private static final int[] STILL_FRAME = {0,0};                 //Row and column of the only frame
+    private final Animation<TextureRegion>[] animations;            //One per state
+
+    /*
+    Columns, entry i of each array together make up object i
+     */
+    private float[] x;
+    private float[] y;
+    private float[] radius;
+    private int[] state;
+    private boolean[] collected;        //Touched already, no longer drawn or collided with
+    private float[] animationTime;
+    private float[] yMin;               //Bounds it floats between, only set for the ones that float
+    private float[] yMax;
+    private boolean[] rising;           //Which way it's floating
+
+    /*
+    Input: Texture of each state
+    Output: Void
+    Purpose: Splits the textures into their animations and creates the empty columns
+    */
+    @SuppressWarnings("unchecked")
+    CollectibleStore(TextureRegion... textures){
+        super(16);
+        animations = (Animation<TextureRegion>[]) new Animation<?>[textures.length];
+        for(int i = 0; i < textures.length; i++){
+            //Textures with more than one row of tiles loop, the rest are a still image
+            if(AnimationCache.getTiles(textures[i], TILE_WIDTH, TILE_HEIGHT).length > 1){
+                animations[i] = AnimationCache.getAnimation(textures[i], TILE_WIDTH, TILE_HEIGHT, FRAME_DURATION, Animation.PlayMode.LOOP, LOOP_FRAMES);
+            }
+            else {
+                animations[i] = AnimationCache.getAnimation(textures[i], TILE_WIDTH, TILE_HEIGHT, FRAME_DURATION, Animation.PlayMode.NORMAL, STILL_FRAME);
+            }
+        }
+        x = new float[16];
+        y = new float[16];
+        radius = new float[16];
+        state = new int[16];
+        collected = new boolean[16];
+        animationTime = new float[16];
+        yMin = new float[16];
+        yMax = new float[16];
+        rising = new boolean[16];
+    }
+
+    /*
+    Input: Position, radius, state
+    Output: Index of the new object
+    Purpose: Adds an object at the end of the store
+    */
+    int add(float x, float y, float radius, int state){
+        int slot = addSlot();
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.radius[slot] = radius;
+        this.state[slot] = state;
+        collected[slot] = false;
+        animationTime[slot] = 0;
+        yMin[slot] = 0;
+        yMax[slot] = 0;
+        rising[slot] = true;
+        return slot - start;
+    }
+
+    /*
+    Input: Index of the object
+    Output: Void
+    Purpose: Lets the object float up and down from where it is now, see oscillate
+    */
+    void setBounds(int index){
+        int slot = start + index;
+        yMax[slot] = y[slot] + radius[slot] + BOUND;
+        yMin[slot] = y[slot] - BOUND;
+    }
+
+    /*
+    Input: Index of the object
+    Output: Values of the object
+    Purpose: Getters for the levels and the batch runs
+    */
+    float getX(int index){ return x[start + index]; }
+
+    float getY(int index){ return y[start + index]; }
+
+    float getLeft(int index){ return x[start + index] - radius[start + index]; }
+
+    float getRight(int index){ return x[start + index] + radius[start + index]; }
+
+    int getState(int index){ return state[start + index]; }
+
+    boolean isCollected(int index){ return collected[start + index]; }
+
+    /*
+    Input: Index of the object
+    Output: Void
+    Purpose: Says the object has been touched, it's no longer drawn or collided with
+    */
+    void collect(int index){ collected[start + index] = true; }
+
+    /*
+    Input: Index of the object, position
+    Output: Void
+    Purpose: Moves one object, used by the dragon's bullets which each fly their own way
+    */
+    void setPosition(int index, float x, float y){
+        this.x[start + index] = x;
+        this.y[start + index] = y;
+    }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves every object to the left
+    */
+    void scroll(float distance){
+        float[] x = this.x;
+        for(int i = start; i < end; i++){ x[i] -= distance; }
+    }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Moves every animation forward
+    */
+    void updateAnimation(float delta){
+        float[] animationTime = this.animationTime;
+        for(int i = start; i < end; i++){ animationTime[i] += delta; }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Floats every object one up or down, turning around at the bounds set by setBounds
+    */
+    void oscillate(){
+        for(int i = start; i < end; i++){
+            if(y[i] + radius[i] > yMax[i]){ rising[i] = false; }
+            else if(y[i] < yMin[i]){ rising[i] = true; }
+            if(rising[i]){ y[i] += 1; }
+            else { y[i] -= 1; }
+        }
+    }
+
+    /*
+    Input: Index of the object, SpaceCraft
+    Output: Boolean
+    Purpose: Checks if the spaceship is touching the object, collected or not
+    */
+    boolean isColliding(int index, SpaceCraft spaceCraft){
+        int slot = start + index;
+        return overlaps(spaceCraft.getCollisionCircle(), x[slot], y[slot], radius[slot]);
+    }
+
+    /*
+    Input: SpaceCraft
+    Output: Boolean
+    Purpose: Checks every object against the spaceship, for the ones that aren't sorted along x
+    */
+    boolean isAnyColliding(SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        for(int i = start; i < end; i++){
+            if(overlaps(circle, x[i], y[i], radius[i])){ return true; }
+        }
+        return false;
+    }
+
+    /*
+    Input: SpaceCraft
+    Output: Index of the first object that could be touching the spaceship, the size if none can
+    Purpose: Binary search for the first object whose right edge reaches the spaceship, the objects have
+        to be sorted along x with the same radius
+    */
+    int first(SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        float left = circle.x - circle.radius;
+        int low = start;
+        int high = end;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(x[middle] + radius[middle] < left){ low = middle + 1; }
+            else { high = middle; }
+        }
+        return low - start;
+    }
+
+    /*
+    Input: Index of the object, SpaceCraft
+    Output: Boolean
+    Purpose: Tells the sweep to keep going, false once the object starts past the spaceship's right edge
+    */
+    boolean inReach(int index, SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        return getLeft(index) <= circle.x + circle.radius;
+    }
+
+    /*
+    Input: SpriteBatch
+    Output: Void
+    Purpose: Draws every object that hasn't been collected
+    */
+    void draw(SpriteBatch batch){
+        for(int i = start; i < end; i++){
+            if(collected[i]){ continue; }
+            TextureRegion texture = animations[state[i]].getKeyFrame(animationTime[i]);
+            batch.draw(texture, x[i] - radius[i], y[i] - radius[i], 2*radius[i], 2*radius[i]);
+        }
+    }
+
+    /*
+    Input: ShapeRenderer
+    Output: Void
+    Purpose: Draws the wire frame of every object that hasn't been collected
+    */
+    void drawDebug(ShapeRenderer shapeRenderer){
+        for(int i = start; i < end; i++){
+            if(!collected[i]){ shapeRenderer.circle(x[i], y[i], radius[i]); }
+        }
+    }
+
+    @Override
+    protected void moveColumns(int from, int to, int count){
+        System.arraycopy(x, from, x, to, count);
+        System.arraycopy(y, from, y, to, count);
+        System.arraycopy(radius, from, radius, to, count);
+        System.arraycopy(state, from, state, to, count);
+        System.arraycopy(collected, from, collected, to, count);
+        System.arraycopy(animationTime, from, animationTime, to, count);
+        System.arraycopy(yMin, from, yMin, to, count);
+        System.arraycopy(yMax, from, yMax, to, count);
+        System.arraycopy(rising, from, rising, to, count);
+    }
+
+    @Override
+    protected void resizeColumns(int capacity){
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        radius = copy(radius, capacity);
+        state = copy(state, capacity);
+        collected = copy(collected, capacity);
+        animationTime = copy(animationTime, capacity);
+        yMin = copy(yMin, capacity);
+        yMax = copy(yMax, capacity);
+        rising = copy(rising, capacity);
+    }
+}
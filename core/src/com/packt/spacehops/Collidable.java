@@ -0,0 +1,31 @@
+/*
+The Collidable interface is anything the spaceship can run into that scrolls across the screen.
+    The left and right edges are what the broad phase in SweepAndPrune sorts and searches on,
+    isColliding is the exact test that only runs on the objects the broad phase lets through.
+ */
+
+package com.packt.spacehops;
+
+interface Collidable {
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the smallest x the object covers
+    */
+    float getLeft();
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the largest x the object covers
+    */
+    float getRight();
+
+    /*
+    Input: SpaceCraft
+    Output: Boolean
+    Purpose: Exact check if the spaceship is touching the object
+    */
+    boolean isColliding(SpaceCraft spaceCraft);
+}
@@ -39,6 +39,7 @@ class ConversationBox {
     private static final int TILE_WIDTH = 32;			//The width of each tile in the texture
     private static final int TILE_HEIGHT = 32;			//The height of each tile in the texture
     private static final float FRAME_DURATION = 0.25f;	//How long each tile lasts on screen
+    private static final int[] TALKING_FRAMES = {0,0, 0,1};         //Row and column of each frame
     private float animationTime = 0;
     private final Animation animation;
 
@@ -72,12 +73,8 @@ class ConversationBox {
         changeRateWidth = outerRectangleWidth/CHANGE_OF_RATE;
         changeRateHeight = outerRectangleHeight/CHANGE_OF_RATE;
 
-        //Divides the profile texture into frames
-        TextureRegion[][] profileTextures = new TextureRegion(profileTexture).split(TILE_WIDTH, TILE_HEIGHT); //Breaks down the texture into tiles
-
-        //Sets the animation to be the texture 0-3 and sets it to loop
-        animation = new Animation<>(FRAME_DURATION, profileTextures[0][0], profileTextures[0][1]);
-        animation.setPlayMode(Animation.PlayMode.LOOP);
+        //Divides the profile texture into frames, sets the animation to be the texture 0-1 and sets it to loop
+        animation = AnimationCache.getAnimation(profileTexture, TILE_WIDTH, TILE_HEIGHT, FRAME_DURATION, Animation.PlayMode.LOOP, TALKING_FRAMES);
 
         //Connect the frame texture
         this.outerTexture = outerTexture;
@@ -0,0 +1,77 @@
+/*
+The DebugOverlay class draws the collision wireframes of a level with a single ShapeRenderer.
+    The levels used to have a renderer per kind of object, each one set up its camera and began and ended
+    its own batch every frame. Here every shape goes into one batch between begin and end. The color is
+    set per category and ShapeRenderer stores color per vertex, so switching category doesn't flush,
+    and the buffer is big enough that a screen full of colliders still goes out in one draw call.
+
+    The game keeps one overlay for every level, it's only created the first time debug mode is turned on.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
+
+class DebugOverlay implements Disposable {
+
+    /*
+    Kinds of objects and the color their wireframes are drawn in
+    */
+    enum Category {
+        ENEMY(Color.RED), USER(Color.GREEN), BACKGROUND(Color.WHITE), COLLECTIBLE(Color.BLUE);
+
+        final Color color;
+        Category(Color color){ this.color = color; }
+    }
+
+    //Vertices the batch holds before it has to flush, a circle is around 40 and a rectangle 8
+    private static final int MAX_VERTICES = 20000;
+
+    private final ShapeRenderer shapeRenderer = new ShapeRenderer(MAX_VERTICES);
+
+    /*
+    Input: Camera the level is drawn through
+    Output: Void
+    Purpose: Starts the batch of lines for this frame
+    */
+    void begin(Camera camera){
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+    }
+
+    /*
+    Input: Camera the next shapes are drawn through
+    Output: Void
+    Purpose: Switches between the camera that scrolls with the level and the fixed one of the HUD, draws
+    what's already in the batch first
+    */
+    void setCamera(Camera camera){ shapeRenderer.setProjectionMatrix(camera.combined); }
+
+    /*
+    Input: Category of the objects about to be drawn
+    Output: The renderer to hand to their drawDebug
+    Purpose: Switches the color, anything drawn after this is in the category's color
+    */
+    ShapeRenderer use(Category category){
+        shapeRenderer.setColor(category.color);
+        return shapeRenderer;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Sends every shape of the frame to the GPU
+    */
+    void end(){ shapeRenderer.end(); }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Releases the renderer
+    */
+    @Override
+    public void dispose(){ shapeRenderer.dispose(); }
+}
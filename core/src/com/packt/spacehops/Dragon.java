@@ -12,12 +12,12 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
 
 class Dragon {
 
+    private static final String TRACE = "Dragon";     //Name in the EntityTrace
+
     //Dimension's of the head of the snake
     private static final float HEAD_WIDTH = 90f;
     private static final float HEAD_HEIGHT = 2*90/3f;
@@ -30,10 +30,13 @@ class Dragon {
     private final Rectangle head;
     private final Rectangle eyeLaser;
 
-    //Array of scales that flow off the dragon
-    private Array<Collectible> scales = new Array<>();
+    //Scales that flow off the dragon
+    private final CollectibleStore scales;
     //Bullets that the dragon shoots
-    private Array<Collectible> bullets = new Array<>();
+    private final CollectibleStore bullets;
+    private static final float SCALE_RADIUS_MIN = 8f;
+    private static final float SCALE_RADIUS_MAX = 16f;
+    private static final float BULLET_RADIUS = 8f;
 
     //Bounds why which the dragon moves around during phase 0
     private static final float OSCILLATING_Y_MAX = 440 - HEAD_HEIGHT;
@@ -61,7 +64,8 @@ class Dragon {
 
     //Timing variables
     //Timing variable for how long it's idling
-    private static float MOVE_TIME = 5F;
+    private static final float MOVE_TIME = 5F;
+    private float moveTime = MOVE_TIME;         //Idle time of the current phase, every dragon has its own
     private float moveTimer = MOVE_TIME;
     //A pause time for user to get that dragon is going to attack
     private static final float PREP_TIME = 1F;
@@ -87,6 +91,10 @@ class Dragon {
     private static final int HEAD_TILE_HEIGHT = 98;			//The height of each tile in the texture
     private static final float FRAME_DURATION = 0.1f;	//How long each tile lasts on screen
     private static final float EYE_FRAME_DURATION = .25f;
+    //Row and column of each frame of the animations
+    private static final int[] EYE_FRAMES = {0,0, 1,1, 1,2, 1,3};
+    private static final int[] MOUTH_FRAMES = {0,0, 0,1, 0,2, 0,3, 1,0};
+    private static final int[] LASER_FRAMES = {0,0, 2,0, 2,1, 2,2};
     private float animationTime = 0;
     private float laserAnimationTime = 0;
     private final Animation eyeAnimation;
@@ -103,12 +111,15 @@ class Dragon {
     private int phaseFlag = 0;          //Tells us which phase the level is in this tells what behavior the dragon should have
     private int attackCounterFlag = 0;  //Tells us how many attacks have been done before dragon bites
 
+    private final RandomStream random;  //Where the next attack and the scales come from
+
     /*
-    Input: Textures for head, bullet and scales
+    Input: Textures for head, bullet and scales, stream its attacks and the scales are picked from
     Output: Void
     Purpose: Constructor makes necessary shapes and sets up textures
     */
-    Dragon(TextureRegion headTexture, TextureRegion scaleTexture, TextureRegion bulletTexture, TextureRegion laserTexture){
+    Dragon(TextureRegion headTexture, TextureRegion scaleTexture, TextureRegion bulletTexture, TextureRegion laserTexture, RandomStream random){
+        this.random = random;
         //Sets up the
         head = new Rectangle(-HEAD_WIDTH, 240, HEAD_WIDTH, HEAD_HEIGHT);
         horn = new Rectangle(-HEAD_WIDTH, 240, HORN_WIDTH, HEAD_HEIGHT + HORN_HEIGHT);
@@ -118,20 +129,20 @@ class Dragon {
         this.bulletTexture = bulletTexture;
         this.scaleTexture = scaleTexture;
         this.laserTexture = laserTexture;
-        this.headTexture = new TextureRegion(headTexture).split(HEAD_TILE_WIDTH, HEAD_TILE_HEIGHT); //Breaks down the texture into tiles
+        scales = new CollectibleStore(scaleTexture);
+        bullets = new CollectibleStore(bulletTexture);
+        this.headTexture = AnimationCache.getTiles(headTexture, HEAD_TILE_WIDTH, HEAD_TILE_HEIGHT); //Breaks down the texture into tiles
 
         //Set up animation loops
-        eyeAnimation = new Animation<>(EYE_FRAME_DURATION, this.headTexture[0][0], this.headTexture[1][1],
-                this.headTexture[1][2], this.headTexture[1][3]);
-        eyeAnimation.setPlayMode(Animation.PlayMode.LOOP_PINGPONG);
+        eyeAnimation = AnimationCache.getAnimation(headTexture, HEAD_TILE_WIDTH, HEAD_TILE_HEIGHT, EYE_FRAME_DURATION,
+                Animation.PlayMode.LOOP_PINGPONG, EYE_FRAMES);
 
-        mouthAnimation = new Animation<>(FRAME_DURATION, this.headTexture[0][0], this.headTexture[0][1],
-                this.headTexture[0][2], this.headTexture[0][3], this.headTexture[1][0]);
-        mouthAnimation.setPlayMode(Animation.PlayMode.LOOP_PINGPONG);
+        mouthAnimation = AnimationCache.getAnimation(headTexture, HEAD_TILE_WIDTH, HEAD_TILE_HEIGHT, FRAME_DURATION,
+                Animation.PlayMode.LOOP_PINGPONG, MOUTH_FRAMES);
 
-        laserAnimation = new Animation<>(EYE_FRAME_DURATION, this.headTexture[0][0], this.headTexture[2][0],
-                this.headTexture[2][1], this.headTexture[2][2]);
-        mouthAnimation.setPlayMode(Animation.PlayMode.LOOP_PINGPONG);
+        //The laser has always played through once and stopped on its last frame
+        laserAnimation = AnimationCache.getAnimation(headTexture, HEAD_TILE_WIDTH, HEAD_TILE_HEIGHT, EYE_FRAME_DURATION,
+                Animation.PlayMode.NORMAL, LASER_FRAMES);
     }
 
     /*
@@ -162,6 +173,63 @@ class Dragon {
     */
     float getWidth(){return HEAD_WIDTH;}
 
+    /*
+    Input: Void
+    Output: Float Y
+    Purpose: Returns the bottom of the dragon head where it is now
+    */
+    float getHeadY(){return head.y;}
+
+    /*
+    Input: Void
+    Output: Float Top
+    Purpose: Returns the top of the horn, the highest part of the dragon
+    */
+    float getTop(){return horn.y + horn.height;}
+
+    /*
+    Input: Void
+    Output: Float Y
+    Purpose: Returns the bottom of the laser, or where it will be if the dragon is getting ready to shoot it
+    */
+    float getLaserY(){return modeFlag == 3 ? eyeLaser.y : horn.y + horn.height - LASER_HEIGHT;}
+
+    /*
+    Input: Void
+    Output: Float Height
+    Purpose: Returns the height of the laser when it's shot
+    */
+    float getLaserHeight(){return LASER_HEIGHT;}
+
+    /*
+    Input: Void
+    Output: Int Mode
+    Purpose: Returns the mode the dragon is in, -2 nothing, -1 entering, 0 idling, 1 getting ready,
+        2 shooting fire, 3 shooting the laser, 4 biting, 5 coming back
+    */
+    int getMode(){return modeFlag;}
+
+    /*
+    Input: Void
+    Output: Int Mode
+    Purpose: Returns the attack the dragon is getting ready for while in mode 1
+    */
+    int getNextMode(){return futureModeFlag;}
+
+    /*
+    Input: Void
+    Output: CollectibleStore
+    Purpose: Returns the bullets that were shot
+    */
+    CollectibleStore getBullets(){return bullets;}
+
+    /*
+    Input: Void
+    Output: CollectibleStore
+    Purpose: Returns the scales falling off the dragon
+    */
+    CollectibleStore getScales(){return scales;}
+
     /*
     Input: Void
     Output: Void
@@ -176,9 +244,10 @@ class Dragon {
     */
     void setPhase(int phase){
         phaseFlag = phase;
-        if(phase == 0){ MOVE_TIME = 5F; }
-        else if(phase == 1){ MOVE_TIME = 3F; }
-        else{ MOVE_TIME = 1.5F; }
+        EntityTrace.record(EntityTrace.STATE, TRACE, "phase", phase, modeFlag, 0);
+        if(phase == 0){ moveTime = MOVE_TIME; }
+        else if(phase == 1){ moveTime = 3F; }
+        else{ moveTime = 1.5F; }
     }
 
     /*
@@ -218,8 +287,8 @@ class Dragon {
             }
             //Random chance of fire or laser with random time between them
             else {
-                futureModeFlag = MathUtils.random(2,3);
-                MOVE_TIME = MathUtils.random(2,5);
+                futureModeFlag = random.random(2,3);
+                moveTime = random.random(2,5);
                 attackCounterFlag++;
             }
         }
@@ -276,7 +345,7 @@ class Dragon {
         if(!animationFlag){animationTime += delta;}
         moveTimer -= delta;
         if (moveTimer <= 0) {
-            moveTimer = MOVE_TIME;
+            moveTimer = moveTime;
             animationFlag = true;
             modeFlag = 1;
         }
@@ -348,7 +417,9 @@ class Dragon {
     Purpose: Updates all the systems that make the dragon work
     */
     void update(float delta){
+        int lastMode = modeFlag;
         updateMode(delta);                          //Checks and changes what mode the dragon is in
+        if(modeFlag != lastMode){ EntityTrace.record(EntityTrace.STATE, TRACE, "mode", lastMode, modeFlag, phaseFlag); }
         updateScale(delta);                         //Updates the creation, position and removal of scales
         updateBullets(delta);                       //Updates the creation, position and removal of bullets
         //Changes behavior based on mode
@@ -509,11 +580,10 @@ class Dragon {
     Purpose: Creates new scale to be displayed
     */
     private void createScale(){
-        if(scales.size < 10) {
-            Collectible scale = new Collectible(scaleTexture);
-            scale.setRadius();  //Random size
-            scale.setPosition(head.x - scale.getRadius(), head.getY() + head.height, head.height); //Random point behind the head
-            scales.add(scale);  //Adds it to the array
+        if(scales.getSize() < 10) {
+            float radius = random.random(SCALE_RADIUS_MIN, SCALE_RADIUS_MAX);      //Random size
+            float y = head.getY() + head.height - random.random(head.height);       //Random point behind the head
+            scales.add(head.x - CollectibleStore.RADIUS, y, radius, 0);
         }
     }
 
@@ -522,37 +592,22 @@ class Dragon {
     Output: Void
     Purpose: Updates the animation of each scale
     */
-    private void updateScaleAnimation(float delta) {
-        if (scales.size > 0) {
-            for (Collectible scale : scales) {
-                scale.updateAnimation(delta);
-            }
-        }
-    }
+    private void updateScaleAnimation(float delta) { scales.updateAnimation(delta); }
 
     /*
     Input: Void
     Output: Void
     Purpose: Updates the position of the scales moving them left
     */
-    private void updateScalePosition(){
-        if(scales.size > 0){
-            for(Collectible scale : scales){
-                scale.updatePosition(3);
-            }
-        }
-    }
+    private void updateScalePosition(){ scales.scroll(3); }
 
     /*
     Input: Void
     Output: Void
-    Purpose: Removes any scale that goes off screen
+    Purpose: Removes the scales that went off screen, they all move at the same speed so the oldest leaves first
     */
     private void removeScale(){
-        if(scales.size > 0) {
-            for (Collectible scale : scales) {
-                if (scale.getX() + scale.getRadius() < 0) { scales.removeValue(scale, true); }}
-        }
+        while(!scales.isEmpty() && scales.getX(0) + CollectibleStore.RADIUS < 0) { scales.removeFirst(); }
     }
 
     /*
@@ -571,11 +626,7 @@ class Dragon {
     Output: Void
     Purpose: Updates the animation states for individual bullets
     */
-    private void updateAnimationBullet(float delta){
-        if(bullets.size > 0){
-            for(Collectible bullet : bullets){bullet.updateAnimation(delta);}
-        }
-    }
+    private void updateAnimationBullet(float delta){ bullets.updateAnimation(delta); }
     /*
     Input: Void
     Output: Void
@@ -583,10 +634,7 @@ class Dragon {
     */
     private void createBullets(){
             for(int i = 0; i < 3; i++) {
-                Collectible bullet = new Collectible(bulletTexture);
-                bullet.setRadius(8f);
-                bullet.setPosition(head.x + head.width - 15, y + head.height / 2 - 5);
-                bullets.add(bullet);
+                bullets.add(head.x + head.width - 15, y + head.height / 2 - 5, BULLET_RADIUS, 0);
             }
     }
 
@@ -598,13 +646,11 @@ class Dragon {
     private void removeBullets(){
         int counter = 0;
         //Makes sure all of the bullets are off screen
-        if(bullets.size > 0) {
-            for (Collectible bullet : bullets){
-                if(bullet.getX()-bullet.getRadius() > 320){counter++;}
-            }
+        for (int i = 0; i < bullets.getSize(); i++){
+            if(bullets.getX(i) - CollectibleStore.RADIUS > 320){counter++;}
         }
         //Removes all of the bullets
-        if(counter == bullets.size){bullets.clear();}
+        if(counter == bullets.getSize()){ bullets.clear(); }
     }
 
     /*
@@ -614,20 +660,18 @@ class Dragon {
         Based on position in array and y of bullet they move differently
     */
     private void updatePositionBullets(){
-        if(bullets.size > 0) {
-            for (int i = 0; i < bullets.size; i++) {
-                //If the bullet is 1 out of 3  in array it will rise in the y direction while moving in x
-                if(i % 3 == 1 && bullets.get(i).getY() < yMax + head.height){
-                    bullets.get(i).setPosition(bullets.get(i).getX() + X_SPEED, bullets.get(i).getY() + Y_SPEED/10);
-                }
-                //If the bullet is 3 out of 3 in array it will fall in the y direction while moving in x
-                else if(i % 3 == 0 && bullets.get(i).getY() > yMin){
-                    bullets.get(i).setPosition(bullets.get(i).getX() + X_SPEED, bullets.get(i).getY() - Y_SPEED/10);
-                }
-                //If the bullet is any other place in array or reached it's y max it just moves forward in x
-                else{
-                    bullets.get(i).setPosition(bullets.get(i).getX() + X_SPEED, bullets.get(i).getY());
-                }
+        for (int i = 0; i < bullets.getSize(); i++) {
+            //If the bullet is 1 out of 3  in array it will rise in the y direction while moving in x
+            if(i % 3 == 1 && bullets.getY(i) < yMax + head.height){
+                bullets.setPosition(i, bullets.getX(i) + X_SPEED, bullets.getY(i) + Y_SPEED/10);
+            }
+            //If the bullet is 3 out of 3 in array it will fall in the y direction while moving in x
+            else if(i % 3 == 0 && bullets.getY(i) > yMin){
+                bullets.setPosition(i, bullets.getX(i) + X_SPEED, bullets.getY(i) - Y_SPEED/10);
+            }
+            //If the bullet is any other place in array or reached it's y max it just moves forward in x
+            else{
+                bullets.setPosition(i, bullets.getX(i) + X_SPEED, bullets.getY(i));
             }
         }
     }
@@ -689,14 +733,8 @@ class Dragon {
     */
     boolean isColliding(SpaceCraft spaceCraft) {
         Circle spaceCraftCollisionCircle = spaceCraft.getCollisionCircle();
-        //Checks if it hit any bullets
-        for(Collectible bullet : bullets){
-            if(Intersector.overlaps(spaceCraftCollisionCircle, bullet.getCollisionCircle())) { return true; }
-        }
-        //Checks if it hit any of the scales
-        for(Collectible scale : scales){
-            if(Intersector.overlaps(spaceCraftCollisionCircle, scale.getCollisionCircle())) { return true; }
-        }
+        //Checks if it hit any bullets or scales
+        if(bullets.isAnyColliding(spaceCraft) || scales.isAnyColliding(spaceCraft)){ return true; }
         //Checks if it hit the head, horn or laser,
         return Intersector.overlaps(spaceCraftCollisionCircle, head) ||
                 Intersector.overlaps(spaceCraftCollisionCircle, horn) ||
@@ -727,8 +765,8 @@ class Dragon {
         //Draws the laser shooting
         batch.draw(laserTexture, eyeLaser.x, eyeLaser.y, eyeLaser.width, eyeLaser.height);
         //Draws scales and bullets
-        for (Collectible scale : scales){scale.draw(batch);}
-        for (Collectible bullet : bullets){bullet.draw(batch);}
+        scales.draw(batch);
+        bullets.draw(batch);
     }
 
 
@@ -741,7 +779,7 @@ class Dragon {
         shapeRenderer.rect(horn.x, horn.y, horn.width, horn.height);
         shapeRenderer.rect(head.x, head.y,  head.width, head.height);
         shapeRenderer.rect(eyeLaser.x, eyeLaser.y, eyeLaser.width, eyeLaser.height);
-        for (Collectible bullet : bullets){bullet.drawDebug(shapeRenderer);}
-        for (Collectible scale : scales){scale.drawDebug(shapeRenderer);}
+        bullets.drawDebug(shapeRenderer);
+        scales.drawDebug(shapeRenderer);
     }
 }
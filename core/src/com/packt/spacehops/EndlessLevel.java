@@ -0,0 +1,330 @@
+/*
+The EndlessLevel class is the screen of endless mode, one per button on the endless side of the start screen.
+    The six modes play the same generated run, each one starts further along the difficulty ramp and keeps
+    its own high score.
+
+    The game logic lives in EndlessSimulation, this screen passes on the input and the frame time, draws
+    whatever the simulation holds and saves the best score once a run ends.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+class EndlessLevel extends ScreenAdapter {
+
+    /*
+    Dimensions -- Units the screen has
+     */
+    private static final float WORLD_WIDTH = 320;
+    private static final float WORLD_HEIGHT = 480;
+
+    /*
+    Image processing -- Objects that modify the view and textures
+     */
+    private Viewport viewport;			 //The screen where we display things
+    private Camera camera;				 //The camera viewing the viewport, stays put for the HUD and buttons
+    private Camera worldCamera;          //Follows the scroll of the level, the world is drawn through it
+    private SpriteBatch batch;			 //Batch that holds all of the textures
+
+    /*
+    Game logic of the run, obstacles, collectibles, spaceship and score
+     */
+    private EndlessSimulation simulation;
+    private PauseMenu pauseMenu;            //Pause Menu deals with buttons
+    private InputReplay replay;             //Input of the session, written when the screen closes, null unless replays are on
+
+    /*
+    Bitmap and the text laid out with them
+     */
+    private BitmapFont bitmapFont;
+    private BitmapFont menuBitmapFont;
+    private TextCache scoreText;            //Score of the run
+    private TextCache bestText;             //Best score of the mode
+    private TextCache menuText;             //Menu button
+    private TextCache pauseText;            //Pause menu buttons
+    private final StringBuilder text = new StringBuilder();    //Reused to build the scores when they change
+
+    /*
+    Flags
+     */
+    private boolean debugFlag = false;          //Tells screen to draw debug wireframe
+    private boolean textureFlag = true;         //Tells screen to draw textures
+
+    //
+    private final SpaceHops spaceHops;
+    private final int mode;                     //Which endless button was pressed, also where its high score is kept
+    private final ScreenResources resources = new ScreenResources(this);   //Batches, renderers, fonts and stages of this screen
+
+    /*
+    Input: Game, which of the endless modes to play
+    Output: Void
+    Purpose: Constructor
+    */
+    EndlessLevel(SpaceHops spaceHops, int mode) {
+        this.spaceHops = spaceHops;
+        this.mode = mode;
+    }
+
+    /*
+    Input: The width and height of the screen
+    Output: Void
+    Purpose: Updates the dimensions of the screen
+    */
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Initializes all the variables that are going to be displayed
+    */
+    @Override
+    public void show() {
+        showCamera();           //Sets up camera through which objects are draw through
+        batch = resources.add(new SpriteBatch());   //Batch the level, HUD and buttons are all drawn with
+        showObjects();          //Creates object and passes them the dimensions and textures
+
+        //BitmapFont and TextCaches
+        bitmapFont = resources.add(new BitmapFont());
+        menuBitmapFont = resources.add(new BitmapFont());
+        scoreText = new TextCache(bitmapFont);
+        bestText = new TextCache(bitmapFont);
+        menuText = new TextCache(menuBitmapFont);
+        pauseText = new TextCache(menuBitmapFont);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates the simulation, later modes start further along the difficulty ramp, and the menus
+    */
+    private void showObjects(){
+        simulation = new EndlessSimulation(spaceHops.getAssetManager(), TimeUtils.millis(), EndlessSimulation.startChunk(mode));
+        if(spaceHops.getReplayFlag()){
+            replay = new InputReplay(SpaceHops.ENDLESS_FLAG + mode, simulation.getSeed());
+            simulation.record(replay);
+        }
+        simulation.setProfiler(spaceHops.getProfiler());
+
+        pauseMenu = new PauseMenu(spaceHops, resources, viewport, batch);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Sets up the camera through which all the objects are view through
+    */
+    private void showCamera(){
+        camera = new OrthographicCamera();									//Sets a 2D view
+        camera.position.set(WORLD_WIDTH / 2, WORLD_HEIGHT / 2, 0);	//Places the camera in the center of the view port
+        camera.update();													//Updates the camera
+        viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);		//
+        worldCamera = new OrthographicCamera(WORLD_WIDTH, WORLD_HEIGHT);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Moves the world camera to where the level has scrolled to, the only thing scrolling moves
+    */
+    private void updateWorldCamera(){
+        worldCamera.position.set(simulation.getScrollX() + WORLD_WIDTH / 2, WORLD_HEIGHT / 2, 0);
+        worldCamera.update();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws all of the variables on the screen
+    */
+    @Override
+    public void render(float delta) {
+        setProfilerMode();              //Checks if the user turned the frame profiler on or off
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.beginFrame();
+        clearScreen();	                //Wipes screen
+        updateWorldCamera();            //Catches the camera up with the level
+        setTextureMode();               //Checks if the user changed the status of texturesOnFlag
+        if(textureFlag) {draw();}	    //Draws the textures
+
+        setDebugMode();                 //Checks if user changed the status of the debugModeFlag
+        profiler.start(FrameProfiler.Phase.DEBUG);
+        if(debugFlag) {renderDebug();}  //If debugMode is on the wireframes are drawn over the textures
+        profiler.stop(FrameProfiler.Phase.DEBUG);
+        profiler.start(FrameProfiler.Phase.UPDATE);
+        if(!pauseMenu.getPauseFlag()){ update(delta);} //Updates the variables of all object if the game is not paused
+        profiler.stop(FrameProfiler.Phase.UPDATE);
+        profiler.endFrame();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the wireframe of every object in one batch, colored by what kind of object it is
+    */
+    private void renderDebug(){
+        DebugOverlay debugOverlay = spaceHops.getDebugOverlay();
+        debugOverlay.begin(worldCamera);
+        //Enemies
+        ShapeRenderer shapeRenderer = debugOverlay.use(DebugOverlay.Category.ENEMY);
+        simulation.getAsteroids().drawDebug(shapeRenderer);
+        for (SpaceBorder spaceBorder : simulation.getSpaceBorders()) { spaceBorder.drawDebug(shapeRenderer); }
+        //User
+        simulation.getSpaceCraft().drawDebug(debugOverlay.use(DebugOverlay.Category.USER));
+        //Collectibles
+        shapeRenderer = debugOverlay.use(DebugOverlay.Category.COLLECTIBLE);
+        simulation.getCollectibles().drawDebug(shapeRenderer);
+        debugOverlay.end();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off, while it's on
+    the EntityTrace records what the entities do and 3 writes what it has to the log
+    */
+    private void setDebugMode() {
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) {
+            debugFlag = !debugFlag;
+            EntityTrace.setLevel(debugFlag ? EntityTrace.STATE : EntityTrace.OFF);
+        }
+        if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_3)) { EntityTrace.dump(); }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks for user input if the user clicks turns the debugMode flag on and off
+    */
+    private void setTextureMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_2)) {textureFlag = !textureFlag;} }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks for user input if the user clicks turns the frame profiler overlay on and off
+    */
+    private void setProfilerMode() { if(Gdx.input.isKeyJustPressed(Input.Keys.NUM_4)) {spaceHops.getProfiler().toggle();} }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Central function that passes input and time on to the simulation, the high score only
+    changes when a run ends so it's only saved then
+    */
+    private void update(float delta){
+        //Player input is held until the next tick of the simulation
+        if(Gdx.input.isKeyJustPressed(Input.Keys.UP)) { simulation.queueFlyUp(); }
+        simulation.advance(delta);              //Runs as many fixed ticks as fit in this frame
+        spaceHops.getSettings().setHighScore(mode, simulation.getBestScore());
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Central function that draws the textures
+    */
+    private void draw() {
+        FrameProfiler profiler = spaceHops.getProfiler();
+        profiler.start(FrameProfiler.Phase.DRAW);
+        //Viewport/Camera projection
+        batch.setProjectionMatrix(camera.projection);
+        batch.setTransformMatrix(worldCamera.view);         //The run scrolls past, moving the camera moves all of it
+        //Batch setting up texture
+        batch.begin();
+        for(FloatingJunk floatingJunk : simulation.getFloatingJunks()){ floatingJunk.draw(batch); }    //Background first
+        for(SpaceBorder spaceBorder : simulation.getSpaceBorders()){ spaceBorder.draw(batch); }
+        simulation.getAsteroids().draw(batch);
+        simulation.getCollectibles().draw(batch);
+        simulation.getSpaceCraft().draw(batch);             //Draws user
+        batch.setTransformMatrix(camera.view);              //Score and buttons stay put
+        drawScore();
+        profiler.start(FrameProfiler.Phase.MENUS);
+        //Draws menu if paused
+        if(pauseMenu.getPauseFlag()){pauseMenu.draw(batch);}
+        drawMenus();                                        //Buttons and their text go on top, in the same batch
+        profiler.stop(FrameProfiler.Phase.MENUS);
+        profiler.draw(batch);                               //Frame times over everything when the profiler is on
+        batch.end();
+        profiler.stop(FrameProfiler.Phase.DRAW);
+        profiler.countBatch(batch.renderCalls);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the score of the run and the best of the mode in the top left, only laid out again when they change
+    */
+    private void drawScore(){
+        int score = simulation.getScore();
+        if(scoreText.needsLayout(score)){
+            text.setLength(0);
+            text.append("Score ").append(score);
+            scoreText.clear(score);
+            scoreText.addText(text, 10, WORLD_HEIGHT - 20);
+        }
+        int best = Math.max(spaceHops.getSettings().getLevelHighScore()[mode], score);
+        if(bestText.needsLayout(best)){
+            text.setLength(0);
+            text.append("Best ").append(best);
+            bestText.clear(best);
+            bestText.addText(text, 10, WORLD_HEIGHT - 25 - bestText.getHeight() * 2);
+        }
+        scoreText.draw(batch);
+        bestText.draw(batch);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates all the variables on the screen
+    */
+    private void clearScreen() {
+        Gdx.gl.glClearColor(Color.BLACK.r, Color.BLACK.g, Color.BLACK.b, Color.BLACK.a); //Sets color to black
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);										 //Sends it to the buffer
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the buttons and their text on top of the level, inside the batch the level is already drawing
+    */
+    private void drawMenus(){
+        if(!pauseMenu.getPauseFlag()){
+            pauseMenu.drawStage(pauseMenu.getMenuButtonStage(), batch);
+            pauseMenu.drawMenuText(menuText, batch);
+        }
+        else {
+            pauseMenu.drawStage(pauseMenu.getPauseMenuScreen(), batch);
+            pauseMenu.drawPauseText(pauseText, batch);
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Keeps the score of a run that was quit in the middle and the replay of the session, then destroys
+    everything once we move onto the new screen
+    */
+    @Override
+    public void dispose() {
+        spaceHops.getSettings().setHighScore(mode, Math.max(simulation.getBestScore(), simulation.getScore()));
+        if(replay != null){ replay.save(); }
+        resources.dispose();
+    }
+}
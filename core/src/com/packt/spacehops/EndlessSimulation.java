@@ -0,0 +1,340 @@
+/*
+The EndlessSimulation class holds the game logic of endless mode, a run that goes on until the player hits something.
+    The obstacles come from a ChunkGenerator. Two chunks are kept, the one scrolling in and the next one,
+    generated as soon as the one before it is on its way. Each tick the view scrolls right and every entry
+    that has reached the right edge of the screen is added to its store, or taken out of its pool, at its place
+    in the world. Objects are removed once they leave on the left, nothing is moved while it's on screen.
+
+    Objects only live while they're near the screen and the world is moved back to 0 every so often, so an hour
+    in has the same numbers, the same objects and the same amount of work per tick as a minute in. Once the
+    stores, pools and queues have grown to what the hardest chunks need nothing else is created.
+
+    Passing a row is a point, a collectible is worth COLLECTIBLE_SCORE. Dying starts a new run with the next
+    seed, the best score of all the runs is kept for the screen to save.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+
+class EndlessSimulation extends LevelSimulation {
+
+    private static final String TRACE = "Endless";
+
+    //Static variables
+    static final int COLLECTIBLE_SCORE = 5;                             //Points a collectible is worth
+    private static final float SPAWN_EDGE = WORLD_WIDTH + 64;           //Entries are spawned once they're this close, just off screen
+
+    /*
+    Textures
+     */
+    private TextureRegion topAsteroidTexture;
+    private TextureRegion bottomAsteroidTexture;
+    private TextureRegion borderTexture;
+    private TextureRegion junkTexture;
+    private TextureRegion collectibleTexture;
+    private TextureRegion spaceCraftTexture;
+
+    /*
+    Objects on screen, in the order they came in, and the pools the borders and junk go back to
+     */
+    private AsteroidStore asteroids;
+    private CollectibleStore collectibles;
+    private final ScrollQueue<SpaceBorder> spaceBorders = new ScrollQueue<>();
+    private final ScrollQueue<FloatingJunk> floatingJunks = new ScrollQueue<>();
+    private Pool<SpaceBorder> spaceBorderPool;
+    private Pool<FloatingJunk> floatingJunkPool;
+
+    /*
+    Chunks
+     */
+    private final ChunkGenerator generator;
+    private ChunkGenerator.Chunk chunk = new ChunkGenerator.Chunk();        //Chunk scrolling in
+    private ChunkGenerator.Chunk nextChunk = new ChunkGenerator.Chunk();    //Generated ahead, takes over when the chunk is spawned
+    private float chunkX;                   //World x of the left edge of the chunk
+    private int entry;                      //Next entry of the chunk to spawn
+    private float speed;                    //How fast everything scrolls, per second
+
+    /*
+    Run
+     */
+    private final int startChunk;           //Chunk every run starts on, later modes start harder
+    private long runSeed;                   //Seed of the current run, the first one is the level's
+    private int score = 0;
+    private int bestScore = 0;
+
+    /*
+    Input: Which of the endless modes
+    Output: Chunk its runs start on
+    Purpose: Spreads the modes over the difficulty ramp, the first starts easy and the last at the end of the ramp
+    */
+    static int startChunk(int mode){ return mode * ChunkGenerator.RAMP_CHUNKS / (SpaceHops.ENDLESS_MODES - 1); }
+
+    /*
+    Input: AssetManager holding the loaded atlases, seed of the first run, chunk every run starts on
+    Output: Void
+    Purpose: Connects the textures, creates the pools and starts the first run
+    */
+    EndlessSimulation(AssetManager assetManager, long seed, int startChunk){
+        super(seed);
+        this.runSeed = seed;
+        this.startChunk = startChunk;
+        generator = new ChunkGenerator(obstacleRandom, startChunk);
+        showTexture(assetManager);
+        showObjects();
+        startRun();
+    }
+
+    /*
+    Input: AssetManager holding the loaded atlases
+    Output: Void
+    Purpose: Connects the images to the Texture objects, asteroids from the belt and the rest from the warehouse
+    */
+    private void showTexture(AssetManager assetManager){
+        TextureAtlas asteroidAtlas = assetManager.get("level_one_assets.atlas");
+        TextureAtlas warehouseAtlas = assetManager.get("level_three_assets.atlas");
+        TextureAtlas shipAtlas = assetManager.get("ship_assets.atlas");
+        TextureAtlas uiAtlas = assetManager.get("ui_assets.atlas");
+
+        topAsteroidTexture = asteroidAtlas.findRegion("TowerUp");
+        bottomAsteroidTexture = asteroidAtlas.findRegion("TowerDown");
+        borderTexture = warehouseAtlas.findRegion("LightingBorder");
+        junkTexture = warehouseAtlas.findRegion("Mess");
+        collectibleTexture = uiAtlas.findRegion("CollectiblePack");
+        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates the spaceship and the stores and pools everything else is spawned into
+    */
+    private void showObjects(){
+        spaceCraft = new SpaceCraft(spaceCraftTexture);
+
+        asteroids = new AsteroidStore(topAsteroidTexture, bottomAsteroidTexture);
+        collectibles = new CollectibleStore(collectibleTexture);
+        spaceBorderPool = new Pool<SpaceBorder>() {
+            @Override
+            protected SpaceBorder newObject() { return new SpaceBorder(0, borderTexture, borderTexture); }
+        };
+        floatingJunkPool = new Pool<FloatingJunk>() {
+            @Override
+            protected FloatingJunk newObject() { return new FloatingJunk(junkTexture, sceneryRandom); }
+        };
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Lays out the first two chunks of the run, the first one starts at the right edge of the screen
+    */
+    private void startRun(){
+        resetScroll();
+        spaceCraft.updatePosition(WORLD_WIDTH/4, WORLD_HEIGHT/2);
+        obstacleRandom.setSeed(runSeed, RandomStream.OBSTACLES);
+        generator.restart(startChunk);
+        generateChunk(chunk);
+        generateChunk(nextChunk);
+        chunkX = WORLD_WIDTH;
+        entry = 0;
+        speed = chunk.speed;
+    }
+
+    /*
+    Input: Void
+    Output: Objects the screen draws
+    Purpose: Getters for the screen
+    */
+    AsteroidStore getAsteroids(){ return asteroids; }
+
+    CollectibleStore getCollectibles(){ return collectibles; }
+
+    ScrollQueue<SpaceBorder> getSpaceBorders(){ return spaceBorders; }
+
+    ScrollQueue<FloatingJunk> getFloatingJunks(){ return floatingJunks; }
+
+    int getScore(){ return score; }
+
+    int getBestScore(){ return bestScore; }     //Best of the runs that have ended
+
+    long getRunSeed(){ return runSeed; }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Central function that starts all the other update functions
+    */
+    @Override
+    void tick(float delta){
+        scroll(speed * delta);
+        updateAnimations(delta);
+        spawnEntries();
+        removeOffScreen();
+
+        updateSpaceship();
+        updateScore();
+        startTiming(FrameProfiler.Phase.COLLISION);
+        if(checkForDeathCollision()){ die(); }
+        stopTiming(FrameProfiler.Phase.COLLISION);
+    }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Spins the collectibles and lets the junk drift up and down
+    */
+    private void updateAnimations(float delta){
+        collectibles.updateAnimation(delta);
+        for(FloatingJunk floatingJunk : floatingJunks){ floatingJunk.updatePosition(); }
+    }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves the chunk and every object back with the view when the world is moved back to 0
+    */
+    @Override
+    void moveOrigin(float distance){
+        super.moveOrigin(distance);
+        chunkX -= distance;
+        asteroids.scroll(distance);
+        collectibles.scroll(distance);
+        for(SpaceBorder spaceBorder : spaceBorders){ spaceBorder.setX(spaceBorder.getX() - distance); }
+        for(FloatingJunk floatingJunk : floatingJunks){ floatingJunk.scroll(distance); }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Spawns every entry that reached the edge of the screen, moving on to the next chunk when this one is done
+    */
+    private void spawnEntries(){
+        float spawnEdge = getScrollX() + SPAWN_EDGE;
+        while(true){
+            if(entry < chunk.size){
+                if(chunkX + chunk.x[entry] > spawnEdge){ return; }
+                spawn(entry++);
+            }
+            else {
+                if(chunkX + ChunkGenerator.CHUNK_WIDTH > spawnEdge){ return; }
+                //The next chunk takes over and the one after it is generated into the old one
+                ChunkGenerator.Chunk done = chunk;
+                chunk = nextChunk;
+                nextChunk = done;
+                chunkX += ChunkGenerator.CHUNK_WIDTH;
+                entry = 0;
+                speed = chunk.speed;
+                generateChunk(nextChunk);
+            }
+        }
+    }
+
+    /*
+    Input: Chunk to fill
+    Output: Void
+    Purpose: Generates the next chunk of the run
+    */
+    private void generateChunk(ChunkGenerator.Chunk target){
+        generator.generate(target);
+        EntityTrace.record(EntityTrace.STATE, TRACE, "chunk", target.index, target.size, (int) target.speed);
+    }
+
+    /*
+    Input: Entry of the chunk
+    Output: Void
+    Purpose: Adds an object where the chunk says
+    */
+    private void spawn(int i){
+        float x = chunkX + chunk.x[i];
+        switch (chunk.kind[i]){
+            case ChunkGenerator.ASTEROID:
+                asteroids.add(x, chunk.y[i], true);
+                break;
+            case ChunkGenerator.COLLECTIBLE:
+                collectibles.add(x, chunk.y[i], CollectibleStore.RADIUS, 0);
+                break;
+            case ChunkGenerator.BORDER:
+                SpaceBorder spaceBorder = spaceBorderPool.obtain();
+                spaceBorder.setX(x);
+                spaceBorders.add(spaceBorder);
+                break;
+            case ChunkGenerator.JUNK:
+                FloatingJunk floatingJunk = floatingJunkPool.obtain();
+                floatingJunk.setStats(x, chunk.y[i], chunk.scale[i], chunk.drift[i]);
+                floatingJunks.add(floatingJunk);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Removes every object that has left the screen on the left
+    */
+    private void removeOffScreen(){
+        float left = getScrollX();
+        while(!asteroids.isEmpty() && asteroids.getX(0) < left - AsteroidStore.RADIUS){ asteroids.removeFirst(); }
+        while(!collectibles.isEmpty() && collectibles.getX(0) < left - CollectibleStore.RADIUS){ collectibles.removeFirst(); }
+        while(spaceBorders.size > 0 && spaceBorders.first().getRight() < left){
+            spaceBorderPool.free(spaceBorders.removeFirst());
+        }
+        while(floatingJunks.size > 0 && floatingJunks.first().getRight() < left){
+            floatingJunkPool.free(floatingJunks.removeFirst());
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Adds a point for every row the spaceship passed and the collectibles it touched
+    */
+    private void updateScore(){
+        for(int i = 0; i < asteroids.getSize(); i++){
+            if(asteroids.getX(i) > spaceCraft.getX()){ break; }
+            if(!asteroids.isPointClaimed(i)){
+                asteroids.markPointClaimed(i);
+                score++;
+            }
+        }
+        for(int i = collectibles.first(spaceCraft); i < collectibles.getSize() && collectibles.inReach(i, spaceCraft); i++){
+            if(!collectibles.isCollected(i) && collectibles.isColliding(i, spaceCraft)){
+                collectibles.collect(i);
+                score += COLLECTIBLE_SCORE;
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Checks if the spaceship has hit an asteroid or a boarder
+    */
+    private boolean checkForDeathCollision(){
+        return asteroids.isColliding(spaceCraft) ||
+                SweepAndPrune.findColliding(spaceBorders, spaceCraft) != null;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Ends the run, keeps its score if it's the best and starts the next run with a new seed taken
+        from the last one, so a whole session plays out the same from its first seed
+    */
+    @Override
+    void restart(){
+        bestScore = Math.max(bestScore, score);
+        score = 0;
+        asteroids.clear();
+        collectibles.clear();
+        spaceBorders.freeAll(spaceBorderPool);
+        floatingJunks.freeAll(floatingJunkPool);
+        runSeed = runSeed * 6364136223846793005L + 1442695040888963407L;
+        startRun();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+The EntityTrace class is a debug log of what the entities in a level are doing, off unless turned on.
+    Entities record events as a name and up to three numbers, nothing is turned into text when they do.
+    The records go into a ring buffer of plain arrays that is allocated once, when it's full the oldest
+    records are written over, so turning it on doesn't add garbage or console output to a tick.
+    Everything in the buffer is written to the log only when asked for with dump().
+
+    Levels, each one includes the ones before it:
+        OFF     Nothing is recorded, the default, a call costs one comparison
+        STATE   Things that change how an entity behaves, like the robot turning on or the dragon's mode
+        TICK    The state of an entity every tick, a lot of records, the buffer only covers the last few seconds
+
+    The names are meant to be string constants so recording one doesn't build a string.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+
+final class EntityTrace {
+
+    static final int OFF = 0;
+    static final int STATE = 1;
+    static final int TICK = 2;
+
+    private static final String TAG = "EntityTrace";
+    private static final int CAPACITY = 1024;       //Records kept, a power of two so the index wraps with a mask
+
+    private static int level = OFF;
+    private static int tick = 0;                    //Tick of the level the next records belong to
+
+    //Ring buffer, one slot per record in each array
+    private static final String[] sources = new String[CAPACITY];
+    private static final String[] events = new String[CAPACITY];
+    private static final int[] ticks = new int[CAPACITY];
+    private static final int[] first = new int[CAPACITY];
+    private static final int[] second = new int[CAPACITY];
+    private static final int[] third = new int[CAPACITY];
+    private static int next = 0;                    //Slot the next record goes in
+    private static int size = 0;                    //How many slots hold a record
+
+    private EntityTrace(){}
+
+    /*
+    Input: OFF, STATE or TICK
+    Output: Void
+    Purpose: Sets what gets recorded from now on, the records already in the buffer are kept
+    */
+    static void setLevel(int level){ EntityTrace.level = level; }
+
+    /*
+    Input: Void
+    Output: Int
+    Purpose: Returns what's being recorded
+    */
+    static int getLevel(){ return level; }
+
+    /*
+    Input: Level of a record
+    Output: Boolean
+    Purpose: Returns true if records of that level are kept, lets a caller skip work that's only for the trace
+    */
+    static boolean isOn(int level){ return EntityTrace.level >= level; }
+
+    /*
+    Input: Tick the level is on
+    Output: Void
+    Purpose: Stamps the records that follow with the tick, called by the simulation before each tick
+    */
+    static void setTick(long tick){ EntityTrace.tick = (int) tick; }
+
+    /*
+    Input: Level of the record, entity recording it, what happened and up to three numbers about it
+    Output: Void
+    Purpose: Adds a record to the buffer if the level is on
+    */
+    static void record(int level, String source, String event, int a, int b, int c){
+        if(EntityTrace.level < level){ return; }
+        sources[next] = source;
+        events[next] = event;
+        ticks[next] = tick;
+        first[next] = a;
+        second[next] = b;
+        third[next] = c;
+        next = (next + 1) & (CAPACITY - 1);
+        if(size < CAPACITY){ size++; }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Writes every record in the buffer to the log, oldest first, and empties it
+    */
+    static void dump(){
+        Gdx.app.log(TAG, size + " records");
+        int start = (next - size) & (CAPACITY - 1);
+        for(int i = 0; i < size; i++){
+            int slot = (start + i) & (CAPACITY - 1);
+            Gdx.app.log(TAG, ticks[slot] + " " + sources[slot] + " " + events[slot] + " "
+                    + first[slot] + " " + second[slot] + " " + third[slot]);
+        }
+        clear();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Empties the buffer
+    */
+    static void clear(){
+        for(int i = 0; i < CAPACITY; i++){
+            sources[i] = null;
+            events[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+}
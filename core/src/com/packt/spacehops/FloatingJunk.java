@@ -2,7 +2,6 @@ package com.packt.spacehops;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 
 ;
@@ -17,18 +16,27 @@ public class FloatingJunk {
     private float yMin;
     private float OFFSET = 80;
 
-    FloatingJunk(TextureRegion textureRegion){
+    private final RandomStream random;      //Where the random drift comes from
+
+    FloatingJunk(TextureRegion textureRegion, RandomStream random){
         junkTexture = textureRegion;
+        this.random = random;
 
         junkRectangle = new Rectangle(0,0,0,0);
     }
 
-    void setStats(float x, float y, double dimensionMod){
+    void setStats(float x, float y, double dimensionMod){ setStats(x, y, dimensionMod, random.random(40,OFFSET)); }
+
+    /*
+    Input: Position, size compared to the texture and how far it drifts up and down
+    Output: Void
+    Purpose: Places the junk, used by the endless generator which picks the drift itself
+    */
+    void setStats(float x, float y, double dimensionMod, float drift){
         junkRectangle.x = x;
         junkRectangle.y = y;
-        OFFSET = MathUtils.random(40,OFFSET);
-        yMax = y + OFFSET;
-        yMin = y - OFFSET;
+        yMax = y + drift;
+        yMin = y - drift;
         junkRectangle.width = (float) (junkTexture.getRegionWidth() * dimensionMod);
         junkRectangle.height = (float) (junkTexture.getRegionHeight()*dimensionMod);
     }
@@ -41,6 +49,20 @@ public class FloatingJunk {
         else { junkRectangle.y -= 1; }
     }
 
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves the junk to the left, endless mode moves it back with the world every so often
+    */
+    void scroll(float distance){ junkRectangle.x -= distance; }
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the right edge, once it's left of the screen the junk is gone
+    */
+    float getRight(){ return junkRectangle.x + junkRectangle.width; }
+
     void draw(SpriteBatch batch){
         batch.draw(junkTexture, junkRectangle.x, junkRectangle.y, junkRectangle.getWidth(), junkRectangle.getHeight());
     }
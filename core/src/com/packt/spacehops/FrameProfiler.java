@@ -0,0 +1,269 @@
+/*
+The FrameProfiler class times where a frame of a level goes and shows it on top of the level, 4 turns it on and off.
+    Each phase of the frame is timed as it runs, a phase that runs more than once in a frame, like the
+    collision checks of several ticks, adds up. At the end of the frame the totals go into a histogram
+    per phase that covers the last WINDOW frames, the oldest frame is taken out as the newest goes in.
+
+    The histograms are counts in buckets four to an octave of microseconds, from 1 us to about 130 ms, so a
+    percentile is at most a quarter off and finding it is a walk over 64 ints. The histograms are allocated
+    when the profiler is created, timing a frame doesn't create anything.
+
+    Shown for each phase are the 50th, 95th and 99th percentile in milliseconds, collision is part of update.
+    Under them are the render calls of the level's SpriteBatch and the draw calls and texture binds the
+    GLProfiler counted in the last frame. The text is only laid out again every REFRESH_FRAMES frames.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+class FrameProfiler implements Disposable {
+
+    /*
+    Parts of a frame that are timed
+     */
+    enum Phase {
+        FRAME("frame"), UPDATE("update"), COLLISION(" collision"), DRAW("draw"), MENUS("menus"), DEBUG("debug");
+
+        final String label;
+        Phase(String label){ this.label = label; }
+    }
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final int WINDOW = 256;              //Frames the percentiles cover, a power of two so the index wraps with a mask
+    private static final int BUCKETS = 64;              //Four to an octave from 1 us
+    private static final int REFRESH_FRAMES = 30;       //Frames between layouts of the text
+    private static final float TEXT_X = 5, TEXT_Y = 150;    //Top left of the text, in the bottom left of the screen
+    private static final float COLUMN_X = 70, COLUMN_WIDTH = 45;    //Where the percentiles start and how far apart they are
+    private static final int[] PERCENTILES = {50, 95, 99};
+
+    /*
+    Timing
+     */
+    private boolean enabledFlag = false;
+    private long frameStart;
+    private final long[] phaseStart = new long[PHASES.length];
+    private final long[] frameTime = new long[PHASES.length];         //Time of each phase in this frame so far
+
+    /*
+    Histograms, the bucket of every frame in the window and how many frames are in each bucket
+     */
+    private final byte[][] samples = new byte[PHASES.length][WINDOW];
+    private final int[][] counts = new int[PHASES.length][BUCKETS];
+    private int slot = 0;                   //Slot the next frame goes in
+    private int frames = 0;                 //Frames in the window
+    private int frameCount = 0;             //Frames timed since the game started, the text is keyed on it
+
+    /*
+    Counts of the last frame
+     */
+    private int renderCalls;
+    private int drawCalls;
+    private int textureBindings;
+
+    /*
+    Created the first time the profiler is turned on
+     */
+    private GLProfiler glProfiler;
+    private BitmapFont bitmapFont;
+    private TextCache text;
+    private final StringBuilder builder = new StringBuilder();
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Tells the screen if the profiler is on
+    */
+    boolean isEnabled(){ return enabledFlag; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Turns the profiler on or off, it starts over with an empty window each time it's turned on
+    */
+    void toggle(){
+        enabledFlag = !enabledFlag;
+        if(glProfiler == null){
+            glProfiler = new GLProfiler(Gdx.graphics);
+            bitmapFont = new BitmapFont();
+            text = new TextCache(bitmapFont);
+        }
+        if(enabledFlag){
+            for(int[] phaseCounts : counts){ Arrays.fill(phaseCounts, 0); }
+            frames = 0;
+            slot = 0;
+            glProfiler.enable();
+            glProfiler.reset();
+        }
+        else { glProfiler.disable(); }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Starts timing a frame
+    */
+    void beginFrame(){
+        if(!enabledFlag){ return; }
+        frameStart = TimeUtils.nanoTime();
+    }
+
+    /*
+    Input: Phase
+    Output: Void
+    Purpose: Starts timing a phase
+    */
+    void start(Phase phase){
+        if(!enabledFlag){ return; }
+        phaseStart[phase.ordinal()] = TimeUtils.nanoTime();
+    }
+
+    /*
+    Input: Phase
+    Output: Void
+    Purpose: Adds the time since start to the phase
+    */
+    void stop(Phase phase){
+        if(!enabledFlag){ return; }
+        frameTime[phase.ordinal()] += TimeUtils.nanoTime() - phaseStart[phase.ordinal()];
+    }
+
+    /*
+    Input: Render calls of the SpriteBatch, read after it was ended
+    Output: Void
+    Purpose: Keeps the render calls of the frame
+    */
+    void countBatch(int renderCalls){ this.renderCalls = renderCalls; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Puts the times of the frame into the histograms, taking out the frame that leaves the window
+    */
+    void endFrame(){
+        if(!enabledFlag){ return; }
+        frameTime[Phase.FRAME.ordinal()] = TimeUtils.nanoTime() - frameStart;
+        for(int phase = 0; phase < PHASES.length; phase++){
+            if(frames == WINDOW){ counts[phase][samples[phase][slot]]--; }
+            int bucket = bucket(frameTime[phase]);
+            samples[phase][slot] = (byte) bucket;
+            counts[phase][bucket]++;
+            frameTime[phase] = 0;
+        }
+        slot = (slot + 1) & (WINDOW - 1);
+        if(frames < WINDOW){ frames++; }
+        frameCount++;
+
+        drawCalls = glProfiler.getDrawCalls();
+        textureBindings = glProfiler.getTextureBindings();
+        glProfiler.reset();
+    }
+
+    /*
+    Input: Batch the HUD is drawn with
+    Output: Void
+    Purpose: Draws the percentiles and counts, laying them out again every REFRESH_FRAMES frames
+    */
+    void draw(Batch batch){
+        if(!enabledFlag || frames == 0){ return; }
+        int key = frameCount / REFRESH_FRAMES;
+        if(text.needsLayout(key)){
+            text.clear(key);
+            float lineHeight = bitmapFont.getLineHeight();
+            float y = TEXT_Y;
+            text.addText("ms", TEXT_X, y);
+            for(int i = 0; i < PERCENTILES.length; i++){
+                builder.setLength(0);
+                builder.append('p').append(PERCENTILES[i]);
+                text.addText(builder, TEXT_X + COLUMN_X + i * COLUMN_WIDTH, y);
+            }
+            for(Phase phase : PHASES){
+                y -= lineHeight;
+                text.addText(phase.label, TEXT_X, y);
+                for(int i = 0; i < PERCENTILES.length; i++){
+                    builder.setLength(0);
+                    appendMillis(percentile(phase, PERCENTILES[i]));
+                    text.addText(builder, TEXT_X + COLUMN_X + i * COLUMN_WIDTH, y);
+                }
+            }
+            y -= lineHeight;
+            builder.setLength(0);
+            builder.append("batch ").append(renderCalls).append(" draws ").append(drawCalls)
+                    .append(" binds ").append(textureBindings);
+            text.addText(builder, TEXT_X, y);
+        }
+        text.draw(batch);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Puts the GL back the way it was and releases the font
+    */
+    @Override
+    public void dispose(){
+        if(glProfiler == null){ return; }
+        glProfiler.disable();
+        bitmapFont.dispose();
+    }
+
+    /*
+    Input: Phase, percent
+    Output: Time in microseconds that percent of the frames in the window were under, the top of its bucket
+    Purpose: Walks the histogram of the phase until it has passed the percent of the frames
+    */
+    private int percentile(Phase phase, int percent){
+        int[] phaseCounts = counts[phase.ordinal()];
+        int target = (frames * percent + 99) / 100;
+        int seen = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++){
+            seen += phaseCounts[bucket];
+            if(seen >= target){ return bucketTop(bucket); }
+        }
+        return bucketTop(BUCKETS - 1);
+    }
+
+    /*
+    Input: Time in nanoseconds
+    Output: Bucket, 0 to 3 are 1 us each and every octave after that has four
+    Purpose: Finds the bucket of a time without dividing or taking a log
+    */
+    private static int bucket(long nanos){
+        int micros = (int) Math.min(nanos / 1000, Integer.MAX_VALUE);
+        if(micros < 4){ return micros; }
+        int octave = 31 - Integer.numberOfLeadingZeros(micros);         //2 for 4-7 us
+        int bucket = 4 * (octave - 1) + ((micros >>> (octave - 2)) & 3);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /*
+    Input: Bucket
+    Output: Time in microseconds at the top of the bucket
+    Purpose: Turns a bucket back into a time
+    */
+    private static int bucketTop(int bucket){
+        if(bucket < 4){ return bucket + 1; }
+        int octave = bucket / 4 + 1;
+        return (5 + bucket % 4) << (octave - 2);
+    }
+
+    /*
+    Input: Time in microseconds
+    Output: Void
+    Purpose: Adds the time as milliseconds with two decimals, without going through a float
+    */
+    private void appendMillis(int micros){
+        int hundredths = (micros + 5) / 10;
+        builder.append(hundredths / 100).append('.');
+        if(hundredths % 100 < 10){ builder.append('0'); }
+        builder.append(hundredths % 100);
+    }
+}
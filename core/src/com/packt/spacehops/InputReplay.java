@@ -0,0 +1,256 @@
+/*
+The InputReplay class records the input of a level tick by tick so the level can be played again without
+    a player or a window. A level is built from its seed and only takes input on its fixed ticks, so the
+    screen it was on, the seed and the ticks up was pressed on are all it takes to play out the same game,
+    deaths, restarts and all.
+
+    The file is a short header followed by the ticks up was pressed on, each one as the distance from the
+    one before it. Numbers are varints, 7 bits a byte with the top bit set while more bytes follow, so a
+    press a few ticks after the last one is a single byte and a minute of play fits in a few hundred bytes:
+
+        'S' 'R'  version  screen  seed (8 bytes)  ticks  presses  gap to each press...
+
+    Recording is off unless the launcher turns it on, the desktop one with --replays. While it's on every
+    screen records its level and writes the replay when it's closed, the last session of each screen is
+    kept in replays/. Playing one back runs the ticks as fast as they go, see the ReplayRunner of the
+    benchmarks.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+
+class InputReplay {
+
+    private static final byte VERSION = 1;
+    private static final String FOLDER = "replays/";
+
+    private final int screen;           //Screen the level was on, same numbers as the LoadingScreen
+    private final long seed;            //Seed the level was built with
+    private long ticks = 0;             //Ticks recorded
+    private int presses = 0;            //Ticks up was pressed on
+    private long lastPress = 0;         //Tick of the last press, the next one is stored as the gap from it
+    private final ByteArray gaps;       //Gaps between the presses as varints
+
+    /*
+    Input: Screen the level is on, seed it was built with
+    Output: Void
+    Purpose: Starts an empty recording
+    */
+    InputReplay(int screen, long seed){
+        this(screen, seed, new ByteArray());
+    }
+
+    private InputReplay(int screen, long seed, ByteArray gaps){
+        this.screen = screen;
+        this.seed = seed;
+        this.gaps = gaps;
+    }
+
+    /*
+    Input: Tick that was just run, if up was pressed on it
+    Output: Void
+    Purpose: Adds a tick to the recording, called by the simulation after every tick
+    */
+    void record(long tick, boolean flyUp){
+        ticks = tick + 1;
+        if(flyUp){
+            writeVarint(gaps, tick - lastPress);
+            lastPress = tick;
+            presses++;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Values of the recording
+    Purpose: Getters for the runner
+    */
+    int getScreen(){ return screen; }
+
+    long getSeed(){ return seed; }
+
+    long getTicks(){ return ticks; }
+
+    int getPresses(){ return presses; }
+
+    /*
+    Input: AssetManager holding the atlases of the screen
+    Output: Simulation of the level the replay was recorded on, before its first tick
+    Purpose: Builds the level again from the seed
+    */
+    LevelSimulation createLevel(AssetManager assetManager){
+        if(screen == 1){ return new LevelOneSimulation(assetManager, seed); }
+        if(screen == 2){ return new LevelTwoSimulation(assetManager, seed); }
+        if(screen == 3){ return new LevelThreeSimulation(assetManager, seed); }
+        return new EndlessSimulation(assetManager, seed, EndlessSimulation.startChunk(screen - SpaceHops.ENDLESS_FLAG));
+    }
+
+    /*
+    Input: Void
+    Output: Player at the first tick
+    Purpose: Starts playing the recording back
+    */
+    Player play(){ return new Player(); }
+
+    /*
+    Plays a recording back one tick at a time
+     */
+    class Player {
+        private long tick = 0;          //Next tick to run
+        private long nextPress;         //Tick of the next press, -1 once there are none left
+        private int read = 0;           //Presses read so far
+        private int position = 0;       //Where the next gap starts in the bytes
+
+        private Player(){ nextPress = readPress(0); }
+
+        /*
+        Input: Void
+        Output: Boolean
+        Purpose: Tells if there are ticks left to run
+        */
+        boolean hasNext(){ return tick < ticks; }
+
+        /*
+        Input: Simulation made by createLevel
+        Output: Void
+        Purpose: Runs the next tick, pressing up first if it was pressed on it
+        */
+        void step(LevelSimulation simulation){
+            if(tick == nextPress){
+                simulation.queueFlyUp();
+                nextPress = readPress(nextPress);
+            }
+            simulation.step();
+            tick++;
+        }
+
+        /*
+        Input: Simulation made by createLevel
+        Output: Void
+        Purpose: Runs every tick that's left
+        */
+        void finish(LevelSimulation simulation){ while(hasNext()){ step(simulation); } }
+
+        /*
+        Input: Tick of the last press
+        Output: Tick of the next one, -1 if there isn't one
+        Purpose: Reads the next gap
+        */
+        private long readPress(long last){
+            if(read == presses){ return -1; }
+            read++;
+            long gap = 0;
+            for(int shift = 0; ; shift += 7){
+                byte b = gaps.get(position++);
+                gap |= (long) (b & 0x7F) << shift;
+                if(b >= 0){ break; }
+            }
+            return last + gap;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: The recording as bytes
+    Purpose: Puts the header in front of the gaps
+    */
+    byte[] toBytes(){
+        ByteArray bytes = new ByteArray(gaps.size + 32);
+        bytes.add((byte) 'S', (byte) 'R', VERSION);
+        writeVarint(bytes, screen);
+        for(int shift = 56; shift >= 0; shift -= 8){ bytes.add((byte) (seed >>> shift)); }
+        writeVarint(bytes, ticks);
+        writeVarint(bytes, presses);
+        bytes.addAll(gaps);
+        return bytes.toArray();
+    }
+
+    /*
+    Input: Bytes written by toBytes
+    Output: The recording, null if the bytes aren't one
+    Purpose: Reads a recording back, checking the header and that every press is there
+    */
+    static InputReplay fromBytes(byte[] bytes){
+        if(bytes == null || bytes.length < 3 || bytes[0] != 'S' || bytes[1] != 'R' || bytes[2] != VERSION){ return null; }
+        int[] position = {3};
+        long screen = readVarint(bytes, position);
+        if(screen < 1 || position[0] + 8 > bytes.length){ return null; }
+        long seed = 0;
+        for(int i = 0; i < 8; i++){ seed = seed << 8 | (bytes[position[0]++] & 0xFF); }
+        long ticks = readVarint(bytes, position);
+        long presses = readVarint(bytes, position);
+        if(ticks < 0 || presses < 0 || presses > ticks){ return null; }
+
+        //Every press has to be there and land inside the recording
+        ByteArray gaps = new ByteArray(bytes.length - position[0]);
+        int start = position[0];
+        long tick = 0;
+        for(long i = 0; i < presses; i++){
+            long gap = readVarint(bytes, position);
+            if(gap < 0){ return null; }
+            tick += gap;
+        }
+        if(presses > 0 && tick >= ticks){ return null; }
+        gaps.addAll(bytes, start, position[0] - start);
+
+        InputReplay replay = new InputReplay((int) screen, seed, gaps);
+        replay.ticks = ticks;
+        replay.presses = (int) presses;
+        replay.lastPress = tick;
+        return replay;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Writes the recording over the last one of its screen, where there are local files
+    */
+    void save(){
+        if(!Gdx.files.isLocalStorageAvailable() || ticks == 0){ return; }
+        try { Gdx.files.local(FOLDER + screen + ".replay").writeBytes(toBytes(), false); }
+        catch (RuntimeException e){ Gdx.app.error("InputReplay", "Could not write the replay of screen " + screen, e); }
+    }
+
+    /*
+    Input: File to read
+    Output: The recording, null if the file is missing or isn't one
+    Purpose: Loads a recording written by save
+    */
+    static InputReplay load(FileHandle file){
+        if(!file.exists()){ return null; }
+        return fromBytes(file.readBytes());
+    }
+
+    /*
+    Input: Where to write, number that isn't negative
+    Output: Void
+    Purpose: Writes 7 bits a byte, lowest first, the top bit says another byte follows
+    */
+    private static void writeVarint(ByteArray bytes, long value){
+        while((value & ~0x7FL) != 0){
+            bytes.add((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        bytes.add((byte) value);
+    }
+
+    /*
+    Input: Bytes, where to start reading which is moved past the number
+    Output: The number, -1 if the bytes end first or it's too long
+    Purpose: Reads a number written by writeVarint
+    */
+    private static long readVarint(byte[] bytes, int[] position){
+        long value = 0;
+        for(int shift = 0; shift < 63; shift += 7){
+            if(position[0] >= bytes.length){ return -1; }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if(b >= 0){ return value; }
+        }
+        return -1;
+    }
+}
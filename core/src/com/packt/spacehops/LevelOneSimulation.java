@@ -0,0 +1,452 @@
+/*
+The LevelOneSimulation class holds the game logic of the first level, the asteroid belt.
+    The player hops between rows of asteroids, the first few rows teach the controls
+    after that samples start showing up between the rows and need to be collected to finish the level.
+
+    Collectible mechanics, to match the distancing between asteroids and collectibles
+        the collectibles are turned invisible at collision and gotten rid off once they leave
+        the screen otherwise they would slowly encroach onto of the asteroids where players
+        can't get to
+
+    The asteroids and collectibles stay where they were spawned in the world, the level scrolls past
+    them at SCROLL_SPEED. Spawning and removing is measured from the left edge of the screen, scrollX.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+class LevelOneSimulation extends LevelSimulation {
+
+    /*
+    Games States dictate how the game should be behaving, we always start in Playing state here
+    */
+    enum PART {PartOne, PartTwo, PartThree, PartFour, PartFive}
+    private static final PART[] PARTS = PART.values();
+    private PART part = PART.PartOne;
+    private LevelScript script;             //Moves the level between parts, read from Scripts/level_one.json
+
+    /*
+    Textures
+     */
+    private TextureRegion topAsteroidTexture;
+    private TextureRegion bottomAsteroidTexture;
+    private TextureRegion earthTexture;
+    private TextureRegion moonTexture;
+    private TextureRegion collectibleTexture;
+    private TextureRegion progressBarTexture;
+    private TextureRegion profileTexture;
+    private TextureRegion communicationFrameTexture;
+    private TextureRegion spaceCraftTexture;
+
+    /*
+    Array of the asteroids and collectibles that the user will encounter
+     */
+    private AsteroidStore asteroids;            //Rows of asteroids
+    private CollectibleStore collectibles;      //Samples between the rows
+
+    //Background objects we use
+    private PlanetScene sky;                //Shows earth and moon
+    private ProgressBar progressBar;        //Progress Bar that show user's progress
+    private ConversationBox conversationBox;//Conversation box that is used to talk to the user
+
+    //Static variables
+    static final int GOAL = 10;                                 //Goal of the level to end
+    private static final float GAP_BETWEEN_ASTEROID = 200;      //Distance between objects
+    private static final float SCROLL_SPEED = 100f;             //How fast the level scrolls, per second
+    private static final float COLLECTIBLE_Y = 350;             //Highest a collectible spawns
+    private static final float Y_OFFSET = 200;                  //How far under that it can be
+
+    //Timing variables
+    private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
+    private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
+
+    //
+    private int asteroidsPassed = 0;      //In game counter to see how many asteroids have been passed
+
+    /*
+    Flags
+     */
+    private boolean stopSpawningFlag = false;   //Tells screen to stop creating more asteroids and collectibles
+    private boolean screenOnFlag = true;        //Tells screen that the conversation box is on
+
+    /*
+    Input: AssetManager holding the loaded atlases, seed of the level
+    Output: Void
+    Purpose: Connects the textures and creates the objects the level starts with
+    */
+    LevelOneSimulation(AssetManager assetManager, long seed){
+        super(seed);
+        showTexture(assetManager);
+        showObjects();
+        showScript();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Loads the script that moves the level between parts
+    */
+    private void showScript(){
+        script = new LevelScript("Scripts/level_one.json", PARTS, new LevelScript.Listener() {
+            @Override
+            public void onPartChanged(int newPart) { part = PARTS[newPart]; }
+
+            @Override
+            public void onAction(LevelScript.Action action, int value) { doAction(action); }
+        });
+    }
+
+    /*
+    Input: Action the script sent
+    Output: Void
+    Purpose: Sets off the events of the new part
+    */
+    private void doAction(LevelScript.Action action){
+        switch (action){
+            //Turns on communication window
+            case SHOW_CONVERSATION:
+                screenOnFlag = true;
+                conversationBox.restartTimer();
+                break;
+            case STOP_SPAWNING:
+                stopSpawningFlag = true;
+                break;
+            //Last row comes in further away, closes off the level
+            case SPAWN_LAST_ASTEROID:
+                asteroids.add(getScrollX() + 3*WORLD_WIDTH/2 + AsteroidStore.RADIUS, 0, false);
+                break;
+            //Tells the screen the level is complete
+            case COMPLETE_LEVEL:
+                conversationBox.restartTimer();
+                setLevelComplete();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Initializes the objects that are going to be displayed.
+    Mostly giving objects dimension, position and connecting them to textures.
+    */
+    private void showObjects(){
+        //Spaceship creation
+        spaceCraft = new SpaceCraft(spaceCraftTexture);
+        spaceCraft.updatePosition(WORLD_WIDTH/4, WORLD_HEIGHT/2);
+
+        //Earth and Moon background object
+        Planet earth = new Planet(150,150,100, earthTexture, sceneryRandom);
+        earth.createMoon(20,moonTexture);
+        sky = new PlanetScene();
+        sky.add(earth, 0);
+
+        //Player UI
+        progressBar = new ProgressBar(progressBarTexture);
+        progressBar.setGoal(GOAL);
+        conversationBox = new ConversationBox(WORLD_WIDTH, WORLD_HEIGHT, communicationFrameTexture, profileTexture);
+
+        //Stores the asteroids and collectibles are spawned into
+        asteroids = new AsteroidStore(topAsteroidTexture, bottomAsteroidTexture);
+        collectibles = new CollectibleStore(collectibleTexture);
+    }
+
+    /*
+    Input: AssetManager holding the loaded atlases
+    Output: Void
+    Purpose: Connects the images to the Texture objects
+    */
+    private void showTexture(AssetManager assetManager){
+        TextureAtlas levelAtlas = assetManager.get("level_one_assets.atlas");
+        TextureAtlas shipAtlas = assetManager.get("ship_assets.atlas");
+        TextureAtlas profileAtlas = assetManager.get("profile_assets.atlas");
+        TextureAtlas uiAtlas = assetManager.get("ui_assets.atlas");
+
+        //AsteroidTextures
+        topAsteroidTexture = levelAtlas.findRegion("TowerUp");
+        bottomAsteroidTexture = levelAtlas.findRegion("TowerDown");
+
+        //Spaceship
+        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
+
+        //Background
+        earthTexture = levelAtlas.findRegion("Earth");
+        moonTexture = levelAtlas.findRegion("Moon");
+
+        //Collectible
+        collectibleTexture = uiAtlas.findRegion("CollectiblePack");
+
+        //Progress Bar
+        progressBarTexture = uiAtlas.findRegion("Score");
+
+        //Communication Frame
+        communicationFrameTexture = uiAtlas.findRegion("CommunicationFrame");
+        profileTexture = profileAtlas.findRegion("Profile_Pack");
+    }
+
+    /*
+    Input: Void
+    Output: Objects the screen draws
+    Purpose: Getters for the screen
+    */
+    PART getPart(){ return part; }
+
+    AsteroidStore getAsteroids(){ return asteroids; }
+
+    CollectibleStore getCollectibles(){ return collectibles; }
+
+    PlanetScene getSky(){ return sky; }
+
+    ProgressBar getProgressBar(){ return progressBar; }
+
+    ConversationBox getConversationBox(){ return conversationBox; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new asteroid row and adds it to the array
+    */
+    private void createNewAsteroid(){
+        float floorY = obstacleRandom.random(AsteroidStore.HEIGHT_OFFSET);     //Randomly decides how tall the floor is
+        asteroids.add(getScrollX() + WORLD_WIDTH + AsteroidStore.RADIUS, floorY, true);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new collectible, first one is off set to match the distancing along with asteroids
+    */
+    private void createNewCollectible(){
+        float x;
+        if(asteroids.getSize() == 1) {x = asteroids.getX(0) + AsteroidStore.RADIUS + GAP_BETWEEN_ASTEROID/2;}
+        else{x = getScrollX() + WORLD_WIDTH + AsteroidStore.RADIUS;}
+        int index = collectibles.add(x, COLLECTIBLE_Y - obstacleRandom.random(Y_OFFSET), CollectibleStore.RADIUS, 0);
+        if(part == PART.PartOne){collectibles.collect(index);}
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if we need to make either a collectible or asteroid
+    */
+    private void checkForNewObjectsNeeded(){
+        checkIfNewAsteroidIsNeeded();
+        checkIfNewCollectibleIsNeeded();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if there is need to create a new collectible is need to be created
+    */
+    private void checkIfNewCollectibleIsNeeded(){
+        //No collectible exits
+        if (collectibles.isEmpty()) {
+            createNewCollectible();
+        }
+        //collectible is distance away
+        else {
+            if (collectibles.getX(collectibles.getSize() - 1) < getScrollX() + WORLD_WIDTH - GAP_BETWEEN_ASTEROID) {
+                createNewCollectible();
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if there is need to create a new asteroid if does calls createNewAsteroid()
+    */
+    private void checkIfNewAsteroidIsNeeded(){
+        //If no asteroids on screen exits
+        if (asteroids.isEmpty()) {
+            createNewAsteroid();
+        }
+        //If the distance between the world and the new asteroid is enough
+        else {
+            if (asteroids.getX(asteroids.getSize() - 1) < getScrollX() + WORLD_WIDTH - GAP_BETWEEN_ASTEROID) {
+                createNewAsteroid();
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if asteroids or collectibles need ot be destroyed
+    */
+    private void checkForRemovingObject(){
+        removeAsteroidIfPassed();
+        removeCollectible();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Gets rid of the collectible from array that went past the screen
+    */
+    private void removeCollectible(){
+        if(!collectibles.isEmpty()){																				//Checks if we have more than 0 flowers
+            if(collectibles.getX(0) < getScrollX() - CollectibleStore.RADIUS){ 											//If x is off screen remove from array
+                collectibles.removeFirst();
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Removes asteroids from array if its off the screen
+    */
+    private void removeAsteroidIfPassed(){
+        if(!asteroids.isEmpty()){																					//Checks if we have more than 0 flowers
+            if(asteroids.getX(0) < getScrollX() - AsteroidStore.RADIUS){ 												//If x is off screen remove from array
+                asteroids.removeFirst();
+            }
+        }
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Central function that starts all the other update functions
+    */
+    @Override
+    void tick(float delta){
+        //Creation and destruction of new flowers
+        if(!stopSpawningFlag) {checkForNewObjectsNeeded();}
+        checkForRemovingObject();
+
+        //Updates status of variables
+        updateConversationBox(delta);            //Shows the text of the part the level is in
+        updateScore();                           //Updates score, the script moves to the next part from here
+        updateCommunicationScreenTime(delta);    //Updates the time that the screen time is on for
+        updateSpaceship();                       //Updates the position of the spaceship
+        scroll(SCROLL_SPEED * delta);            //Moves the view past the asteroids
+        updateCollectibles(delta);
+        updatePlanet();                          //Updates the position of the moons
+        startTiming(FrameProfiler.Phase.COLLISION);
+        if(checkForDeathCollision()){ die();}    //Checks for restart
+        stopTiming(FrameProfiler.Phase.COLLISION);
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Tells the conversation box which text the part of the level the player is in gives
+    */
+    private void updateConversationBox(float delta){
+        //Tells the screen to turn on and which text output to give
+        if(part.equals(PART.PartOne) && screenOnFlag){ conversationBox.update(delta, 0);}
+        if(part.equals(PART.PartOne) && !screenOnFlag) {conversationBox.update(delta, 1);}
+        if(part.equals(PART.PartTwo) && screenOnFlag && collectibles.getX(0) < getScrollX() + WORLD_WIDTH && !collectibles.isCollected(0)){ conversationBox.update(delta, 0);}
+        if(part.equals(PART.PartTwo) && !screenOnFlag) {conversationBox.update(delta, 1);}
+        if(part.equals(PART.PartThree) && screenOnFlag){ conversationBox.update(delta,0);}
+        if(part.equals(PART.PartThree) && !screenOnFlag) {conversationBox.update(delta, 1);}
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Counts down until the communication screen turns off
+    */
+    private void updateCommunicationScreenTime(float delta) {
+        moveTimer -= delta;
+        if (moveTimer <= 0) {
+            moveTimer = MOVE_TIME;
+            screenOnFlag = false;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position of the moons
+    */
+    private void updatePlanet(){ sky.update(); }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Goes through each collectible in the array and updates the animation
+    */
+    private void updateCollectibles(float delta){ collectibles.updateAnimation(delta); }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves the asteroids and collectibles back with the view when the world is moved back to 0
+    */
+    @Override
+    void moveOrigin(float distance){
+        super.moveOrigin(distance);
+        asteroids.scroll(distance);
+        collectibles.scroll(distance);
+    }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Checks what is the amount of asteroids passed and collectibles collected
+    */
+    private void updateScore(){
+        if(!asteroids.isEmpty()) { updateAsteroidScore();}
+        if(!collectibles.isEmpty()) { updateCollectibleScore();}
+    }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Checks what is the amount of asteroids passed
+    */
+    private void updateAsteroidScore(){
+        if (asteroids.getX(0) <= spaceCraft.getX() && !asteroids.isPointClaimed(0)) {
+            asteroids.markPointClaimed(0);
+            asteroidsPassed++;
+            script.fire(LevelScript.Event.ASTEROID_PASSED, asteroidsPassed);
+        }
+    }
+
+    /*
+    Input: Delta
+    Output: Void
+    Purpose: Checks if any collectibles have been collected with
+    */
+    private void updateCollectibleScore(){
+        if (collectibles.isColliding(0, spaceCraft) && !collectibles.isCollected(0)) {
+            progressBar.update();
+            collectibles.collect(0);
+            script.fire(LevelScript.Event.SCORE, progressBar.getScore());
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Restart the variables to initial position and removes all flowers from array.
+    */
+    @Override
+    void restart(){
+        resetScroll();
+        spaceCraft.updatePosition(WORLD_WIDTH/4,WORLD_HEIGHT/2);
+        asteroids.clear();
+        collectibles.clear();
+        asteroidsPassed = 0;
+        script.restart();
+        screenOnFlag = true;
+        progressBar.restart();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks for if spaceship has hit into any of the flowers
+    */
+    private boolean checkForDeathCollision(){
+        return asteroids.isColliding(spaceCraft);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+The LevelScript class runs the parts of a level from a script in android/assets/Scripts instead of
+an if chain that checks the score every tick. The script lists triggers, each one says which part it
+belongs to, which event it waits for and how many of them, which part comes next and what happens then.
+
+    {"start": "PartOne",
+     "triggers": [
+        {"part": "PartOne", "on": "SCORE", "count": 2, "next": "PartTwo",
+         "actions": [{"do": "DRAGON_PHASE", "value": 1}, {"do": "SHOW_CONVERSATION"}]}
+     ]}
+
+    At load the names are checked and turned into a table with one slot per event and part, so when
+    the level fires an event only the triggers of the current part that wait for that event are looked at.
+    The parts are the PART enum of the level, the events and actions are shared by every level and
+    each level only handles the actions that make sense for it.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+class LevelScript {
+
+    /*
+    Things that happen in a level that triggers wait for, the value sent with them is the new total,
+    for CONVERSATION_ENDED it's how many conversations have timed out since the part started
+    */
+    enum Event {CONVERSATION_ENDED, ASTEROID_PASSED, SCORE}
+
+    /*
+    Things a trigger can make the level do
+    */
+    enum Action {SHOW_CONVERSATION, STOP_SPAWNING, SPAWN_LAST_ASTEROID, START_DRAGON, DRAGON_PHASE, START_SPINNING, COMPLETE_LEVEL}
+
+    /*
+    The Listener interface is the level the script is driving
+    */
+    interface Listener {
+
+        /*
+        Input: Index of the part the level moved to
+        Output: Void
+        Purpose: Tells the level it's in a new part
+        */
+        void onPartChanged(int part);
+
+        /*
+        Input: Action and the value the script gave it, 0 if it has none
+        Output: Void
+        Purpose: Tells the level to do something
+        */
+        void onAction(Action action, int value);
+    }
+
+    private final Listener listener;
+    private final Trigger[][] triggers;     //[event][part], first trigger of that slot, null if there are none
+    private final int startPart;
+    private int part;
+
+    /*
+    Input: Path of the script, parts of the level and the level itself
+    Output: Void
+    Purpose: Reads the script and builds the trigger table
+    */
+    LevelScript(String path, Enum<?>[] parts, Listener listener){ this(Gdx.files.internal(path), parts, listener); }
+
+    /*
+    Input: Script file, parts of the level and the level itself
+    Output: Void
+    Purpose: Reads the script and builds the trigger table
+    */
+    LevelScript(FileHandle file, Enum<?>[] parts, Listener listener){
+        this.listener = listener;
+        triggers = new Trigger[Event.values().length][parts.length];
+        JsonValue root = new JsonReader().parse(file);
+        startPart = findPart(parts, root.getString("start", parts[0].name()), file);
+        part = startPart;
+        for(JsonValue json = root.get("triggers").child; json != null; json = json.next){
+            Trigger trigger = new Trigger(json, parts, file);
+            //Added at the end of the slot so triggers fire in the order they are written
+            Trigger[] slots = triggers[trigger.event.ordinal()];
+            if(slots[trigger.part] == null){ slots[trigger.part] = trigger; }
+            else {
+                Trigger last = slots[trigger.part];
+                while(last.nextInSlot != null){ last = last.nextInSlot; }
+                last.nextInSlot = trigger;
+            }
+        }
+    }
+
+    /*
+    Input: Event that happened and its new total
+    Output: Void
+    Purpose: Runs the triggers of the current part that were waiting for it. A part that is entered gets
+    the same event too, so one score can go through more than one part, at most once through each part
+    */
+    void fire(Event event, int value){
+        Trigger[] slots = triggers[event.ordinal()];
+        Trigger trigger = slots[part];
+        int partsEntered = 0;
+        while(trigger != null){
+            if(trigger.count == value){
+                int partBefore = part;
+                run(trigger);
+                if(part != partBefore){
+                    if(++partsEntered >= slots.length){ return; }
+                    trigger = slots[part];
+                    continue;
+                }
+            }
+            trigger = trigger.nextInSlot;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Index of the part the level is in
+    Purpose: Getter for the level
+    */
+    int getPart(){ return part; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Goes back to the part the script starts in
+    */
+    void restart(){
+        part = startPart;
+        listener.onPartChanged(part);
+    }
+
+    /*
+    Input: Trigger that fired
+    Output: Void
+    Purpose: Moves to the next part and does the actions, in the order the script lists them
+    */
+    private void run(Trigger trigger){
+        if(trigger.nextPart != part){
+            part = trigger.nextPart;
+            listener.onPartChanged(part);
+        }
+        for(int i = 0; i < trigger.actions.length; i++){ listener.onAction(trigger.actions[i], trigger.values[i]); }
+    }
+
+    /*
+    Input: Parts of the level, name from the script and the file for the error message
+    Output: Index of the part
+    Purpose: Looks up a part by name, a typo in the script stops the level from loading
+    */
+    private static int findPart(Enum<?>[] parts, String name, FileHandle file){
+        for(Enum<?> part : parts){ if(part.name().equals(name)){ return part.ordinal(); } }
+        throw new GdxRuntimeException("Unknown part " + name + " in " + file.path());
+    }
+
+    /*
+    Input: Enum values, name from the script and the file for the error message
+    Output: The value with that name
+    Purpose: Looks up an event or action by name
+    */
+    private static <E extends Enum<E>> E find(E[] values, String name, FileHandle file){
+        for(E value : values){ if(value.name().equals(name)){ return value; } }
+        throw new GdxRuntimeException("Unknown event or action " + name + " in " + file.path());
+    }
+
+    /*
+    The Trigger class is one line of the table, built once when the script is loaded
+     */
+    private static class Trigger {
+        final int part;
+        final Event event;
+        final int count;
+        final int nextPart;
+        final Action[] actions;
+        final int[] values;
+        Trigger nextInSlot;     //Next trigger of the same part waiting for the same event
+
+        Trigger(JsonValue json, Enum<?>[] parts, FileHandle file){
+            part = findPart(parts, json.getString("part"), file);
+            event = find(Event.values(), json.getString("on"), file);
+            count = json.getInt("count", 0);
+            nextPart = json.has("next") ? findPart(parts, json.getString("next"), file) : part;
+            JsonValue actionsJson = json.get("actions");
+            int size = actionsJson == null ? 0 : actionsJson.size;
+            actions = new Action[size];
+            values = new int[size];
+            for(int i = 0; i < size; i++){
+                JsonValue action = actionsJson.get(i);
+                actions[i] = find(Action.values(), action.getString("do"), file);
+                values[i] = action.getInt("value", 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+The LevelSimulation class is the headless core of a level. It owns everything that moves, collides
+or keeps score and advances it in fixed time steps. The screens only feed it the frame time, pass on
+the player's input and draw what it holds.
+
+Nothing in here polls Gdx.input or touches the GPU, so the same logic runs at 30, 60 or 144 frames a
+second and can be stepped thousands of times a second without a window.
+
+Every random number in a level comes from the RandomStreams made from its seed, so a level built with
+the same seed and fed the same input plays out the same way every time.
+
+Levels that scroll keep their obstacles at fixed world coordinates and move the view instead, scrollX is
+the world x of the left edge of the screen. The spaceship moves along with it so it stays in the same place
+on screen. Once scrollX gets far enough from 0 the level moves everything back by the same amount, floats
+lose precision the further they get from 0 and an endless run can scroll for hours.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.math.MathUtils;
+
+abstract class LevelSimulation {
+
+    /*
+    Dimensions -- Units the world has
+     */
+    static final float WORLD_WIDTH = 320;
+    static final float WORLD_HEIGHT = 480;
+
+    /*
+    Timing -- All of the per tick speeds in the game were tuned at 60 frames a second
+     */
+    static final float TIME_STEP = 1/60f;               //Length of one tick
+    private static final float MAX_FRAME_TIME = 0.25f;  //Longest frame we will catch up on, stops a hitch from snowballing
+    private float accumulator = 0;                      //Frame time that hasn't been simulated yet
+    private long tickCount = 0;                         //Ticks run since the level was created
+
+    /*
+    Scrolling -- Where the view is in the world
+     */
+    private static final float REBASE_DISTANCE = 8192;  //Scroll after which the world is moved back to 0
+    private float scrollX = 0;                          //World x of the left edge of the screen
+
+    /*
+    User spaceship object
+     */
+    SpaceCraft spaceCraft;
+
+    /*
+    Random numbers, one stream per part of the level
+     */
+    private final long seed;                    //Seed the level was made with
+    final RandomStream obstacleRandom;          //Anything the player flies around or collects
+    final RandomStream enemyRandom;             //What the enemies decide to do
+    final RandomStream sceneryRandom;           //Background objects
+
+    /*
+    Input: Seed of the level
+    Output: Void
+    Purpose: Creates the random streams of the level out of the seed
+    */
+    LevelSimulation(long seed){
+        this.seed = seed;
+        obstacleRandom = new RandomStream(seed, RandomStream.OBSTACLES);
+        enemyRandom = new RandomStream(seed, RandomStream.ENEMIES);
+        sceneryRandom = new RandomStream(seed, RandomStream.SCENERY);
+    }
+
+    /*
+    Flags
+     */
+    private boolean flyUpFlag = false;          //Player pressed up since the last tick
+    private boolean levelCompleteFlag = false;  //Tells the screen the level has been beat
+
+    private InputReplay replay;                 //Records the input of every tick, null if nothing is recorded
+    private FrameProfiler profiler;             //Times the collision checks, null if nothing is timed
+
+    /*
+    Deaths -- Kept for the batch runs that tune the levels
+     */
+    private int deaths = 0;                     //Times the player died since the level was created
+    private long attemptStart = 0;              //Tick the current attempt started on
+    private long lastAttemptTicks = 0;          //Ticks the last attempt lasted before the player died
+    private float lastDeathY = 0;               //Height the player died at
+
+    /*
+    Input: Delta, frame time
+    Output: Number of ticks that were run
+    Purpose: Adds the frame time to the accumulator and runs as many fixed ticks as fit into it
+    */
+    int advance(float delta){
+        if(levelCompleteFlag){return 0;}
+        accumulator += Math.min(delta, MAX_FRAME_TIME);
+        int steps = 0;
+        while(accumulator >= TIME_STEP && !levelCompleteFlag){
+            step();
+            accumulator -= TIME_STEP;
+            steps++;
+        }
+        return steps;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Runs exactly one tick, used directly by the headless runners
+    */
+    void step(){
+        EntityTrace.setTick(tickCount);
+        tick(TIME_STEP);
+        if(replay != null){ replay.record(tickCount, flyUpFlag); }
+        tickCount++;
+        flyUpFlag = false;
+    }
+
+    /*
+    Input: Delta, always TIME_STEP
+    Output: Void
+    Purpose: Updates every object in the level by one tick
+    */
+    abstract void tick(float delta);
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Puts the level back to its starting state after the player dies
+    */
+    abstract void restart();
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Called when the player dies, keeps where and when and then restarts the level
+    */
+    void die(){
+        deaths++;
+        lastAttemptTicks = tickCount + 1 - attemptStart;
+        attemptStart = tickCount + 1;
+        lastDeathY = spaceCraft.getY();
+        restart();
+    }
+
+    /*
+    Input: Void
+    Output: Where and when the player died
+    Purpose: Getters for the batch runs
+    */
+    int getDeaths(){ return deaths; }
+
+    long getLastAttemptTicks(){ return lastAttemptTicks; }
+
+    float getLastDeathY(){ return lastDeathY; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Lets the screen tell the simulation the player pressed up, used on the next tick
+    */
+    void queueFlyUp(){ flyUpFlag = true; }
+
+    /*
+    Input: Recording to add the ticks to, made with the seed of this level before its first tick
+    Output: Void
+    Purpose: Starts recording the input so the level can be played back
+    */
+    void record(InputReplay replay){ this.replay = replay; }
+
+    /*
+    Input: Profiler of the game
+    Output: Void
+    Purpose: Lets the profiler overlay time the collision checks of the level
+    */
+    void setProfiler(FrameProfiler profiler){ this.profiler = profiler; }
+
+    /*
+    Input: Phase
+    Output: Void
+    Purpose: Starts and stops timing a part of the tick, does nothing without a profiler
+    */
+    void startTiming(FrameProfiler.Phase phase){ if(profiler != null){ profiler.start(phase); } }
+
+    void stopTiming(FrameProfiler.Phase phase){ if(profiler != null){ profiler.stop(phase); } }
+
+    /*
+    Input: Void
+    Output: Long
+    Purpose: Returns how many ticks have been run
+    */
+    long getTickCount(){ return tickCount; }
+
+    /*
+    Input: Void
+    Output: Long
+    Purpose: Returns the seed the level was made with, building it again with the seed repeats it
+    */
+    long getSeed(){ return seed; }
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the world x of the left edge of the screen, the screen moves its camera there
+    */
+    float getScrollX(){ return scrollX; }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves the view right through the world, the spaceship moves with it and nothing else has to
+    */
+    void scroll(float distance){
+        scrollX += distance;
+        spaceCraft.updatePosition(spaceCraft.getX() + distance, spaceCraft.getY());
+        if(scrollX >= REBASE_DISTANCE){ moveOrigin(scrollX); }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Puts the view back at the start of the world, used when the level restarts
+    */
+    void resetScroll(){ scrollX = 0; }
+
+    /*
+    Input: Distance
+    Output: Void
+    Purpose: Moves the world and the view back by the distance, levels that scroll move their own objects too
+    */
+    void moveOrigin(float distance){
+        scrollX -= distance;
+        spaceCraft.updatePosition(spaceCraft.getX() - distance, spaceCraft.getY());
+    }
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Tells the screen the level has been completed
+    */
+    boolean isLevelComplete(){ return levelCompleteFlag; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Marks the level as done, no more ticks are run after this
+    */
+    void setLevelComplete(){ levelCompleteFlag = true; }
+
+    /*
+    Input: Void
+    Output: SpaceCraft
+    Purpose: Returns the player object so the screen can draw it
+    */
+    SpaceCraft getSpaceCraft(){ return spaceCraft; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position of the spaceship
+    */
+    void updateSpaceship(){
+        spaceCraft.update();
+        if(flyUpFlag) {
+            spaceCraft.flyUp();
+        }
+        blockSpaceshipLeavingTheWorld();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Stops the Circle from going past the bottom of the screen
+    */
+    private void blockSpaceshipLeavingTheWorld(){
+        //Gets the Y, sets the min: Radius away from bottom, max: World Height - Radius
+        spaceCraft.updatePosition(spaceCraft.getX(), MathUtils.clamp(spaceCraft.getY(), spaceCraft.getRadius(), WORLD_HEIGHT - spaceCraft.getRadius()) );
+    }
+}
@@ -0,0 +1,482 @@
+/*
+The LevelThreeSimulation class holds the game logic of the third level, the space warehouse.
+    Boxes float through the warehouse, diving fast enough breaks them open for points or a shield,
+    bombs and the arms of the warehouse bot have to be avoided.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+class LevelThreeSimulation extends LevelSimulation {
+
+    /*
+    Games States dictate how the game should be behaving, we always start in Playing state here
+    */
+    enum PART {PartOne, PartTwo, PartThree, PartFour, PartFive}
+    private static final PART[] PARTS = PART.values();
+    private PART part = PART.PartOne;
+    private LevelScript script;             //Moves the level between parts, read from Scripts/level_three.json
+
+    /*
+    Textures
+     */
+    private TextureRegion spaceCraftTexture;          //Player Texture
+    private TextureRegion progressBarTexture;         //Texture of the progress bar
+    private TextureRegion profileTexture;             //Profile of the talking character
+    private TextureRegion communicationFrameTexture;  //Frame
+    private TextureRegion speedOMeterFrameTexture;
+    private TextureRegion speedOMeterLightsTexture;
+    private TextureRegion boxCollectibleTexture;
+    private TextureRegion boxShieldTexture;
+    private TextureRegion bombTexture;
+    private TextureRegion botTexture;
+    private TextureRegion robotArm;
+    private TextureRegion shieldTexture;
+    private TextureRegion borderTexture;
+    private TextureRegion floatJunkTexture;
+
+    /*
+    User spaceship object
+     */
+    private WarehouseBot warehouseBot;
+    private ConversationBox conversationBox;//Conversation box that is used to talk to the user
+
+    /*
+    Array of the asteroids and collectibles that the user will encounter
+    */
+    private float GAP_BETWEEN_FLOATING_OBJECTS = 200;
+    private CollectibleStore floatingObjects;                                  //Boxes, shields and bombs, the state picks which
+    private ScrollQueue<SpaceBorder> spaceBorders = new ScrollQueue<>();     //Array of asteroids
+    private Array<FloatingJunk> floatingJunksArray = new Array<>();     //Array of asteroids
+    private Pool<SpaceBorder> spaceBorderPool;                          //Boarders that left the screen, reused for new ones
+
+
+    //Background objects we use
+    private ProgressBar progressBar;        //Progress Bar that show user's progress
+    private SpeedOMeter speedOMeter;
+
+    //Timing variables
+    private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
+    private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
+    private int conversationsEnded = 0;                         //Conversations that timed out in the current part
+
+    /*
+    Flags
+     */
+    static final int GOAL = 10;                 //Goal of the level to end
+    private boolean screenOnFlag = true;        //Tells screen that the conversation box is on
+
+    /*
+    Input: AssetManager holding the loaded atlases, seed of the level
+    Output: Void
+    Purpose: Connects the textures and creates the objects the level starts with
+    */
+    LevelThreeSimulation(AssetManager assetManager, long seed){
+        super(seed);
+        showTexture(assetManager);
+        showObjects();
+        showScript();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Loads the script that moves the level between parts
+    */
+    private void showScript(){
+        script = new LevelScript("Scripts/level_three.json", PARTS, new LevelScript.Listener() {
+            @Override
+            public void onPartChanged(int newPart) {
+                part = PARTS[newPart];
+                conversationsEnded = 0;
+            }
+
+            @Override
+            public void onAction(LevelScript.Action action, int value) { doAction(action, value); }
+        });
+    }
+
+    /*
+    Input: Action the script sent and its value
+    Output: Void
+    Purpose: Sets off the events of the new part
+    */
+    private void doAction(LevelScript.Action action, int value){
+        switch (action){
+            //Starts spinning the arm of the robot
+            case START_SPINNING:
+                warehouseBot.setStartSpinning();
+                break;
+            //Turns on communication window
+            case SHOW_CONVERSATION:
+                screenOnFlag = true;
+                break;
+            case COMPLETE_LEVEL:
+                setLevelComplete();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Initializes the objects that are going to be displayed.
+    Mostly giving objects dimension, position and connecting them to textures.
+    */
+    private void showObjects(){
+        //Spaceship creation
+        spaceCraft = new SpaceCraft(spaceCraftTexture);
+        spaceCraft.updatePosition(WORLD_WIDTH/2, WORLD_HEIGHT/2);
+        spaceCraft.setShieldTexture(shieldTexture);
+
+        //Player UI
+        //Progress of stage
+        progressBar = new ProgressBar(progressBarTexture);
+        progressBar.setGoal(GOAL);
+
+        setUpFloatingJunk(50,320,.5);
+        setUpFloatingJunk(100,300, .3);
+        setUpFloatingJunk(200,350,.4);
+        setUpFloatingJunk(300,280,.2);
+
+        warehouseBot = new WarehouseBot(botTexture, robotArm, enemyRandom);
+
+        speedOMeter = new SpeedOMeter(speedOMeterFrameTexture, speedOMeterLightsTexture);
+
+        //Talk from NPC
+        conversationBox = new ConversationBox(WORLD_WIDTH, WORLD_HEIGHT, communicationFrameTexture, profileTexture);
+
+        //Pools the boxes and boarders are spawned out of, box pools are indexed by the box state
+        floatingObjects = new CollectibleStore(boxCollectibleTexture, boxShieldTexture, bombTexture);
+        spaceBorderPool = new Pool<SpaceBorder>() {
+            @Override
+            protected SpaceBorder newObject() { return new SpaceBorder(0, borderTexture, borderTexture); }
+        };
+    }
+
+    private void setUpFloatingJunk(float x, float y, double mod){
+        FloatingJunk floatingJunk = new FloatingJunk(floatJunkTexture, sceneryRandom);
+        floatingJunk.setStats(x, y, mod);
+        floatingJunksArray.add(floatingJunk);
+    }
+
+    /*
+    Input: AssetManager holding the loaded atlases
+    Output: Void
+    Purpose: Connects the images to the Texture objects
+    */
+    private void showTexture(AssetManager assetManager){
+        TextureAtlas levelAtlas = assetManager.get("level_three_assets.atlas");
+        TextureAtlas shipAtlas = assetManager.get("ship_assets.atlas");
+        TextureAtlas profileAtlas = assetManager.get("profile_assets.atlas");
+        TextureAtlas uiAtlas = assetManager.get("ui_assets.atlas");
+
+        //Spaceship
+        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
+        shieldTexture = shipAtlas.findRegion("Sheild");
+
+        floatJunkTexture = levelAtlas.findRegion("Mess");
+
+        //SpeedOMeter
+        speedOMeterFrameTexture = uiAtlas.findRegion("SpeedOMeter");
+        speedOMeterLightsTexture = uiAtlas.findRegion("SpeedOMeterLights");
+
+        botTexture = levelAtlas.findRegion("RobotPacket");
+        robotArm = levelAtlas.findRegion("RobotArm");
+
+        TextureRegion levelThreePack = levelAtlas.findRegion("AsstetPackLvl3");
+        TextureRegion[][] breakDownTexture = AnimationCache.getTiles(levelThreePack, 40, 40); //Breaks down the texture into tiles
+        boxCollectibleTexture = breakDownTexture[0][0];
+        boxShieldTexture = breakDownTexture[0][1];
+        bombTexture = breakDownTexture[0][2];
+
+        //Communication Frame
+        communicationFrameTexture = uiAtlas.findRegion("CommunicationFrame");
+        profileTexture = profileAtlas.findRegion("WearhouseProfile");
+
+        //
+        borderTexture = levelAtlas.findRegion("LightingBorder");
+
+        //Progress Bar
+        progressBarTexture = uiAtlas.findRegion("Score");
+    }
+
+    /*
+    Input: Void
+    Output: Objects the screen draws
+    Purpose: Getters for the screen
+    */
+    PART getPart(){ return part; }
+
+    CollectibleStore getFloatingObjects(){ return floatingObjects; }
+
+    ScrollQueue<SpaceBorder> getSpaceBorders(){ return spaceBorders; }
+
+    Array<FloatingJunk> getFloatingJunks(){ return floatingJunksArray; }
+
+    WarehouseBot getWarehouseBot(){ return warehouseBot; }
+
+    SpeedOMeter getSpeedOMeter(){ return speedOMeter; }
+
+    ProgressBar getProgressBar(){ return progressBar; }
+
+    ConversationBox getConversationBox(){ return conversationBox; }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Central function that starts all the other update functions
+    */
+    @Override
+    void tick(float delta){
+        if(screenOnFlag) {updateCommunicationScreenTime(delta);}   //Counts down till screen goes down
+        updateFloatingJunk();
+        updateConversationBox(delta);                   //Shows or hides the conversation box
+        startTiming(FrameProfiler.Phase.COLLISION);
+        checkForArmCollision();                          //Check for death collision
+        stopTiming(FrameProfiler.Phase.COLLISION);
+        updateCollectibles();                           //Update the position of collectibles
+        if(part != PART.PartOne){updateSpaceBoarders();}
+        updateSpaceship();                       //Updates the position of the spaceship
+        warehouseBot.update(delta);
+        speedOMeter.updateState(spaceCraft.getSpeed());
+    }
+
+    private void updateFloatingJunk(){
+        if(floatingJunksArray.size > 1){
+            for(FloatingJunk floatingJunk : floatingJunksArray){floatingJunk.updatePosition(); }
+        }
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Tells the conversation box to open or close
+    */
+    private void updateConversationBox(float delta){
+        //Tells the screen to turn on and which text output to give
+        if(screenOnFlag){ conversationBox.update(delta, 0);}
+        else{conversationBox.update(delta, 1);}
+
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Counts down until the communication screen turns off
+    */
+    private void updateCommunicationScreenTime(float delta) {
+        moveTimer -= delta;
+        if (moveTimer <= 0) {
+            moveTimer = MOVE_TIME;
+            screenOnFlag = false;
+            script.fire(LevelScript.Event.CONVERSATION_ENDED, ++conversationsEnded);
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if the player collided with any enemy objects if they did restarts
+    */
+    private void checkForArmCollision(){
+        if(warehouseBot.isColliding(spaceCraft)){
+            if(spaceCraft.getShieldFlag()){
+                spaceCraft.setShieldFlag();
+                spaceCraft.flyUp();
+            }
+            else {
+                die();
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Central collectible update method. Updates if we need a new collectible or if one needs to be removed
+    */
+    private void updateCollectibles(){
+        checkIfNeedNewFloatingObject();
+        updateCollectiblePosition();
+        startTiming(FrameProfiler.Phase.COLLISION);
+        checkForFloatingObjectCollision();
+        stopTiming(FrameProfiler.Phase.COLLISION);
+        removeNewFloatingObject();
+    }
+
+    private void checkIfNeedNewFloatingObject(){
+        //No collectible exits
+        if (floatingObjects.isEmpty()) {
+            createNewFloatingObject();
+        }
+        //collectible is distance away
+        else {
+            if (floatingObjects.getX(floatingObjects.getSize() - 1) < WORLD_WIDTH - GAP_BETWEEN_FLOATING_OBJECTS) {
+                createNewFloatingObject();
+            }
+        }
+    }
+
+    private void createNewFloatingObject(){
+        int choice = obstacleRandom.random(0,2);
+        if(choice == 1 && spaceCraft.getShieldFlag()){ choice = 0;}   //Only one shield at a time
+        int index = floatingObjects.add(320, 100 - obstacleRandom.random(5), CollectibleStore.RADIUS, choice);
+        floatingObjects.setBounds(index);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Gets rid of the collectible from array that went past the screen
+    */
+    private void removeNewFloatingObject(){
+        if(!floatingObjects.isEmpty()){
+            if(floatingObjects.getX(0) < - CollectibleStore.RADIUS){ floatingObjects.removeFirst(); }
+        }
+    }
+
+    private void updateCollectiblePosition() {
+        floatingObjects.scroll(2);
+        floatingObjects.oscillate();
+    }
+
+    private void checkForFloatingObjectCollision(){
+        if (!floatingObjects.isEmpty()) {
+            //Only the boxes around the spaceship's x are tested, a removed box skips the one after it same as before
+            for (int i = floatingObjects.first(spaceCraft); i < floatingObjects.getSize() && floatingObjects.inReach(i, spaceCraft); i++) {
+                if(floatingObjects.isColliding(i, spaceCraft)){
+                    //If collides with bomb, end level
+                    if(floatingObjects.getState(i) == 2){
+                        if(spaceCraft.getShieldFlag()){
+                           spaceCraft.setShieldFlag();
+                           floatingObjects.removeIndex(i);
+                        }
+                        else {
+                            die();
+                        }
+                    }
+                    else{
+                        //If collides while speed is enough to break; breaks box
+                        if(speedOMeter.getState() == 2){
+                            //Breaks shield box, gets shield
+                            if(floatingObjects.getState(i) == 1){
+                                spaceCraft.setShieldFlag();
+                                floatingObjects.removeIndex(i);
+                            }
+                            //Breaks collectible box, gets point
+                            else {
+                                floatingObjects.removeIndex(i);
+                                progressBar.update();
+                                script.fire(LevelScript.Event.SCORE, progressBar.getScore()); }
+                        }
+                        //Bounce off the box
+                        else {
+                            //If collides on top of box
+                            if(spaceCraft.getY() > floatingObjects.getY(i)){ spaceCraft.flyUp(); }
+                            //If Collides on bottom
+                            else{ spaceCraft.flyDown(); }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose:Central function for updating the space boarders
+    */
+    private void updateSpaceBoarders(){
+        checkIfRemoveSpaceBoarder();
+        checkIfNewBoarderIsNeeded();
+        updateSpaceBoarderPosition();
+        startTiming(FrameProfiler.Phase.COLLISION);
+        checkForSpaceBoarderCollision();
+        stopTiming(FrameProfiler.Phase.COLLISION);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new set of boarders
+    */
+    private void createNewSpaceBoarder(float initialX){
+        SpaceBorder spaceBorder = spaceBorderPool.obtain();
+        spaceBorder.setX(initialX);
+        spaceBorders.add(spaceBorder);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if there is need to create a new boarder
+    */
+    private void checkIfNewBoarderIsNeeded(){
+        //If no boarder on screen exits
+        if (spaceBorders.size == 0) { createNewSpaceBoarder(0); }
+        //If the there is only one make another one
+        else if (spaceBorders.size == 1){ createNewSpaceBoarder(WORLD_WIDTH);}
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Gets rid of the space boarder that's off the screen
+    */
+    private void checkIfRemoveSpaceBoarder(){
+        if(spaceBorders.size > 0){
+            SpaceBorder firstSpaceBorder = spaceBorders.first();
+            if(firstSpaceBorder.getX() <= -WORLD_WIDTH){
+                spaceBorderPool.free(spaceBorders.removeFirst());
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position of the boarders
+    */
+    private void updateSpaceBoarderPosition(){ for(SpaceBorder spaceBorder : spaceBorders){ spaceBorder.updatePosition(); }}
+
+    private void checkForSpaceBoarderCollision(){
+        for (int i = SweepAndPrune.first(spaceBorders, spaceCraft); i < spaceBorders.size && SweepAndPrune.inReach(spaceBorders.get(i), spaceCraft); i++) {
+            SpaceBorder spaceBorder = spaceBorders.get(i);
+            if (spaceBorder.isColliding(spaceCraft)) {
+                if (spaceCraft.getShieldFlag()) {
+                    spaceCraft.setShieldFlag();
+                    if(spaceCraft.getY() < 100) {spaceCraft.flyUp();}
+                    else{ spaceCraft.flyDown();}
+                }
+                else { die(); }
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Restart the variables to initial position and removes all flowers from array.
+    */
+    @Override
+    void restart(){
+        spaceCraft.updatePosition(WORLD_WIDTH/2,WORLD_HEIGHT/2);
+        spaceCraft.restart();
+        floatingObjects.clear();        //Restart can be called from inside the collision loop, which stops once it's empty
+        spaceBorders.freeAll(spaceBorderPool);
+        warehouseBot.restart();
+        progressBar.restart();
+        script.restart();
+        moveTimer = MOVE_TIME;
+        screenOnFlag = true;
+    }
+}
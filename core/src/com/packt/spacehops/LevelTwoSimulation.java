@@ -0,0 +1,479 @@
+/*
+The LevelTwoSimulation class holds the game logic of the second level, the wormhole.
+    The dragon chases the player through the wormhole, every time the dragon stops to attack it
+    drops a collectible, collecting enough of them finishes the level.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+
+class LevelTwoSimulation extends LevelSimulation {
+
+    /*
+    Games States dictate how the game should be behaving, we always start in Playing state here
+    */
+    enum PART {PartOne, PartTwo, PartThree, PartFour, PartFive}
+    private static final PART[] PARTS = PART.values();
+    private PART part = PART.PartOne;
+    private LevelScript script;             //Moves the level between parts, read from Scripts/level_two.json
+
+    /*
+    Textures
+     */
+    private TextureRegion spaceCraftTexture;          //Player Texture
+    private TextureRegion collectibleTexture;         //Collectible Texture
+    private TextureRegion scaleTexture;               //Trail behind the "Dragon"
+    private TextureRegion fireTexture;                //Texture of the "Fire" attack
+    private TextureRegion laserTexture;               //Texture of the laser
+    private TextureRegion borderTexture;              //Texture of the bounds on top and bottom of screen
+    private TextureRegion dragonHeadTexture;          //Texture of the enemy
+    private TextureRegion progressBarTexture;         //Texture of the progress bar
+    private TextureRegion profileTexture;             //Profile of the talking character
+    private TextureRegion communicationFrameTexture;  //Frame
+
+    /*
+    User spaceship object
+     */
+    private Dragon dragon;                  //Enemy object
+    private ConversationBox conversationBox;//Conversation box that is used to talk to the user
+
+    /*
+    Array of the asteroids and collectibles that the user will encounter
+     */
+    private ScrollQueue<SpaceBorder> spaceBorders = new ScrollQueue<>();     //Array of asteroids
+    private CollectibleStore collectibles;                      //Collectibles the dragon drops
+    private static final int PORTAL_LINES = 5;                  //Amount of background lines on screen
+    private PortalLineStore portalLines = new PortalLineStore(PORTAL_LINES); //Keeps track of the background lines
+    private Pool<SpaceBorder> spaceBorderPool;                  //Boarders that left the screen, reused for new ones
+    private static final float COLLECTIBLE_RADIUS = 10f;        //Collectibles of this level are smaller
+
+    //Background objects we use
+    private ProgressBar progressBar;        //Progress Bar that show user's progress
+
+    //Timing variables
+    private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
+    private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
+    private int conversationsEnded = 0;                         //Conversations that timed out in the current part
+
+    /*
+    Flags
+     */
+    static final int GOAL = 6;                  //Goal of the level to end
+    private boolean screenOnFlag = true;        //Tells screen that the conversation box is on
+    private boolean sputnikAliveFlag = true;    //Tells screen to show the sputnik texture
+    private boolean sputnikMovementFlag = false; //Tells sputnik to move up and down, true = up, false = down
+    private float sputnikY = 240;               //Base y position of the Sputnik
+    private float sputnikWidth;                 //Width of the sputnik texture, the dragon eats it once it reaches it
+
+    /*
+    Input: AssetManager holding the loaded atlases, seed of the level
+    Output: Void
+    Purpose: Connects the textures and creates the objects the level starts with
+    */
+    LevelTwoSimulation(AssetManager assetManager, long seed){
+        super(seed);
+        showTexture(assetManager);
+        showObjects();
+        showScript();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Loads the script that moves the level between parts
+    */
+    private void showScript(){
+        script = new LevelScript("Scripts/level_two.json", PARTS, new LevelScript.Listener() {
+            @Override
+            public void onPartChanged(int newPart) {
+                part = PARTS[newPart];
+                conversationsEnded = 0;
+            }
+
+            @Override
+            public void onAction(LevelScript.Action action, int value) { doAction(action, value); }
+        });
+    }
+
+    /*
+    Input: Action the script sent and its value
+    Output: Void
+    Purpose: Sets off the events of the new part
+    */
+    private void doAction(LevelScript.Action action, int value){
+        switch (action){
+            //Brings the dragon in
+            case START_DRAGON:
+                dragon.setStart();
+                break;
+            //Changes the attacks of the dragon
+            case DRAGON_PHASE:
+                dragon.setPhase(value);
+                break;
+            //Turns on communication window
+            case SHOW_CONVERSATION:
+                screenOnFlag = true;
+                break;
+            case COMPLETE_LEVEL:
+                setLevelComplete();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Initializes the objects that are going to be displayed.
+    Mostly giving objects dimension, position and connecting them to textures.
+    */
+    private void showObjects(){
+        //Spaceship creation
+        spaceCraft = new SpaceCraft(spaceCraftTexture);
+        spaceCraft.updatePosition(2*WORLD_WIDTH/3, WORLD_HEIGHT/2);
+
+        //Enemy set up
+        dragon = new Dragon(dragonHeadTexture, scaleTexture, fireTexture, laserTexture, enemyRandom);
+
+        //Player UI
+            //Progress of stage
+        progressBar = new ProgressBar(progressBarTexture);
+        progressBar.setGoal(GOAL);
+            //Talk from NPC
+        conversationBox = new ConversationBox(WORLD_WIDTH, WORLD_HEIGHT, communicationFrameTexture, profileTexture);
+
+        //Pool the boarders are spawned out of and the store of the collectibles
+        spaceBorderPool = new Pool<SpaceBorder>() {
+            @Override
+            protected SpaceBorder newObject() { return new SpaceBorder(0, borderTexture, borderTexture); }
+        };
+        collectibles = new CollectibleStore(collectibleTexture);
+    }
+
+    /*
+    Input: AssetManager holding the loaded atlases
+    Output: Void
+    Purpose: Connects the images to the Texture objects
+    */
+    private void showTexture(AssetManager assetManager){
+        TextureAtlas levelAtlas = assetManager.get("level_two_assets.atlas");
+        TextureAtlas shipAtlas = assetManager.get("ship_assets.atlas");
+        TextureAtlas profileAtlas = assetManager.get("profile_assets.atlas");
+        TextureAtlas uiAtlas = assetManager.get("ui_assets.atlas");
+
+        //Spaceship
+        spaceCraftTexture = shipAtlas.findRegion("SpaceshipPack");
+
+        //Collectible
+        collectibleTexture = uiAtlas.findRegion("CollectiblePack");
+
+        //Enemy
+        dragonHeadTexture = levelAtlas.findRegion("DragonPack");
+        laserTexture = levelAtlas.findRegion("Laser");
+        fireTexture = levelAtlas.findRegion("CloudPack");
+        scaleTexture = levelAtlas.findRegion("TearPack");
+        borderTexture = levelAtlas.findRegion("CloudBoarder");
+
+        //Background
+        sputnikWidth = levelAtlas.findRegion("Spudnik").getRegionWidth();
+
+        //Communication Frame
+        communicationFrameTexture = uiAtlas.findRegion("CommunicationFrame");
+        profileTexture = profileAtlas.findRegion("RussianPack");
+
+        //Progress Bar
+        progressBarTexture = uiAtlas.findRegion("Score");
+    }
+
+    /*
+    Input: Void
+    Output: Objects the screen draws
+    Purpose: Getters for the screen
+    */
+    PART getPart(){ return part; }
+
+    Dragon getDragon(){ return dragon; }
+
+    ScrollQueue<SpaceBorder> getSpaceBorders(){ return spaceBorders; }
+
+    CollectibleStore getCollectibles(){ return collectibles; }
+
+    PortalLineStore getPortalLines(){ return portalLines; }
+
+    ProgressBar getProgressBar(){ return progressBar; }
+
+    ConversationBox getConversationBox(){ return conversationBox; }
+
+    boolean getSputnikAliveFlag(){ return sputnikAliveFlag; }
+
+    float getSputnikY(){ return sputnikY; }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Central function that starts all the other update functions
+    */
+    @Override
+    void tick(float delta){
+        updateSputnik();                                //Checks if sputnik should be displayed
+        if(screenOnFlag) {updateCommunicationScreenTime(delta);}   //Counts down till screen goes down
+        updateConversationBox(delta);                   //Shows or hides the conversation box
+        updatePortalLines();                            //Updates the background line position
+        startTiming(FrameProfiler.Phase.COLLISION);
+        updateCheckForDeath();                          //Check for death collision
+        stopTiming(FrameProfiler.Phase.COLLISION);
+        updateDragon(delta);                            //Updates the action and position of enemy
+        updateCollectibles();                           //Update the position of collectibles
+        updateSpaceBoarders();                          //Updates player with progress through the stage
+        updateSpaceship();                       //Updates the position of the spaceship
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position and turns off texture if "killed"
+    */
+    private void updateSputnik(){
+        updateSputnikPosition();
+        if(dragon.getX() + dragon.getWidth() >= WORLD_WIDTH/4 + sputnikWidth){sputnikAliveFlag = false;}
+    }
+
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the State and position of the of the sputnik
+    */
+    private void updateSputnikPosition(){
+        //oscillating_horizontal : true = up, false = down]
+        if(sputnikY == 250){
+            sputnikMovementFlag = false;}
+        else if(sputnikY == 230){
+            sputnikMovementFlag = true;}
+
+        if(sputnikMovementFlag){ sputnikY += 1; }
+        else{ sputnikY -= 1; }
+    }
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Tells the conversation box to open or close
+    */
+    private void updateConversationBox(float delta){
+        //Tells the screen to turn on and which text output to give
+        if(screenOnFlag){ conversationBox.update(delta, 0);}
+        else{conversationBox.update(delta, 1);}
+
+    }
+
+    /*
+    Input: Delta, timing
+    Output: Void
+    Purpose: Counts down until the communication screen turns off
+    */
+    private void updateCommunicationScreenTime(float delta) {
+        moveTimer -= delta;
+        if (moveTimer <= 0) {
+            moveTimer = MOVE_TIME;
+            screenOnFlag = false;
+            script.fire(LevelScript.Event.CONVERSATION_ENDED, ++conversationsEnded);
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if the player collided with any enemy objects if they did restarts
+    */
+    private void updateCheckForDeath(){
+        //Checks if the player touched the boarders
+        if(SweepAndPrune.findColliding(spaceBorders, spaceCraft) != null){die();}
+        //Checks if the player touched the enemy dragon or any of it's attacks
+        else if(dragon.isColliding(spaceCraft)){die();}
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Central update dragon, all of the dragon updates are internal
+    */
+    private void updateDragon(float delta){ dragon.update(delta);}
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Central collectible update method. Updates if we need a new collectible or if one needs to be removed
+    */
+    private void updateCollectibles(){
+        checkIfNewCollectibleIsNeeded();
+        removeCollectible();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if there is needs to create a new collectible, creates one once the dragon
+        passes over the player y line
+    */
+    private void checkIfNewCollectibleIsNeeded(){
+        if(dragon.getX() + dragon.getWidth()/2 >= 2*WORLD_WIDTH/3 && collectibles.isEmpty()){
+            createNewCollectible();
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new collectible
+    */
+    private void createNewCollectible(){
+        //Random point under the top of the dragon
+        float y = dragon.getCentralY() + dragon.getHeight() - obstacleRandom.random(dragon.getHeight());
+        collectibles.add(2*WORLD_WIDTH/3, y, COLLECTIBLE_RADIUS, 0);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Removes a collectible if it was touched, updates the score and if score is equal to goal
+    tells level to end
+    */
+    private void removeCollectible(){
+        for(int i = 0; i < collectibles.getSize(); i++){
+            //If space craft collides removes collectible and increases score
+            if (collectibles.isColliding(i, spaceCraft)) {
+                collectibles.removeIndex(i--);
+                progressBar.update();
+                //Moves the dragon to its next phase, the script ends the level once the score reaches the goal
+                script.fire(LevelScript.Event.SCORE, progressBar.getScore());
+            }
+        }
+    }
+
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Central method for updating the portal lines
+    */
+    private void updatePortalLines(){
+        checkIfNewPortalLineIsNeeded();     //Checks if we need more
+        if(portalLines.getSize() > 0) {
+            updatePortalLinePosition();         //Updates their position
+            removePortalLine();                 //Removes liens that are off screen
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if we need more lines, if we do makes more
+    */
+    private void checkIfNewPortalLineIsNeeded(){ if(portalLines.getSize() < PORTAL_LINES){createPortalLine();} }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new line
+    */
+    private void createPortalLine(){
+        float height = obstacleRandom.random(1,3);       //Sets a random height of the line
+        float width = obstacleRandom.random(16,64);      //Sets a random width of the height
+        float y = obstacleRandom.random(WORLD_HEIGHT);   //Sets a random position on the screen
+        portalLines.add(WORLD_WIDTH, y, width, height, WORLD_WIDTH/width);  //Speed is a ratio between the world and the width of the line
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position of the line with the speed being a ration between the width of line and world
+    */
+    private void updatePortalLinePosition(){ portalLines.scroll(); }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Removes the lines if they go off screen
+    */
+    private void removePortalLine(){ portalLines.removeOffScreen(); }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose:Central function for updating the space boarders
+    */
+    private void updateSpaceBoarders(){
+        checkIfRemoveSpaceBoarder();
+        checkIfNewBoarderIsNeeded();
+        updateSpaceBoarderPosition();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates a new set of boarders
+    */
+    private void createNewSpaceBoarder(float initialX){
+        SpaceBorder spaceBorder = spaceBorderPool.obtain();
+        spaceBorder.setX(initialX);
+        spaceBorders.add(spaceBorder);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Checks if there is need to create a new boarder
+    */
+    private void checkIfNewBoarderIsNeeded(){
+        //If no boarder on screen exits
+        if (spaceBorders.size == 0) { createNewSpaceBoarder(0); }
+        //If the there is only one make another one
+        else if (spaceBorders.size == 1){ createNewSpaceBoarder(WORLD_WIDTH);}
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Gets rid of the space boarder that's off the screen
+    */
+    private void checkIfRemoveSpaceBoarder(){
+        if(spaceBorders.size > 0){
+            SpaceBorder firstSpaceBorder = spaceBorders.first();
+            if(firstSpaceBorder.getX() <= -WORLD_WIDTH){
+                spaceBorderPool.free(spaceBorders.removeFirst());
+            }
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Updates the position of the boarders
+    */
+    private void updateSpaceBoarderPosition(){ for(SpaceBorder spaceBorder : spaceBorders){ spaceBorder.updatePosition(); }}
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Restart the variables to initial position and removes all flowers from array.
+    */
+    @Override
+    void restart(){
+        spaceCraft.updatePosition(2*WORLD_WIDTH/3,WORLD_HEIGHT/2);
+        spaceCraft.restart();
+        dragon.restart();
+        progressBar.restart();
+        collectibles.clear();
+        script.restart();
+        moveTimer = MOVE_TIME;
+        sputnikAliveFlag = true;
+        sputnikMovementFlag = false;
+        sputnikY = 240;
+        screenOnFlag = true;
+    }
+}
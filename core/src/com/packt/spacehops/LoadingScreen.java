@@ -2,13 +2,10 @@ package com.packt.spacehops;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
-import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -32,9 +29,11 @@ public class LoadingScreen extends ScreenAdapter{
 
     //The
     private final SpaceHops spaceHops;
+    private final ScreenResources resources = new ScreenResources(this);   //Batches, renderers, fonts and stages of this screen
 
     //Flag
     private int levelSelectFlag;
+    private boolean assetsQueuedFlag = false;
 
     /*
     Input: SpaceHops
@@ -68,30 +67,18 @@ public class LoadingScreen extends ScreenAdapter{
         viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);
 
         //Set up wire frame
-        shapeRenderer = new ShapeRenderer();
-
-        loadAssets();
-
+        shapeRenderer = resources.add(new ShapeRenderer());
     }
 
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Queues the assets of the screen being loaded. Done on the first frame instead of in show
+        so the last screen has finished drawing before its atlases are unloaded
+    */
     private void loadAssets(){
-        //Loads all the images from the big image
-        spaceHops.getAssetManager().load("ui_assets.atlas", TextureAtlas.class);
-        if(levelSelectFlag == 0) {
-            spaceHops.getAssetManager().load("main_screen_assets.atlas", TextureAtlas.class);
-            BitmapFontLoader.BitmapFontParameter bitmapFontParameter = new BitmapFontLoader.BitmapFontParameter();
-            bitmapFontParameter.atlasName = "font_assets.atlas";
-            //Adds font to manager
-            spaceHops.getAssetManager().load("Fonts/ButtonFont.fnt", BitmapFont.class, bitmapFontParameter);
-            spaceHops.getAssetManager().load("ui_assets.atlas", TextureAtlas.class);
-        }
-        else if(levelSelectFlag > 0) {
-            spaceHops.getAssetManager().load("ship_assets.atlas", TextureAtlas.class);
-            spaceHops.getAssetManager().load("profile_assets.atlas", TextureAtlas.class);
-            if(levelSelectFlag == 1){spaceHops.getAssetManager().load("level_one_assets.atlas", TextureAtlas.class);}
-            else if(levelSelectFlag == 2){spaceHops.getAssetManager().load("level_two_assets.atlas", TextureAtlas.class);}
-            else if(levelSelectFlag == 3){spaceHops.getAssetManager().load("level_three_assets.atlas", TextureAtlas.class);}
-        }
+        spaceHops.loadScreenAssets(levelSelectFlag);
+        assetsQueuedFlag = true;
     }
 
     /*
@@ -112,7 +99,7 @@ public class LoadingScreen extends ScreenAdapter{
     Purpose: Gets rid of all visuals
     */
     @Override
-    public void dispose() { shapeRenderer.dispose(); }
+    public void dispose() { resources.dispose(); }
 
 
     /*
@@ -121,12 +108,8 @@ public class LoadingScreen extends ScreenAdapter{
     Purpose: Updates the variable of the progress bar, when the whole thing is load it turn on game screen
     */
     private void update() {
-        if (spaceHops.getAssetManager().update()) {
-            if (levelSelectFlag == 0) { spaceHops.setScreen(new StartScreen(spaceHops)); }
-            else if (levelSelectFlag == 1) { spaceHops.setScreen(new AdventureLevelOne(spaceHops)); }
-            else if (levelSelectFlag == 2) { spaceHops.setScreen(new AdventureLevelTwo(spaceHops)); }
-            else if (levelSelectFlag == 3) { spaceHops.setScreen(new AdventureLevelThree(spaceHops)); }
-        }
+        if (!assetsQueuedFlag) { loadAssets(); }
+        if (spaceHops.getAssetManager().update()) { spaceHops.setScreen(spaceHops.createScreen(levelSelectFlag)); }
         else { progress = spaceHops.getAssetManager().getProgress(); }
     }
 
@@ -0,0 +1,146 @@
+/*
+The Moon class is one moon orbiting a Planet. It moves back and forth along a slope past the planet and
+switches between behind and in front of it every time it turns around.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Circle;
+
+class Moon{
+    //Dimensions
+    private float RADIUS;
+    private float x;
+    private float y;
+
+    //Bound and movement speeds
+    private float yMax;
+    private float yMin;
+    private float xSlope;
+    private float ySlope;
+
+    //Circle object
+    private final Circle moon;
+
+    //Image texture
+    private TextureRegion moonTexture;
+
+    //Flags
+    private boolean goingDownFlag = true;
+    private boolean behindFlag;
+
+    /*
+    Input: Passes in bounds, radius for size, texture image and if it starts behind the planet
+    Output: Void
+    Purpose: Create a moon object and it's path
+    */
+    Moon(float xMax, float xMin, float yMax, float yMin, float RADIUS, TextureRegion moonTexture, boolean behindFlag){
+        //Dimensions
+        this.x = xMax;
+        this.y = yMax;
+        this.RADIUS = RADIUS;
+
+        //Sets bounds and calculates the speed of movement between them
+        this.yMax = yMax;
+        this.yMin = yMin;
+        if(xMax > xMin){xSlope = (xMax - xMin)/(xMax);}
+        else{xSlope = (xMax - xMin)/(xMin);}
+        ySlope = (yMax - yMin)/(yMax);
+
+        //Sets planet in front or behind
+        this.behindFlag = behindFlag;
+
+        //Sets texture
+        this.moonTexture = moonTexture;
+
+        //Creates circle object
+        moon = new Circle(x, y, RADIUS);
+    }
+
+    /*
+    Input: Void
+    Output: Boolean, true if the moon switched between behind and in front of the planet
+    Purpose: Function that updates the variables
+    */
+    boolean update(){
+        boolean switchedFlag = updateDirection();
+        setPosition();
+        moon.setX(x);
+        moon.setY(y);
+        return switchedFlag;
+    }
+
+    /*
+    Input: Void
+    Output: Boolean, true if it switched sides
+    Purpose: Keeps track of where on path the planet is on and if it reaches a bound it changes
+    directions
+    */
+    private boolean updateDirection(){
+        //
+        if(y < yMin){
+            goingDownFlag = false;
+            updateBehind();
+            return true;
+        }
+        else if(y > yMax){
+            goingDownFlag = true;
+            updateBehind();
+            return true;
+        }
+        return false;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Changes the behind to opposite of itself
+    */
+    private void updateBehind(){behindFlag = !behindFlag; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: changes the x and y position based on which direction the moon is going
+    */
+    private void setPosition(){
+        //Going down
+        if(goingDownFlag){
+            x -= xSlope;
+            y -= ySlope;
+        }
+        //Going up
+        else {
+            x += xSlope;
+            y += ySlope;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Returns the behindFlag
+    */
+    boolean getBehind(){return behindFlag;}
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the moon
+    */
+    void draw(SpriteBatch batch) {
+        batch.draw(moonTexture, moon.x - RADIUS, moon.y - RADIUS, 2*moon.radius,2*moon.radius);
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Draws the wireframe of the moon
+    */
+    void drawDebug(ShapeRenderer shapeRenderer) {
+        shapeRenderer.circle(moon.x, moon.y, moon.radius);
+    }
+}
\ No newline at end of file
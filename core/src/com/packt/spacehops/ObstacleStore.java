@@ -0,0 +1,209 @@
+/*
+The ObstacleStore class is the base of the stores that keep the obstacles of a level as columns of primitive
+arrays instead of one object per obstacle. Entry i of every column together make up obstacle i, so every x
+sits next to the other x's in memory and moving, animating or testing all of them is one tight loop over a
+float array. Adding or removing an obstacle never creates or frees an object.
+
+    Obstacles come in on the right and leave on the left, so the live entries are kept as one run of slots
+    from start up to end. Taking the oldest one off only moves start, and the run is slid back to slot 0
+    once it reaches the end of the arrays, or the arrays are doubled if they're more than half full. The
+    loops of the stores go from start to end without wrapping around, unlike the ScrollQueue.
+
+    Outside the store obstacles are looked up by their index counting from the oldest one, like the queue.
+    Every obstacle also gets an id when it's added that stays the same while it's in the store, for code
+    that has to follow one obstacle from tick to tick while the ones before it leave.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.math.Circle;
+
+abstract class ObstacleStore {
+
+    protected int start = 0;        //Slot of the oldest obstacle
+    protected int end = 0;          //Slot after the newest obstacle
+    private int[] id;               //Id of the obstacle in each slot
+    private int nextId = 0;         //Id the next obstacle gets
+
+    /*
+    Input: How many obstacles to make room for up front
+    Output: Void
+    Purpose: Creates the id column, the store creates its own columns with the same capacity
+    */
+    ObstacleStore(int capacity){ id = new int[Math.max(1, capacity)]; }
+
+    /*
+    Input: Void
+    Output: Int
+    Purpose: Returns how many obstacles are in the store
+    */
+    int getSize(){ return end - start; }
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Returns true if there is nothing in the store
+    */
+    boolean isEmpty(){ return end == start; }
+
+    /*
+    Input: Index counting from the oldest obstacle
+    Output: Int
+    Purpose: Returns the id the obstacle got when it was added
+    */
+    int getId(int index){ return id[start + index]; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Takes the oldest obstacle out, constant time no matter how many are in the store
+    */
+    void removeFirst(){
+        if(start == end){ throw new IllegalStateException("Store is empty."); }
+        start++;
+        if(start == end){ start = end = 0; }
+    }
+
+    /*
+    Input: Index counting from the oldest obstacle
+    Output: Void
+    Purpose: Takes an obstacle out of the middle, used when the player picks one up before it leaves
+        the screen. Shifts whichever side of it is shorter, the rest keep their order
+    */
+    void removeIndex(int index){
+        int size = end - start;
+        if(index < 0 || index >= size){ throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size); }
+        if(index < size/2){
+            move(start, start + 1, index);
+            start++;
+        }
+        else {
+            int slot = start + index;
+            move(slot + 1, slot, end - slot - 1);
+            end--;
+        }
+        if(start == end){ start = end = 0; }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Empties the store, the arrays are kept for reuse
+    */
+    void clear(){
+        start = 0;
+        end = 0;
+    }
+
+    /*
+    Input: Void
+    Output: Slot the new obstacle goes in
+    Purpose: Makes room at the end of the run for one more obstacle and gives it the next id,
+        the store fills in its columns
+    */
+    protected int addSlot(){
+        if(end == id.length){
+            int size = end - start;
+            if(size > id.length/2){ resize(id.length * 2); }
+            else {
+                move(start, 0, size);
+                start = 0;
+                end = size;
+            }
+        }
+        id[end] = nextId++;
+        return end++;
+    }
+
+    /*
+    Input: Slot the obstacles start at, slot they move to, how many
+    Output: Void
+    Purpose: Moves a run of obstacles in every column
+    */
+    private void move(int from, int to, int count){
+        if(count == 0){ return; }
+        System.arraycopy(id, from, id, to, count);
+        moveColumns(from, to, count);
+    }
+
+    /*
+    Input: New capacity
+    Output: Void
+    Purpose: Gives every column the new capacity with the obstacles starting at slot 0
+    */
+    private void resize(int capacity){
+        id = copy(id, capacity);
+        resizeColumns(capacity);
+        end -= start;
+        start = 0;
+    }
+
+    /*
+    Input: Slot the obstacles start at, slot they move to, how many
+    Output: Void
+    Purpose: Moves a run of obstacles in the columns of the store, System.arraycopy on each of them
+    */
+    protected abstract void moveColumns(int from, int to, int count);
+
+    /*
+    Input: New capacity
+    Output: Void
+    Purpose: Replaces every column of the store with a copy of the new capacity, made by copy
+    */
+    protected abstract void resizeColumns(int capacity);
+
+    /*
+    Input: Column, new capacity
+    Output: Copy of the obstacles in the column, starting at slot 0
+    Purpose: Used when the columns are resized, called before start and end are moved
+    */
+    protected float[] copy(float[] column, int capacity){
+        float[] newColumn = new float[capacity];
+        System.arraycopy(column, start, newColumn, 0, end - start);
+        return newColumn;
+    }
+
+    protected int[] copy(int[] column, int capacity){
+        int[] newColumn = new int[capacity];
+        System.arraycopy(column, start, newColumn, 0, end - start);
+        return newColumn;
+    }
+
+    protected boolean[] copy(boolean[] column, int capacity){
+        boolean[] newColumn = new boolean[capacity];
+        System.arraycopy(column, start, newColumn, 0, end - start);
+        return newColumn;
+    }
+
+    /*
+    Input: Circle of the spaceship, circle of an obstacle
+    Output: Boolean
+    Purpose: Same test as Intersector.overlaps for two circles, without an obstacle having to be a Circle
+    */
+    static boolean overlaps(Circle circle, float x, float y, float radius){
+        float dx = circle.x - x;
+        float dy = circle.y - y;
+        float radiusSum = circle.radius + radius;
+        return dx * dx + dy * dy < radiusSum * radiusSum;
+    }
+
+    /*
+    Input: Circle of the spaceship, rectangle of an obstacle
+    Output: Boolean
+    Purpose: Same test as Intersector.overlaps for a circle and a rectangle, the closest point of the
+        rectangle to the center has to be inside the circle
+    */
+    static boolean overlaps(Circle circle, float x, float y, float width, float height){
+        float closestX = circle.x;
+        float closestY = circle.y;
+        if(circle.x < x){ closestX = x; }
+        else if(circle.x > x + width){ closestX = x + width; }
+        if(circle.y < y){ closestY = y; }
+        else if(circle.y > y + height){ closestY = y + height; }
+        closestX = closestX - circle.x;
+        closestX *= closestX;
+        closestY = closestY - circle.y;
+        closestY *= closestY;
+        return closestX + closestY < circle.radius * circle.radius;
+    }
+}
@@ -1,8 +1,7 @@
 package com.packt.spacehops;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -13,7 +12,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ActorGestureListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
-import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
 class PauseMenu {
 
@@ -40,17 +39,22 @@ class PauseMenu {
     private TextureRegion nextLevelDownTexture;
 
     private boolean pauseFlag = false;      //Tells us if the game is paused
-    private boolean disposeFlag = false;    //Tells us if we need to get rid off the assets
 
     private SpaceHops spaceHops;                      //Sends up to different screen
+    private final ScreenResources resources;          //Resources of the level, the stages are disposed with it
+    private final Viewport viewport;                  //Viewport of the level, the stages are drawn and touched through it
+    private final Batch batch;                        //Batch of the level, the stages draw into it
 
     /*
-    Input: Game, object used to set up screens
+    Input: Game, object used to set up screens, resources, viewport and batch of the level the menu is in
     Output: Void
     Purpose: Constructors, creates all the necessary objects
     */
-    PauseMenu(SpaceHops spaceHops){
+    PauseMenu(SpaceHops spaceHops, ScreenResources resources, Viewport viewport, Batch batch){
         this.spaceHops = spaceHops;
+        this.resources = resources;
+        this.viewport = viewport;
+        this.batch = batch;
         setUp();
         showMenuButton();                   //Creates the menu button
         showPauseMenu();                    //Creates the buttons inside the pause menu
@@ -58,6 +62,27 @@ class PauseMenu {
         showMenuBackground();               //Sets up vars to display the background of the pause menu
     }
 
+    /*
+    Input: Void
+    Output: Stage
+    Purpose: Creates a stage that shares the level's viewport and batch, its root doesn't set a transform of
+    its own so drawing it doesn't flush the batch
+    */
+    private Stage createStage(){
+        Stage stage = resources.add(new Stage(viewport, batch));
+        stage.getRoot().setTransform(false);
+        return stage;
+    }
+
+    /*
+    Input: Stage and the batch the level is drawing with
+    Output: Void
+    Purpose: Draws the buttons of the stage as part of the level's batch, Stage.draw would begin and end it again
+    */
+    void drawStage(Stage stage, Batch batch){
+        if(stage.getRoot().isVisible()){ stage.getRoot().draw(batch, 1); }
+    }
+
     private void setUp(){
         uiAtlas = spaceHops.getAssetManager().get("ui_assets.atlas");
         nextLevelUpTexture = uiAtlas.findRegion("SmallButtonUnpressed");
@@ -71,13 +96,6 @@ class PauseMenu {
     */
     boolean getPauseFlag(){return pauseFlag;}
 
-    /*
-    Input: Void
-    Output: Void
-    Purpose: Tells game to release the assets
-    */
-    boolean getDisposeFlag(){return disposeFlag;}
-
     /*
     Input: Void
     Output: Void
@@ -126,7 +144,7 @@ class PauseMenu {
     */
     private void showMenuButton(){
         //Sets up stage to be screen size
-        menuButtonScreen = new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT));
+        menuButtonScreen = createStage();
         Gdx.input.setInputProcessor(menuButtonScreen);    //Give it the control
 
         //Sets up textures used by the button
@@ -161,7 +179,7 @@ class PauseMenu {
         Set up
          */
         //Sets up the stage object
-        pauseMenuScreen = new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT));
+        pauseMenuScreen = createStage();
 
         //Sets up the textures
         TextureRegion quitUpTexture = uiAtlas.findRegion("SmallButtonUnpressed");
@@ -200,8 +218,6 @@ class PauseMenu {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 spaceHops.setScreen(new LoadingScreen(spaceHops, 0));
-                disposeFlag = !disposeFlag;
-                dispose();
             }
             });
         }
@@ -221,7 +237,7 @@ class PauseMenu {
         Set up
          */
         //Sets up the stage object
-        nextLevelStage = new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT));
+        nextLevelStage = createStage();
 
         //Sets up the textures
         TextureRegion quitUpTexture = uiAtlas.findRegion("SmallButtonUnpressed");
@@ -242,8 +258,6 @@ class PauseMenu {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 spaceHops.setScreen(new LoadingScreen(spaceHops, 0));
-                disposeFlag = !disposeFlag;
-                dispose();
             }
             });
         }
@@ -266,8 +280,6 @@ class PauseMenu {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 chooseLevel(levelChoice);
-                disposeFlag = !disposeFlag;
-                dispose();
             }
             });
         }
@@ -276,13 +288,10 @@ class PauseMenu {
     /*
     Input: Choice of level
     Output: Void
-    Purpose: Picks the level we're going to
+    Purpose: Picks the level we're going to, the LoadingScreen only shows up if the level didn't finish
+    loading in the background
     */
-    private void chooseLevel(int levelChoice){
-        if(levelChoice == 0) {spaceHops.setScreen(new LoadingScreen(spaceHops, 1));}
-        if(levelChoice == 1) {spaceHops.setScreen(new LoadingScreen(spaceHops, 2));}
-        if(levelChoice == 2) {spaceHops.setScreen(new LoadingScreen(spaceHops, 3));}
-    }
+    private void chooseLevel(int levelChoice){ spaceHops.showScreen(levelChoice + 1); }
 
     /*
     Input: Void
@@ -291,33 +300,45 @@ class PauseMenu {
     */
     void draw(SpriteBatch batch){ batch.draw(pauseMenuTexture, menuBackground.x, menuBackground.y, menuBackground.width, menuBackground.height);}
 
-    void drawMenuText(GlyphLayout glyphLayout, BitmapFont bitmapFont, SpriteBatch batch){
-        setUpText(glyphLayout, bitmapFont, batch, "Menu", WORLD_WIDTH - 3*glyphLayout.width/2, WORLD_HEIGHT - glyphLayout.height - 5);
-    }
-
-    void drawPauseText(GlyphLayout glyphLayout, BitmapFont bitmapFont, SpriteBatch batch){
-        setUpText(glyphLayout, bitmapFont, batch, "Resume", WORLD_WIDTH/2 - glyphLayout.width, WORLD_HEIGHT/2 + glyphLayout.height + 5);
-        setUpText(glyphLayout, bitmapFont, batch, "Quit", WORLD_WIDTH/2 - 15, WORLD_HEIGHT/2 - glyphLayout.height - 8);
-    }
-
-    void drawNextLevelText(GlyphLayout glyphLayout, BitmapFont bitmapFont, SpriteBatch batch){
-        setUpText(glyphLayout, bitmapFont, batch, "Next Level", WORLD_WIDTH/2 - glyphLayout.width - 10, WORLD_HEIGHT/2 + glyphLayout.height + 5);
-        setUpText(glyphLayout, bitmapFont, batch, "Quit", WORLD_WIDTH/2 - 15, WORLD_HEIGHT/2 - glyphLayout.height - 8);
+    /*
+    Input: TextCache for the text, batch to draw it with
+    Output: Void
+    Purpose: Draws the text of the menu button, the text never changes so it's only laid out once
+    */
+    void drawMenuText(TextCache textCache, SpriteBatch batch){
+        if(textCache.needsLayout(0)){
+            textCache.clear(0);
+            textCache.addText("Menu", WORLD_WIDTH - 3*textCache.getWidth("Menu")/2, WORLD_HEIGHT - textCache.getHeight() - 5);
+        }
+        textCache.draw(batch);
     }
 
-    private void setUpText(GlyphLayout glyphLayout, BitmapFont bitmapFont, SpriteBatch batch, String string, float x, float y){
-        glyphLayout.setText(bitmapFont, string);
-        bitmapFont.draw(batch, string, x, y);
+    /*
+    Input: TextCache for the text, batch to draw it with
+    Output: Void
+    Purpose: Draws the text of the pause menu buttons, offset by the width of Quit as it has always been
+    */
+    void drawPauseText(TextCache textCache, SpriteBatch batch){
+        if(textCache.needsLayout(0)){
+            textCache.clear(0);
+            textCache.addText("Resume", WORLD_WIDTH/2 - textCache.getWidth("Quit"), WORLD_HEIGHT/2 + textCache.getHeight() + 5);
+            textCache.addText("Quit", WORLD_WIDTH/2 - 15, WORLD_HEIGHT/2 - textCache.getHeight() - 8);
+        }
+        textCache.draw(batch);
     }
 
     /*
-    Input: Void
+    Input: TextCache for the text, batch to draw it with
     Output: Void
-    Purpose: Releases the assets
+    Purpose: Draws the text of the end of level buttons
     */
-    void dispose() {
-        menuButtonScreen.dispose();
-        pauseMenuScreen.dispose();
+    void drawNextLevelText(TextCache textCache, SpriteBatch batch){
+        if(textCache.needsLayout(0)){
+            textCache.clear(0);
+            textCache.addText("Next Level", WORLD_WIDTH/2 - textCache.getWidth("Quit") - 10, WORLD_HEIGHT/2 + textCache.getHeight() + 5);
+            textCache.addText("Quit", WORLD_WIDTH/2 - 15, WORLD_HEIGHT/2 - textCache.getHeight() - 8);
+        }
+        textCache.draw(batch);
     }
 
 }
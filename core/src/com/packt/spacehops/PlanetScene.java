@@ -0,0 +1,98 @@
+/*
+The PlanetScene class is a background made of one or more planets and their moons, drawn back to front.
+    Every planet is given a depth when it's added, the farthest planet is drawn first. Each planet is
+    drawn between its own moons, the ones behind it first and the ones in front of it after, so a moon in
+    front of a far planet can still be covered by a nearer planet.
+
+    The whole scene is kept as one draw order of moons with a slot per planet saying where it goes in
+    that order. The order is only rebuilt when a planet is added or a moon switches sides, so updating
+    and drawing a scene of any number of planets and moons makes no garbage.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+class PlanetScene {
+
+    //Planets from the farthest to the nearest and their depths
+    private final Array<Planet> planets = new Array<>();
+    private final FloatArray depths = new FloatArray();
+
+    //Moons of every planet in the order they are drawn, planet i is drawn right before drawOrder[planetSlots[i]]
+    private final Array<Moon> drawOrder = new Array<>();
+    private int[] planetSlots = new int[4];
+    private boolean depthChangedFlag = false;   //A planet was added or a moon switched sides since drawOrder was built
+
+    /*
+    Input: Planet with its moons already created, depth, bigger is farther away
+    Output: Void
+    Purpose: Adds the planet in front of every planet that is farther away than it
+    */
+    void add(Planet planet, float depth){
+        int index = 0;
+        while(index < depths.size && depths.get(index) >= depth){ index++; }
+        planets.insert(index, planet);
+        depths.insert(index, depth);
+        if(planetSlots.length < planets.size){
+            int[] slots = new int[planets.size * 2];
+            System.arraycopy(planetSlots, 0, slots, 0, planetSlots.length);
+            planetSlots = slots;
+        }
+        depthChangedFlag = true;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Moves every moon and notes if any of them switched sides
+    */
+    void update(){
+        for(int i = 0; i < planets.size; i++){
+            if(planets.get(i).update()){ depthChangedFlag = true; }
+        }
+    }
+
+    /*
+    Input: SpriteBatch
+    Output: Void
+    Purpose: Draws every planet and moon from the farthest to the nearest
+    */
+    void draw(SpriteBatch batch){
+        if(depthChangedFlag){ updateDrawOrder(); }
+        int moon = 0;
+        for(int i = 0; i < planets.size; i++){
+            for(; moon < planetSlots[i]; moon++){ drawOrder.get(moon).draw(batch); }
+            planets.get(i).draw(batch);
+        }
+        for(; moon < drawOrder.size; moon++){ drawOrder.get(moon).draw(batch); }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Lays the moons of every planet out behind and in front of it, reuses the same array so it
+    doesn't allocate once it's big enough to hold every moon
+    */
+    private void updateDrawOrder(){
+        drawOrder.clear();
+        for(int i = 0; i < planets.size; i++){
+            planets.get(i).addMoons(drawOrder, true);
+            planetSlots[i] = drawOrder.size;
+            planets.get(i).addMoons(drawOrder, false);
+        }
+        depthChangedFlag = false;
+    }
+
+    /*
+    Input: ShapeRenderer
+    Output: Void
+    Purpose: Draws the wireframe of every planet and moon
+    */
+    void drawDebug(ShapeRenderer shapeRenderer){
+        for(int i = 0; i < planets.size; i++){ planets.get(i).drawDebug(shapeRenderer); }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+The PortalLineStore class keeps the portal lines of level two, the streaks that fly past in the background.
+    A line is only a rectangle and a speed, each line moves at its own speed so unlike the other stores
+    they don't stay in the order they came in, removeOffScreen goes over all of them.
+ */
+
+package com.packt.spacehops;
+
+class PortalLineStore extends ObstacleStore {
+
+    //Columns, entry i of each array together make up line i
+    private float[] x;
+    private float[] y;
+    private float[] width;
+    private float[] height;
+    private float[] speed;      //How far it moves to the left every tick
+
+    /*
+    Input: How many lines to make room for up front
+    Output: Void
+    Purpose: Creates the empty columns, they grow if more lines are added
+    */
+    PortalLineStore(int capacity){
+        super(capacity);
+        capacity = Math.max(1, capacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        speed = new float[capacity];
+    }
+
+    /*
+    Input: Position, size and speed of the new line
+    Output: Void
+    Purpose: Adds a line at the end of the store
+    */
+    void add(float x, float y, float width, float height, float speed){
+        int slot = addSlot();
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.width[slot] = width;
+        this.height[slot] = height;
+        this.speed[slot] = speed;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Moves every line to the left by its speed
+    */
+    void scroll(){
+        float[] x = this.x;
+        float[] speed = this.speed;
+        for(int i = start; i < end; i++){ x[i] -= speed[i]; }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Removes every line that is fully past the left edge of the screen, the rest keep their order
+    */
+    void removeOffScreen(){
+        for(int i = 0; i < getSize(); i++){
+            if(getX(i) + getWidth(i) < 0){ removeIndex(i--); }
+        }
+    }
+
+    /*
+    Input: Index of the line
+    Output: Float
+    Purpose: Getters used when drawing the lines
+    */
+    float getX(int index){ return x[start + index]; }
+
+    float getY(int index){ return y[start + index]; }
+
+    float getWidth(int index){ return width[start + index]; }
+
+    float getHeight(int index){ return height[start + index]; }
+
+    @Override
+    protected void moveColumns(int from, int to, int count){
+        System.arraycopy(x, from, x, to, count);
+        System.arraycopy(y, from, y, to, count);
+        System.arraycopy(width, from, width, to, count);
+        System.arraycopy(height, from, height, to, count);
+        System.arraycopy(speed, from, speed, to, count);
+    }
+
+    @Override
+    protected void resizeColumns(int capacity){
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        width = copy(width, capacity);
+        height = copy(height, capacity);
+        speed = copy(speed, capacity);
+    }
+}
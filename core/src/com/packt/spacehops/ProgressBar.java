@@ -5,12 +5,11 @@ The Progress Bar displays the progress of the user.
 package com.packt.spacehops;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.StringBuilder;
 
 class ProgressBar {
     //User display variables
@@ -20,6 +19,9 @@ class ProgressBar {
     //Textures
     private final TextureRegion textureRegion;
 
+    //Reused to build the score text when it changes
+    private final StringBuilder scoreText = new StringBuilder();
+
     ProgressBar(TextureRegion textureRegion){
         this.textureRegion = textureRegion;
     }
@@ -63,13 +65,13 @@ class ProgressBar {
     }
 
     /*
-    Input: Batch for textures, Glyph and Bitmap for text
+    Input: Batch for textures, TextCache for the score
     Output: Void
     Purpose: Draws the progress bar, frame and numeric representation of it
     */
-    void draw(SpriteBatch batch, GlyphLayout glyphLayout, BitmapFont bitmapFont){
+    void draw(SpriteBatch batch, TextCache textCache){
         drawFrame(batch);
-        drawScore(batch, glyphLayout, bitmapFont);
+        drawScore(batch, textCache);
     }
 
     /*
@@ -82,15 +84,20 @@ class ProgressBar {
     }
 
     /*
-    Input: Batch for textures, Glyph and Bitmap for text
+    Input: Batch for textures, TextCache for the score
     Output: Void
-    Purpose: Draws the numeric representation
+    Purpose: Draws the numeric representation, only lays it out again when the score or goal changed
     */
-    private void drawScore(SpriteBatch batch, GlyphLayout glyphLayout, BitmapFont bitmapFont){
-        String scoreAsString = (int) score + "/" + (int) goal;
-        glyphLayout.setText(bitmapFont, scoreAsString);
-        bitmapFont.draw(batch, scoreAsString, (float) textureRegion.getRegionWidth()/2 - glyphLayout.width/2,
-                 (float) textureRegion.getRegionHeight()/2 + 4);
+    private void drawScore(SpriteBatch batch, TextCache textCache){
+        int key = (int) goal << 16 | (int) score;
+        if(textCache.needsLayout(key)){
+            scoreText.setLength(0);
+            scoreText.append((int) score).append('/').append((int) goal);
+            textCache.clear(key);
+            textCache.addText(scoreText, (float) textureRegion.getRegionWidth()/2 - textCache.getWidth(scoreText)/2,
+                    (float) textureRegion.getRegionHeight()/2 + 4);
+        }
+        textCache.draw(batch);
     }
 
     /*
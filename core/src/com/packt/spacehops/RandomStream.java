@@ -0,0 +1,143 @@
+/*
+The RandomStream class is a seeded source of random numbers, handed to whatever in a level needs one.
+    Everything used to draw from MathUtils.random, one generator shared by the whole game and seeded from
+    the clock, so no two runs of a level were the same and nothing could be played back. Each level now
+    makes its own streams from one seed, a separate one per part of the game:
+
+        OBSTACLES   Asteroid heights, collectibles, junk and the portal lines, anything the player has to fly around
+        ENEMIES     What the dragon and the robot decide to do next
+        SCENERY     Moon orbits and other things that are only there to look at
+
+    so the same seed plays out the same level, and adding a moon doesn't move every asteroid after it.
+
+    The generator is xorshift128+, the same one RandomXS128 uses, seeded through SplitMix64 so seeds that are
+    close together still start far apart. Its whole state is two longs, set copies another stream's state,
+    which is all it takes to snapshot one and go back to it later.
+ */
+
+package com.packt.spacehops;
+
+final class RandomStream {
+
+    /*
+    Streams, mixed into the seed so each one starts somewhere else
+     */
+    static final int OBSTACLES = 1;
+    static final int ENEMIES = 2;
+    static final int SCENERY = 3;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;     //SplitMix64 step
+    private static final float FLOAT_UNIT = 1f / (1 << 24);           //A float has 24 bits of precision
+
+    private long state0;
+    private long state1;
+
+    /*
+    Input: Seed
+    Output: Void
+    Purpose: Creates a stream that isn't one of a level's, used where any fixed seed will do
+    */
+    RandomStream(long seed){ setSeed(seed); }
+
+    /*
+    Input: Seed of the level, which stream this is
+    Output: Void
+    Purpose: Creates one of the streams of a level
+    */
+    RandomStream(long seed, int stream){ setSeed(seed, stream); }
+
+    /*
+    Input: Seed
+    Output: Void
+    Purpose: Starts the stream over from a seed
+    */
+    void setSeed(long seed){
+        state0 = mix(seed += GOLDEN_GAMMA);
+        state1 = mix(seed + GOLDEN_GAMMA);
+        if(state0 == 0 && state1 == 0){ state1 = GOLDEN_GAMMA; }    //All zero would only ever give zero
+    }
+
+    /*
+    Input: Seed of the level, which stream this is
+    Output: Void
+    Purpose: Starts one of the streams of a level over, like when a new endless run begins
+    */
+    void setSeed(long seed, int stream){ setSeed(seed + stream * GOLDEN_GAMMA); }
+
+    /*
+    Input: Stream to copy
+    Output: Void
+    Purpose: Puts this stream where the other one is, both give the same numbers from here on
+    */
+    void set(RandomStream other){
+        state0 = other.state0;
+        state1 = other.state1;
+    }
+
+    /*
+    Input: Void
+    Output: Long
+    Purpose: Next 64 random bits
+    */
+    long nextLong(){
+        long s1 = state0;
+        long s0 = state1;
+        state0 = s0;
+        s1 ^= s1 << 23;
+        state1 = s1 ^ s0 ^ (s1 >>> 17) ^ (s0 >>> 26);
+        return state1 + s0;
+    }
+
+    /*
+    Input: Bound
+    Output: Int from 0 up to but not including the bound
+    Purpose: Random index or count
+    */
+    int nextInt(int bound){ return (int) (((nextLong() >>> 32) * bound) >>> 32); }
+
+    /*
+    Input: Void
+    Output: Float from 0 up to but not including 1
+    Purpose: Random fraction
+    */
+    float nextFloat(){ return (nextLong() >>> 40) * FLOAT_UNIT; }
+
+    /*
+    Input: Start and end, both included
+    Output: Int
+    Purpose: Same as MathUtils.random(int, int)
+    */
+    int random(int start, int end){ return start + nextInt(end - start + 1); }
+
+    /*
+    Input: Range
+    Output: Float from 0 to the range
+    Purpose: Same as MathUtils.random(float)
+    */
+    float random(float range){ return nextFloat() * range; }
+
+    /*
+    Input: Start and end
+    Output: Float between them
+    Purpose: Same as MathUtils.random(float, float)
+    */
+    float random(float start, float end){ return start + nextFloat() * (end - start); }
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Same as MathUtils.randomBoolean()
+    */
+    boolean randomBoolean(){ return nextLong() < 0; }
+
+    /*
+    Input: Seed
+    Output: Well mixed 64 bits
+    Purpose: SplitMix64 finalizer, turns seeds like 1, 2 and 3 into states with nothing in common
+    */
+    private static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
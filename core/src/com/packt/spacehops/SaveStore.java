@@ -0,0 +1,252 @@
+/*
+The SaveStore class keeps the player's progress between runs of the game.
+    What it saves is a few bytes the Settings hand it, wrapped in a small header and a checksum:
+
+        'S' 'H'  version  sequence (4 bytes)  length  payload...  checksum (4 bytes, Adler-32 of everything before it)
+
+    Every write gets a sequence number one higher than the save it replaces. Where local files are
+    available it's written to a temporary file that is then renamed over the save. A crash before the
+    rename leaves the old save, still whole, next to the newer temporary file, and where the rename
+    can't be done and the file is copied instead a crash can leave a damaged save next to the finished
+    temporary file. Loading reads both and takes the newest one whose checksum holds. Where local files
+    aren't available, like in the browser, the same bytes go into Preferences as Base64.
+
+    Saving doesn't write anything right away. The newest bytes are kept and update, called every frame,
+    hands them to a background thread once nothing has changed for half a second, so several changes in
+    a row are one write and the render thread never waits on the disk. flush writes straight away, for
+    when the game is paused or closed.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+class SaveStore implements Disposable {
+
+    private static final String SAVE_FILE = "spacehops.sav";
+    private static final String TEMP_FILE = "spacehops.sav.tmp";
+    private static final String PREFERENCES = "SpaceHops";
+    private static final String PREFERENCES_KEY = "save";
+
+    private static final byte VERSION = 2;
+    private static final int HEADER = 8;                //Magic, version, sequence and length
+    private static final int SEQUENCE = 3;              //Where the sequence starts in the header
+    private static final int LENGTH = 7;                //Where the length is in the header
+    private static final int CHECKSUM = 4;
+    private static final long DEBOUNCE_MILLIS = 500;    //How long the data has to stay the same before it's written
+
+    private final boolean filesFlag;                    //True if local files can be written, otherwise Preferences are used
+    private final FileHandle saveFile;
+    private final FileHandle tempFile;
+    private final AsyncExecutor executor = new AsyncExecutor(1, "SaveStore");
+
+    private byte[] pending;                             //Newest data that hasn't been handed to the writer, null if there is none
+    private long changedTime;                           //When pending last changed
+    private AsyncResult<Void> writing;                  //Write in progress, null if there is none
+    private int sequence = 0;                           //Sequence of the newest save, the next write gets one more
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Picks where the save lives, has to be created after the application has started
+    */
+    SaveStore(){
+        filesFlag = Gdx.files.isLocalStorageAvailable();
+        if(filesFlag){
+            //Absolute handles so moving the temporary file is a rename and not a copy
+            String path = Gdx.files.getLocalStoragePath();
+            saveFile = Gdx.files.absolute(path + SAVE_FILE);
+            tempFile = Gdx.files.absolute(path + TEMP_FILE);
+        }
+        else {
+            saveFile = null;
+            tempFile = null;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Payload of the save, null if there is no save or it's damaged
+    Purpose: Reads the save at startup and carries on its sequence
+    */
+    byte[] load(){
+        byte[] newest;
+        if(!filesFlag){
+            String encoded = Gdx.app.getPreferences(PREFERENCES).getString(PREFERENCES_KEY, null);
+            newest = encoded == null ? null : check(Base64Coder.decode(encoded));
+        }
+        else {
+            //Either one can be the newer whole save after a crash, the temporary file if it came before the
+            //rename, or if the rename had to copy, the temporary file next to a damaged save
+            byte[] save = read(saveFile);
+            byte[] temp = read(tempFile);
+            if(save == null){ newest = temp; }
+            else if(temp == null){ newest = save; }
+            else { newest = getSequence(temp) - getSequence(save) > 0 ? temp : save; }
+        }
+        if(newest == null){ return null; }
+        sequence = getSequence(newest);
+        byte[] payload = new byte[newest[LENGTH] & 0xFF];
+        System.arraycopy(newest, HEADER, payload, 0, payload.length);
+        return payload;
+    }
+
+    /*
+    Input: Payload to save
+    Output: Void
+    Purpose: Keeps the data to be written once it stops changing, the array is owned by the store after this
+    */
+    void save(byte[] payload){
+        pending = payload;
+        changedTime = TimeUtils.millis();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Called every frame, starts a write in the background once the data has settled and the last write is done
+    */
+    void update(){
+        if(pending == null || TimeUtils.timeSinceMillis(changedTime) < DEBOUNCE_MILLIS){ return; }
+        if(writing != null && !writing.isDone()){ return; }
+        final byte[] data = wrap(pending);
+        pending = null;
+        writing = executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                write(data);
+                return null;
+            }
+        });
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Writes anything that's waiting right away and waits for it to finish
+    */
+    void flush(){
+        if(writing != null){ writing.get(); }
+        writing = null;
+        if(pending != null){
+            write(wrap(pending));
+            pending = null;
+        }
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Saves what's left and stops the writer thread
+    */
+    @Override
+    public void dispose(){
+        flush();
+        executor.dispose();
+    }
+
+    /*
+    Input: Whole save, header and checksum included
+    Output: Void
+    Purpose: Writes the temporary file and renames it over the save, or puts it in Preferences
+    */
+    private void write(byte[] data){
+        if(!filesFlag){
+            Preferences preferences = Gdx.app.getPreferences(PREFERENCES);
+            preferences.putString(PREFERENCES_KEY, new String(Base64Coder.encode(data)));
+            preferences.flush();
+            return;
+        }
+        tempFile.writeBytes(data, false);
+        tempFile.moveTo(saveFile);
+    }
+
+    /*
+    Input: File
+    Output: Whole save, null if the file is missing or damaged
+    Purpose: Reads one save file
+    */
+    private static byte[] read(FileHandle file){
+        if(!file.exists()){ return null; }
+        try { return check(file.readBytes()); }
+        catch (RuntimeException e){ return null; }
+    }
+
+    /*
+    Input: Payload
+    Output: Payload with the header in front and the checksum behind
+    Purpose: Builds what's written, with the next sequence
+    */
+    private byte[] wrap(byte[] payload){
+        byte[] data = new byte[HEADER + payload.length + CHECKSUM];
+        sequence++;
+        data[0] = 'S';
+        data[1] = 'H';
+        data[2] = VERSION;
+        data[SEQUENCE] = (byte) (sequence >>> 24);
+        data[SEQUENCE + 1] = (byte) (sequence >>> 16);
+        data[SEQUENCE + 2] = (byte) (sequence >>> 8);
+        data[SEQUENCE + 3] = (byte) sequence;
+        data[LENGTH] = (byte) payload.length;
+        System.arraycopy(payload, 0, data, HEADER, payload.length);
+        int checksum = checksum(data, HEADER + payload.length);
+        int end = HEADER + payload.length;
+        data[end] = (byte) (checksum >>> 24);
+        data[end + 1] = (byte) (checksum >>> 16);
+        data[end + 2] = (byte) (checksum >>> 8);
+        data[end + 3] = (byte) checksum;
+        return data;
+    }
+
+    /*
+    Input: What was read
+    Output: The same bytes, null if the header or checksum is wrong
+    Purpose: Checks what was read
+    */
+    private static byte[] check(byte[] data){
+        if(data.length < HEADER + CHECKSUM || data[0] != 'S' || data[1] != 'H' || data[2] != VERSION){ return null; }
+        int length = data[LENGTH] & 0xFF;
+        if(data.length != HEADER + length + CHECKSUM){ return null; }
+        int end = HEADER + length;
+        if(readInt(data, end) != checksum(data, end)){ return null; }
+        return data;
+    }
+
+    /*
+    Input: Whole save that passed check
+    Output: Sequence it was written with
+    Purpose: Tells which of two saves is newer, compared by subtracting so it keeps working if it wraps around
+    */
+    private static int getSequence(byte[] data){ return readInt(data, SEQUENCE); }
+
+    /*
+    Input: Bytes and where the int starts
+    Output: The 4 bytes from there, highest first
+    Purpose: Reads the sequence and the checksum
+    */
+    private static int readInt(byte[] data, int start){
+        return (data[start] & 0xFF) << 24 | (data[start + 1] & 0xFF) << 16 | (data[start + 2] & 0xFF) << 8 | (data[start + 3] & 0xFF);
+    }
+
+    /*
+    Input: Bytes and how many of them to check
+    Output: Adler-32 of the bytes
+    Purpose: Catches a save that was cut short or changed
+    */
+    private static int checksum(byte[] data, int length){
+        int a = 1, b = 0;
+        for(int i = 0; i < length; i++){
+            a = (a + (data[i] & 0xFF)) % 65521;
+            b = (b + a) % 65521;
+        }
+        return b << 16 | a;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+The ScreenResources class owns the batches, renderers, fonts and stages a screen creates.
+    Everything that holds native or GPU memory is added here as it's created and the screen's dispose
+    releases all of it at once, newest first, so nothing a screen made outlives it. Screens are disposed
+    by SpaceHops once the next screen has taken over, they never dispose themselves.
+
+    With the log level at debug every ScreenResources is also tracked. After each screen switch SpaceHops
+    asks for a report, the screen being shown logs how many Disposables it holds and any other screen that
+    still holds some is logged as a leak, with the type of everything it kept.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+class ScreenResources implements Disposable {
+
+    private static final String TAG = "ScreenResources";
+
+    //Every tracked ScreenResources that hasn't been disposed, only filled when the log level is debug
+    private static final Array<ScreenResources> live = new Array<>();
+
+    private final Screen owner;
+    private final Array<Disposable> disposables = new Array<>();
+    private boolean trackedFlag = false;
+
+    /*
+    Input: Screen that owns the resources
+    Output: Void
+    Purpose: Creates an empty set of resources for the screen
+    */
+    ScreenResources(Screen owner){ this.owner = owner; }
+
+    /*
+    Input: Batch, renderer, font, stage or anything else that has to be disposed
+    Output: The same object, so it can be added where it's created
+    Purpose: Hands the object over to be disposed with the screen
+    */
+    <T extends Disposable> T add(T disposable){
+        disposables.add(disposable);
+        if(!trackedFlag && Gdx.app != null && Gdx.app.getLogLevel() >= Application.LOG_DEBUG){
+            live.add(this);
+            trackedFlag = true;
+        }
+        return disposable;
+    }
+
+    /*
+    Input: Void
+    Output: Int
+    Purpose: Returns how many Disposables the screen holds
+    */
+    int getSize(){ return disposables.size; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Disposes everything the screen created, newest first since later objects can use earlier ones
+    */
+    @Override
+    public void dispose(){
+        for(int i = disposables.size - 1; i >= 0; i--){ disposables.get(i).dispose(); }
+        disposables.clear();
+        if(trackedFlag){
+            live.removeValue(this, true);
+            trackedFlag = false;
+        }
+    }
+
+    /*
+    Input: Screen being shown
+    Output: Void
+    Purpose: Logs what the current screen holds and every other screen that didn't let go of its Disposables,
+        each leak is only reported once
+    */
+    static void reportLeaks(Screen current){
+        for(int i = live.size - 1; i >= 0; i--){
+            ScreenResources resources = live.get(i);
+            if(resources.owner == current){
+                Gdx.app.debug(TAG, name(current) + " holds " + resources.disposables.size + " Disposables");
+                continue;
+            }
+            StringBuilder types = new StringBuilder();
+            for(Disposable disposable : resources.disposables){
+                if(types.length() > 0){ types.append(", "); }
+                types.append(name(disposable));
+            }
+            Gdx.app.error(TAG, name(resources.owner) + " leaked " + resources.disposables.size + " Disposables: " + types);
+            live.removeIndex(i);
+            resources.trackedFlag = false;
+        }
+    }
+
+    /*
+    Input: Object
+    Output: Name of its class without the package
+    Purpose: Keeps the log lines short
+    */
+    private static String name(Object object){
+        String name = object.getClass().getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+The ScrollQueue class holds the objects that scroll across the screen of a level in the order they spawned.
+    Objects always come in on the right and leave on the left, so the oldest one is always the first to
+    go. The objects sit in a ring buffer, taking the first one off only moves where the queue starts
+    instead of shifting everything down like Array.removeValue did, and the array is reused as objects
+    come and go so it only grows when there are more on screen than ever before.
+
+    Reads like the libGDX Array it replaces, size, first(), peek() and get(i) count from the oldest object
+    and it can be looped over. Like Array the loop can't be nested more than two deep.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class ScrollQueue<T> implements Iterable<T> {
+
+    private T[] items;          //Ring buffer, the oldest object is at head
+    private int head = 0;       //Index in items of the oldest object
+    int size = 0;               //How many objects are in the queue, read only
+
+    //Reused for the for each loops so looping doesn't allocate, two so one loop can sit inside another
+    private QueueIterator iterator1, iterator2;
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Creates an empty queue with room for 16 objects
+    */
+    ScrollQueue(){ this(16); }
+
+    /*
+    Input: How many objects to make room for up front
+    Output: Void
+    Purpose: Creates an empty queue, it grows if more objects are added
+    */
+    @SuppressWarnings("unchecked")
+    ScrollQueue(int capacity){ items = (T[]) new Object[Math.max(1, capacity)]; }
+
+    /*
+    Input: Object that just spawned
+    Output: Void
+    Purpose: Adds the object at the end of the queue
+    */
+    void add(T item){
+        if(size == items.length){ grow(); }
+        items[(head + size) % items.length] = item;
+        size++;
+    }
+
+    /*
+    Input: Index counting from the oldest object
+    Output: The object
+    Purpose: Returns the object at that spot in the queue
+    */
+    T get(int index){
+        if(index < 0 || index >= size){ throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size); }
+        return items[(head + index) % items.length];
+    }
+
+    /*
+    Input: Void
+    Output: The oldest object
+    Purpose: Returns the object that will leave the screen next
+    */
+    T first(){
+        if(size == 0){ throw new IllegalStateException("Queue is empty."); }
+        return items[head];
+    }
+
+    /*
+    Input: Void
+    Output: The newest object
+    Purpose: Returns the object that spawned last
+    */
+    T peek(){
+        if(size == 0){ throw new IllegalStateException("Queue is empty."); }
+        return items[(head + size - 1) % items.length];
+    }
+
+    /*
+    Input: Void
+    Output: The oldest object
+    Purpose: Takes the oldest object off the queue, constant time no matter how many are in it
+    */
+    T removeFirst(){
+        if(size == 0){ throw new IllegalStateException("Queue is empty."); }
+        T item = items[head];
+        items[head] = null;
+        head = (head + 1) % items.length;
+        size--;
+        return item;
+    }
+
+    /*
+    Input: Index counting from the oldest object
+    Output: The object that was removed
+    Purpose: Takes an object out of the middle of the queue, used when the player picks one up before
+        it leaves the screen. Shifts whichever side of the queue is shorter
+    */
+    T removeIndex(int index){
+        T item = get(index);
+        int length = items.length;
+        if(index < size/2){
+            for(int i = index; i > 0; i--){ items[(head + i) % length] = items[(head + i - 1) % length]; }
+            items[head] = null;
+            head = (head + 1) % length;
+        }
+        else {
+            for(int i = index; i < size - 1; i++){ items[(head + i) % length] = items[(head + i + 1) % length]; }
+            items[(head + size - 1) % length] = null;
+        }
+        size--;
+        return item;
+    }
+
+    /*
+    Input: Object to remove
+    Output: Boolean, true if it was in the queue
+    Purpose: Finds the object by identity and takes it out of the queue
+    */
+    boolean removeValue(T item){
+        for(int i = 0; i < size; i++){
+            if(items[(head + i) % items.length] == item){
+                removeIndex(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    Input: Pool the objects came from
+    Output: Void
+    Purpose: Hands every object back to the pool and empties the queue
+    */
+    void freeAll(Pool<? super T> pool){ while(size > 0){ pool.free(removeFirst()); } }
+
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Returns true if there is nothing in the queue
+    */
+    boolean isEmpty(){ return size == 0; }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Empties the queue, the buffer is kept for reuse
+    */
+    void clear(){
+        for(int i = 0; i < size; i++){ items[(head + i) % items.length] = null; }
+        head = 0;
+        size = 0;
+    }
+
+    /*
+    Input: Void
+    Output: Iterator from the oldest to the newest object
+    Purpose: Lets the queue be used in for each loops without allocating
+    */
+    @Override
+    public Iterator<T> iterator(){
+        if(iterator1 == null){
+            iterator1 = new QueueIterator();
+            iterator2 = new QueueIterator();
+        }
+        if(!iterator1.valid){
+            iterator1.index = 0;
+            iterator1.valid = true;
+            iterator2.valid = false;
+            return iterator1;
+        }
+        iterator2.index = 0;
+        iterator2.valid = true;
+        iterator1.valid = false;
+        return iterator2;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Doubles the buffer once it's full, the oldest object moves back to index 0
+    */
+    @SuppressWarnings("unchecked")
+    private void grow(){
+        T[] newItems = (T[]) new Object[items.length * 2];
+        int tail = items.length - head;     //Objects between head and the end of the buffer
+        System.arraycopy(items, head, newItems, 0, Math.min(tail, size));
+        if(size > tail){ System.arraycopy(items, 0, newItems, tail, size - tail); }
+        items = newItems;
+        head = 0;
+    }
+
+    /*
+    The QueueIterator class walks the queue from the oldest to the newest object
+     */
+    private class QueueIterator implements Iterator<T> {
+        int index;
+        boolean valid = true;
+
+        @Override
+        public boolean hasNext(){
+            if(!valid){ throw new GdxRuntimeException("#iterator() cannot be used nested."); }
+            return index < size;
+        }
+
+        @Override
+        public T next(){
+            if(index >= size){ throw new NoSuchElementException(String.valueOf(index)); }
+            if(!valid){ throw new GdxRuntimeException("#iterator() cannot be used nested."); }
+            return items[(head + index++) % items.length];
+        }
+
+        @Override
+        public void remove(){
+            index--;
+            removeIndex(index);
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package com.packt.spacehops;
 
+/*
+The Settings class holds the player's progress, which levels are beat and the high scores.
+    Every change is handed to the SaveStore so it's still there the next time the game starts.
+
+    Saved as one byte with a bit per beaten level, one byte with how many high scores follow
+    and each high score as four bytes.
+ */
 class Settings
 {
     private boolean[] levelCompletion = new boolean[]{true, true , false, false, false};
@@ -7,6 +14,8 @@ class Settings
 
     private boolean allLevelsBeatFlag = false;
 
+    private SaveStore saveStore;        //Null until the game has started and the save was loaded
+
     boolean[] getLevelCompletion(){return levelCompletion;}
 
     int[] getLevelHighScore(){return levelHighScore;}
@@ -14,8 +23,10 @@ class Settings
     boolean getAllLevelsBeatFlag(){return  allLevelsBeatFlag;}
 
     void setLevelCompletion(int levelPosition){
+        if(levelCompletion[levelPosition]){ return; }
         levelCompletion[levelPosition] = true;
         checkAllLevelsBeat();
+        save();
     }
 
     private  void setAllLevelsBeatFlag(){allLevelsBeatFlag = true;}
@@ -29,6 +40,7 @@ class Settings
     void setHighScore(int levelPosition, int highScore){
         if(checkIfNewHighScore(levelHighScore[levelPosition], highScore)){
             levelHighScore[levelPosition] = highScore;
+            save();
         }
     }
 
@@ -36,4 +48,48 @@ class Settings
         return oldHighScore < newHighScore;
     }
 
+    /*
+    Input: Store the progress is kept in
+    Output: Void
+    Purpose: Loads the saved progress, a missing or damaged save leaves the defaults, changes from here on are saved
+    */
+    void load(SaveStore saveStore){
+        this.saveStore = saveStore;
+        byte[] payload = saveStore.load();
+        if(payload == null || payload.length < 2){ return; }
+
+        int completionBits = payload[0] & 0xFF;
+        for(int i = 0; i < levelCompletion.length; i++){ if((completionBits & (1 << i)) != 0){ levelCompletion[i] = true; } }
+
+        int scores = Math.min(payload[1] & 0xFF, Math.min(levelHighScore.length, (payload.length - 2) / 4));
+        for(int i = 0; i < scores; i++){
+            int offset = 2 + i*4;
+            levelHighScore[i] = (payload[offset] & 0xFF) << 24 | (payload[offset + 1] & 0xFF) << 16
+                    | (payload[offset + 2] & 0xFF) << 8 | (payload[offset + 3] & 0xFF);
+        }
+        checkAllLevelsBeat();
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Hands the current progress to the SaveStore
+    */
+    private void save(){
+        if(saveStore == null){ return; }
+        byte[] payload = new byte[2 + levelHighScore.length*4];
+        int completionBits = 0;
+        for(int i = 0; i < levelCompletion.length; i++){ if(levelCompletion[i]){ completionBits |= 1 << i; } }
+        payload[0] = (byte) completionBits;
+        payload[1] = (byte) levelHighScore.length;
+        for(int i = 0; i < levelHighScore.length; i++){
+            int offset = 2 + i*4;
+            payload[offset] = (byte) (levelHighScore[i] >>> 24);
+            payload[offset + 1] = (byte) (levelHighScore[i] >>> 16);
+            payload[offset + 2] = (byte) (levelHighScore[i] >>> 8);
+            payload[offset + 3] = (byte) levelHighScore[i];
+        }
+        saveStore.save(payload);
+    }
+
 }
@@ -11,8 +11,9 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 
-class SpaceBorder {
+class SpaceBorder implements Pool.Poolable, Collidable {
 
     //Rectangle objects that keep track of where the textures are
     private final Rectangle floorRectangle;
@@ -45,13 +46,35 @@ class SpaceBorder {
         this.ceilingRectangle = new Rectangle(initialX, WORLD_HEIGHT - RECTANGLE_HEIGHT, RECTANGLE_WIDTH, RECTANGLE_HEIGHT);
     }
 
+    /*
+    Input: X the boarder starts at
+    Output: Void
+    Purpose: Moves both rectangles to the starting x, used when the boarder is reused out of a pool
+    */
+    void setX(float initialX){
+        floorRectangle.x = initialX;
+        ceilingRectangle.x = initialX;
+    }
+
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Called when the boarder goes back into its pool
+    */
+    @Override
+    public void reset(){ setX(0); }
+
     /*
     Input: Void
     Output: Void
     Purpose: Checks if spacecraft is colliding with either of the boarders
     */
-    boolean isColliding(SpaceCraft spaceCraft) {
+    @Override
+    public boolean isColliding(SpaceCraft spaceCraft) {
         Circle spaceCraftCollisionCircle = spaceCraft.getCollisionCircle();
+        //In the open space between the floor and ceiling, can't touch either
+        if(spaceCraftCollisionCircle.y - spaceCraftCollisionCircle.radius > floorRectangle.y + floorRectangle.height &&
+                spaceCraftCollisionCircle.y + spaceCraftCollisionCircle.radius < ceilingRectangle.y){ return false; }
         return Intersector.overlaps(spaceCraftCollisionCircle, floorRectangle) ||
                 Intersector.overlaps(spaceCraftCollisionCircle, ceilingRectangle);
     }
@@ -73,6 +96,22 @@ class SpaceBorder {
     */
     float getX(){return  floorRectangle.x;}
 
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the left edge of the boarder
+    */
+    @Override
+    public float getLeft(){return floorRectangle.x;}
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns the right edge of the boarder
+    */
+    @Override
+    public float getRight(){return floorRectangle.x + floorRectangle.width;}
+
     /*
     Input: Batch
     Output: Void
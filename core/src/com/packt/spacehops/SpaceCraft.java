@@ -24,8 +24,8 @@ class SpaceCraft {
     private float y = 0;									//Initial Y
 
     //Movement - SpaceCraft only moves up and down along the y axis
-    private static final float FLY_ACCELERATION = 5f;
-    private static final float DIVE_ACCELERATION = 0.30f;
+    static final float FLY_ACCELERATION = 5f;
+    static final float DIVE_ACCELERATION = 0.30f;
     private float ySpeed = 0;
 
     //Texture and Animation
@@ -45,7 +45,7 @@ class SpaceCraft {
 		/*
 	Texture
 	 */
-        spaceCraftTextures = new TextureRegion(spaceCraftTexture).split(TILE_WIDTH, TILE_HEIGHT); //Breaks down the texture into tiles
+        spaceCraftTextures = AnimationCache.getTiles(spaceCraftTexture, TILE_WIDTH, TILE_HEIGHT); //Breaks down the texture into tiles
         //Sets our object to be a circle
         collisionCircle = new Circle(x,y, COLLISION_RADIUS);
     }
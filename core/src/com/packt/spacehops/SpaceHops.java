@@ -1,21 +1,203 @@
 package com.packt.spacehops;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 
 public class SpaceHops extends Game {
 
+	//How long each frame can spend loading the next level in the background, in milliseconds
+	private static final int PRELOAD_MILLIS = 2;
+	private static final int NO_PRELOAD = -1;
+
+	//Screens from ENDLESS_FLAG on are the endless modes, one per button on the start screen
+	static final int ENDLESS_FLAG = 4;
+	static final int ENDLESS_MODES = 6;
+
 	private final AssetManager assetManager = new AssetManager();
 	private Settings settings = new Settings();
+	private SaveStore saveStore;				//Keeps the settings between runs, created once the application has started
+	private AssetManifest screenManifest;		//Assets of the screen being shown, null until the first one loads
+	private AssetManifest preloadManifest;		//Assets of the screen being loaded in the background, null if there is none
+	private int preloadFlag = NO_PRELOAD;		//Which screen that is, same numbers as the LoadingScreen
+	private Screen replacedScreen;				//Screen that was switched away from, disposed at the start of the next frame
+	private DebugOverlay debugOverlay;			//Wireframes of the levels, null until debug mode is first turned on
+	private final FrameProfiler profiler = new FrameProfiler();	//Frame times of the levels, off until 4 is pressed
+	private final boolean replayFlag;			//Levels record their input to replays/, off unless the launcher turns it on
+
+	public SpaceHops(){ this(false); }
+
+	/*
+	Input: If the levels record their input
+	Output: Void
+	Purpose: Lets a launcher turn on the replays, see InputReplay
+	*/
+	public SpaceHops(boolean replayFlag){ this.replayFlag = replayFlag; }
 
 	AssetManager getAssetManager() { return assetManager; }
 
 	Settings getSettings(){return  settings;}
 
+	/*
+	Input: Void
+	Output: DebugOverlay
+	Purpose: Returns the overlay every level draws its wireframes with, creates it the first time
+	*/
+	DebugOverlay getDebugOverlay(){
+		if(debugOverlay == null){ debugOverlay = new DebugOverlay(); }
+		return debugOverlay;
+	}
+
+	FrameProfiler getProfiler(){ return profiler; }
+
+	boolean getReplayFlag(){ return replayFlag; }
+
 	@Override
 	public void create () {
+		saveStore = new SaveStore();
+		settings.load(saveStore);
 		//Calls game screen
 		setScreen(new LoadingScreen(this,0));
 	}
+
+	/*
+	Input: Void
+	Output: Void
+	Purpose: Gives the background loading a few milliseconds of each frame before drawing the screen
+	*/
+	@Override
+	public void render() {
+		disposeReplacedScreen();
+		saveStore.update();			//Writes the settings in the background once they stop changing
+		if(preloadManifest != null && !assetManager.isFinished()){ assetManager.update(PRELOAD_MILLIS); }
+		super.render();
+	}
+
+	/*
+	Input: Void
+	Output: Void
+	Purpose: Saves straight away when the app goes to the background, it may not come back
+	*/
+	@Override
+	public void pause() {
+		super.pause();
+		saveStore.flush();
+	}
+
+	/*
+	Input: Screen to show
+	Output: Void
+	Purpose: Switches screens, the screen being left is disposed on the next frame since the switch usually
+		happens in the middle of its render and it still draws for the rest of that frame
+	*/
+	@Override
+	public void setScreen(Screen screen) {
+		disposeReplacedScreen();		//Two switches in one frame, the first screen isn't drawing anymore
+		replacedScreen = this.screen;
+		super.setScreen(screen);
+	}
+
+	/*
+	Input: Which screen the assets are for, same numbers as the LoadingScreen
+	Output: Void
+	Purpose: Queues the assets of the next screen and unloads the ones of the last screen it doesn't share,
+		the shared atlases are queued the first time only. If the screen was preloaded its assets are already queued
+	*/
+	void loadScreenAssets(int levelSelectFlag){
+		AssetManifest next;
+		if(preloadFlag == levelSelectFlag){ next = preloadManifest; }
+		else {
+			cancelPreload();
+			if(screenManifest == null){ AssetManifest.SHARED.load(assetManager, null); }
+			next = AssetManifest.forScreen(levelSelectFlag);
+			next.load(assetManager, screenManifest);
+		}
+		preloadManifest = null;
+		preloadFlag = NO_PRELOAD;
+		if(screenManifest != null && screenManifest.unload(assetManager, next)){
+			AnimationCache.clear();		//Cached tiles point into the atlases that were just unloaded
+		}
+		screenManifest = next;
+	}
+
+	/*
+	Input: Which screen to load, same numbers as the LoadingScreen
+	Output: Void
+	Purpose: Starts loading a screen's assets a little each frame while the current screen keeps running,
+		does nothing if that screen is already loading
+	*/
+	void preloadScreen(int levelSelectFlag){
+		if(preloadFlag == levelSelectFlag || screenManifest == null){ return; }
+		cancelPreload();
+		preloadManifest = AssetManifest.forScreen(levelSelectFlag);
+		preloadManifest.load(assetManager, screenManifest);
+		preloadFlag = levelSelectFlag;
+	}
+
+	/*
+	Input: Which screen to go to, same numbers as the LoadingScreen
+	Output: Void
+	Purpose: Goes straight to the screen if its assets finished loading in the background,
+		otherwise goes through the LoadingScreen
+	*/
+	void showScreen(int levelSelectFlag){
+		if(preloadFlag == levelSelectFlag && assetManager.isFinished()){
+			loadScreenAssets(levelSelectFlag);
+			setScreen(createScreen(levelSelectFlag));
+		}
+		else { setScreen(new LoadingScreen(this, levelSelectFlag)); }
+	}
+
+	/*
+	Input: Which screen, same numbers as the LoadingScreen
+	Output: The screen
+	Purpose: Creates the screen once its assets are loaded
+	*/
+	Screen createScreen(int levelSelectFlag){
+		if(levelSelectFlag == 1){ return new AdventureLevelOne(this); }
+		if(levelSelectFlag == 2){ return new AdventureLevelTwo(this); }
+		if(levelSelectFlag == 3){ return new AdventureLevelThree(this); }
+		if(levelSelectFlag >= ENDLESS_FLAG){ return new EndlessLevel(this, levelSelectFlag - ENDLESS_FLAG); }
+		return new StartScreen(this);
+	}
+
+	/*
+	Input: Void
+	Output: Void
+	Purpose: Drops a background load that is no longer wanted, what it queued is unloaded again
+	*/
+	private void cancelPreload(){
+		if(preloadManifest != null){ preloadManifest.unload(assetManager, screenManifest); }
+		preloadManifest = null;
+		preloadFlag = NO_PRELOAD;
+	}
+
+	/*
+	Input: Void
+	Output: Void
+	Purpose: Disposes the screen that was switched away from, then checks in debug that it let go of everything
+	*/
+	private void disposeReplacedScreen(){
+		if(replacedScreen == null){ return; }
+		replacedScreen.dispose();
+		replacedScreen = null;
+		ScreenResources.reportLeaks(screen);
+	}
+
+	/*
+	Input: Void
+	Output: Void
+	Purpose: Lets go of every screen and asset when the game closes
+	*/
+	@Override
+	public void dispose() {
+		super.dispose();
+		disposeReplacedScreen();
+		if(screen != null){ screen.dispose(); }
+		if(debugOverlay != null){ debugOverlay.dispose(); }
+		profiler.dispose();
+		assetManager.dispose();
+		saveStore.dispose();
+		AnimationCache.clear();
+	}
 }
@@ -15,7 +15,7 @@ class SpeedOMeter {
 
     SpeedOMeter(TextureRegion backgroundTextureRegion, TextureRegion lightsTextures){
         this.backgroundTexture = backgroundTextureRegion;
-        this.lightsTexture = new TextureRegion(lightsTextures).split(TILE_WIDTH, TILE_HEIGHT);
+        this.lightsTexture = AnimationCache.getTiles(lightsTextures, TILE_WIDTH, TILE_HEIGHT);
     }
 
     void updateState(float speed){
@@ -102,6 +102,7 @@ class StartScreen extends ScreenAdapter {
 
     //Game for changing screens
     private final SpaceHops spaceHops;
+    private final ScreenResources resources = new ScreenResources(this);   //Batches, renderers, fonts and stages of this screen
     //Constructor that keeps the screen info
     StartScreen(SpaceHops spaceHops) { this.spaceHops = spaceHops; }
 
@@ -128,8 +129,8 @@ class StartScreen extends ScreenAdapter {
     */
     public void show(){
         //Sets up stage and tells it to make buttons clickable
-        mainStage = new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT));
-        shipyardStage = new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT));
+        mainStage = resources.add(new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT)));
+        shipyardStage = resources.add(new Stage(new FitViewport(WORLD_WIDTH,WORLD_HEIGHT)));
         Gdx.input.setInputProcessor(mainStage); //Gives button power to mainStage
 
         showCamera();       //Sets up the camera
@@ -141,8 +142,7 @@ class StartScreen extends ScreenAdapter {
         showInitialize();   //Initializes extra variables
         showVisibility();
 
-        //BitmapFont and GlyphLayout
-        bitmapFont = new BitmapFont();
+        //BitmapFont and GlyphLayout, the font belongs to the AssetManager
         bitmapFont = spaceHops.getAssetManager().get("Fonts/ButtonFont.fnt");
         glyphLayout = new GlyphLayout();
     }
@@ -177,7 +177,7 @@ class StartScreen extends ScreenAdapter {
         doorUpTexture = screenAtlas.findRegion("DoorUp");
         doorDownTexture = screenAtlas.findRegion("DoorDown");
 
-        TextureRegion[][] icons = new TextureRegion(screenAtlas.findRegion("ButtonSymbols")).split(34, 34);
+        TextureRegion[][] icons = AnimationCache.getTiles(screenAtlas.findRegion("ButtonSymbols"), 34, 34);
         adventureIconTexture = icons[0][0];
         endlessIconTexture = icons[0][1];
         shipyardIconTexture = icons[0][2];
@@ -316,7 +316,6 @@ class StartScreen extends ScreenAdapter {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 spaceHops.setScreen(new LoadingScreen(spaceHops,1));
-                dispose();
             }
         });
 
@@ -326,7 +325,6 @@ class StartScreen extends ScreenAdapter {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 spaceHops.setScreen(new LoadingScreen(spaceHops ,2));
-                dispose();
             }
         });
 
@@ -336,7 +334,6 @@ class StartScreen extends ScreenAdapter {
             public void tap(InputEvent event, float x, float y, int count, int button) {
                 super.tap(event, x, y, count, button);
                 spaceHops.setScreen(new LoadingScreen(spaceHops, 3));
-                dispose();
             }
         });
 
@@ -384,6 +381,18 @@ class StartScreen extends ScreenAdapter {
         Listeners
          */
 
+        //Starts the endless mode of each button
+        for(int i = 0; i < newButtons.length; i++){
+            final int mode = i;
+            newButtons[i].addListener(new ActorGestureListener() {
+                @Override
+                public void tap(InputEvent event, float x, float y, int count, int button) {
+                    super.tap(event, x, y, count, button);
+                    spaceHops.setScreen(new LoadingScreen(spaceHops, SpaceHops.ENDLESS_FLAG + mode));
+                }
+            });
+        }
+
         //Send the screen back to the central screen
         rightBackButton.addListener(new ActorGestureListener() {
             @Override
@@ -438,7 +447,7 @@ class StartScreen extends ScreenAdapter {
                 endlessLevelThreeButton, endlessLevelFourButton, endlessLevelFiveButton, endlessLevelSixButton};
 
         //Batch for drawing the textures
-        batch = new SpriteBatch();
+        batch = resources.add(new SpriteBatch());
 
         doorUpY = WORLD_HEIGHT;                             //Places upperDoor above screen
         doorDownY = 0 - doorDownTexture.getRegionHeight();  //Places down door below screen
@@ -874,10 +883,6 @@ class StartScreen extends ScreenAdapter {
     Purpose: Destroys everything once we move onto the new screen
     */
     @Override
-    public void dispose() {
-        mainStage.dispose();
-        shipyardStage.dispose();
-        spaceHops.getAssetManager().unload("main_screen_assets.atlas");
-    }
+    public void dispose() { resources.dispose(); }
 
 }
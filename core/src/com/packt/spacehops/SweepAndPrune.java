@@ -0,0 +1,61 @@
+/*
+The SweepAndPrune class is the broad phase for the collision checks of the levels.
+    Everything scrolls in from the right at the same speed and leaves on the left, so the queues the
+    levels keep are already sorted along x. Instead of testing the spaceship against every object a
+    binary search finds the first object that reaches the spaceship's left edge and the sweep stops at
+    the first object that starts past its right edge. Only the objects in between get the exact test,
+    so the cost follows how many objects are near the spaceship, not how many are in the level.
+
+    The queues passed in have to be sorted by left edge with objects of the same width, which makes
+    their right edges sorted too.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.math.Circle;
+
+final class SweepAndPrune {
+
+    private SweepAndPrune(){}
+
+    /*
+    Input: Queue sorted along x, the spaceship
+    Output: Index of the first object that could be touching the spaceship, size of the array if none can
+    Purpose: Binary search for the first object whose right edge reaches the spaceship
+    */
+    static int first(ScrollQueue<? extends Collidable> sorted, SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        float left = circle.x - circle.radius;
+        int low = 0;
+        int high = sorted.size;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(sorted.get(middle).getRight() < left){ low = middle + 1; }
+            else { high = middle; }
+        }
+        return low;
+    }
+
+    /*
+    Input: Object, the spaceship
+    Output: Boolean
+    Purpose: Tells the sweep to keep going, false once the object starts past the spaceship's right edge
+    */
+    static boolean inReach(Collidable collidable, SpaceCraft spaceCraft){
+        Circle circle = spaceCraft.getCollisionCircle();
+        return collidable.getLeft() <= circle.x + circle.radius;
+    }
+
+    /*
+    Input: Queue sorted along x, the spaceship
+    Output: First object the spaceship is touching, null if there is none
+    Purpose: Runs the broad phase and the exact test on what's left
+    */
+    static <T extends Collidable> T findColliding(ScrollQueue<T> sorted, SpaceCraft spaceCraft){
+        for(int i = first(sorted, spaceCraft); i < sorted.size && inReach(sorted.get(i), spaceCraft); i++){
+            T collidable = sorted.get(i);
+            if(collidable.isColliding(spaceCraft)){ return collidable; }
+        }
+        return null;
+    }
+}
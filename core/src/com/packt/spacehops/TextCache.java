@@ -0,0 +1,84 @@
+/*
+The TextCache class lays text out once and draws the same glyphs every frame after that.
+    BitmapFont.draw lays its text out again on every call, even when the dialog or score on screen
+    hasn't changed since the last frame. A TextCache remembers a key for what it's showing, the caller
+    only lays the text out again when the key it would use is different, like a new part or score.
+
+    Built on BitmapFontCache so the font's scale and color are taken at the time the text is laid out.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+class TextCache {
+
+    //Key of a cache that has never been laid out
+    private static final int NO_KEY = Integer.MIN_VALUE;
+
+    private final BitmapFont bitmapFont;
+    private final BitmapFontCache fontCache;
+    private final GlyphLayout measureLayout = new GlyphLayout();    //Used to measure text before placing it
+    private int key = NO_KEY;                                       //What the text in the cache was laid out for
+
+    /*
+    Input: Font the text is drawn with
+    Output: Void
+    Purpose: Creates an empty cache for the font
+    */
+    TextCache(BitmapFont bitmapFont){
+        this.bitmapFont = bitmapFont;
+        fontCache = new BitmapFontCache(bitmapFont, bitmapFont.usesIntegerPositions());
+    }
+
+    /*
+    Input: Key of the text that should be on screen
+    Output: Boolean
+    Purpose: Returns true if the cache holds something else and the text has to be laid out again
+    */
+    boolean needsLayout(int key){ return this.key != key; }
+
+    /*
+    Input: Key of the text that is about to be laid out
+    Output: Void
+    Purpose: Empties the cache so the new text can be added
+    */
+    void clear(int key){
+        this.key = key;
+        fontCache.clear();
+    }
+
+    /*
+    Input: Text and where it's drawn
+    Output: Void
+    Purpose: Lays the text out and adds it to the cache
+    */
+    void addText(CharSequence text, float x, float y){ fontCache.addText(text, x, y); }
+
+    /*
+    Input: Text
+    Output: Float
+    Purpose: Returns how wide the text is, used to place it before adding it
+    */
+    float getWidth(CharSequence text){
+        measureLayout.setText(bitmapFont, text);
+        return measureLayout.width;
+    }
+
+    /*
+    Input: Void
+    Output: Float
+    Purpose: Returns how tall one line of text is
+    */
+    float getHeight(){ return bitmapFont.getCapHeight(); }
+
+    /*
+    Input: Batch to add the text to
+    Output: Void
+    Purpose: Draws the glyphs that were laid out last
+    */
+    void draw(Batch batch){ fontCache.draw(batch); }
+}
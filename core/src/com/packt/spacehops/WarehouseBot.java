@@ -3,13 +3,15 @@ package com.packt.spacehops;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 
 class WarehouseBot {
 
+    private static final String TRACE = "WarehouseBot";       //Name in the EntityTrace
+
     //Texture and Animation
     private static final int TILE_WIDTH = 320;			//The width of each tile in the texture
     private static final int TILE_HEIGHT = 73;			//The height of each tile in the texture
@@ -17,6 +19,7 @@ class WarehouseBot {
     private TextureRegion armTexture;
 
     private static final float FRAME_DURATION = .15f;
+    private static final int[] SPIN_FRAMES = {5,0, 6,0, 7,0, 9,0, 8,0, 0,0, 1,0, 2,0, 3,0, 4,0}; //Row and column of each frame
     private float animationTime = 0;
     private final Animation animation;
 
@@ -34,15 +37,13 @@ class WarehouseBot {
     private static final float MOVE_TIME = 10F;                 //Time that the conversation box stays on screen
     private float moveTimer = MOVE_TIME;                        //Counter that checks if it reached the end of time
 
-    WarehouseBot(TextureRegion robotBody, TextureRegion armTexture){
-        botTexture = new TextureRegion(robotBody).split(TILE_WIDTH, TILE_HEIGHT); //Breaks down the texture into tiles
+    private final RandomStream random;      //Where the number of spins comes from
+
+    WarehouseBot(TextureRegion robotBody, TextureRegion armTexture, RandomStream random){
+        this.random = random;
+        botTexture = AnimationCache.getTiles(robotBody, TILE_WIDTH, TILE_HEIGHT); //Breaks down the texture into tiles
 
-        animation = new Animation<>(FRAME_DURATION,
-                this.botTexture[5][0], this.botTexture[6][0], this.botTexture[7][0],
-                this.botTexture[9][0], this.botTexture[8][0], this.botTexture[0][0],
-                this.botTexture[1][0], this.botTexture[2][0], this.botTexture[3][0],
-                this.botTexture[4][0]);
-        animation.setPlayMode(Animation.PlayMode.LOOP);
+        animation = AnimationCache.getAnimation(robotBody, TILE_WIDTH, TILE_HEIGHT, FRAME_DURATION, Animation.PlayMode.LOOP, SPIN_FRAMES);
 
         leftArm = new Rectangle(320, 200, 114, 66);
         rightArm = new Rectangle(320 + 114 + 60, 200, 114, 66);
@@ -53,13 +54,19 @@ class WarehouseBot {
 
     void turnOn(){
         onFlag = true;
-        spinGoal = MathUtils.random(3,6);
+        spinGoal = random.random(3,6);
+        EntityTrace.record(EntityTrace.STATE, TRACE, "on", spinGoal, 0, 0);
     }
 
-    void turnOff(){  onFlag = false;}
+    void turnOff(){
+        onFlag = false;
+        EntityTrace.record(EntityTrace.STATE, TRACE, "off", spinGoal, spinCounter, 0);
+    }
 
     void update(float delta){
-        System.out.println(spinGoal + " " + spinCounter + " " + onFlag);
+        EntityTrace.record(EntityTrace.TICK, TRACE, "spin", spinGoal, spinCounter, onFlag ? 1 : 0);
+
+        updateKeyFrame();
 
         if(spinGoal == spinCounter){
             spinCounter = 0;
@@ -86,6 +93,27 @@ class WarehouseBot {
        }
     }
 
+    /*
+    Input: Void
+    Output: Void
+    Purpose: Starts the arms swinging and counts the spins based on the frame the animation is on,
+    done here instead of in draw so the level runs the same without anything being drawn
+    */
+    private void updateKeyFrame(){
+        TextureRegion textureRegion = (TextureRegion) animation.getKeyFrame(animationTime);
+
+        if(textureRegion == botTexture[9][0] && !swinging){
+            swinging = true;
+            EntityTrace.record(EntityTrace.STATE, TRACE, "swing", spinCounter, 0, 0);
+        }
+
+        if(textureRegion == botTexture[5][0] && onFlag && !clicked){
+            clicked = true;
+            spinCounter++;
+        }
+        else if(textureRegion == botTexture[4][0] && clicked) { clicked = false; }
+    }
+
     boolean isColliding(SpaceCraft spaceCraft){
         Circle spaceCraftCollisionCircle = spaceCraft.getCollisionCircle();
         return Intersector.overlaps(spaceCraftCollisionCircle, leftArm) ||
@@ -94,6 +122,44 @@ class WarehouseBot {
 
     void setStartSpinning(){startSpinning = true;}
 
+    /*
+    Input: Void
+    Output: Boolean
+    Purpose: Returns if the arms are swinging across the screen
+    */
+    boolean isSwinging(){return swinging;}
+
+    /*
+    Input: Void
+    Output: Float X
+    Purpose: Returns the right side of the back arm, the arms have gone past anything left of it
+    */
+    float getArmsRight(){return rightArm.x + rightArm.width;}
+
+    /*
+    Input: Void
+    Output: Float Y
+    Purpose: Returns the bottom of the arms
+    */
+    float getArmBottom(){return leftArm.y;}
+
+    /*
+    Input: Void
+    Output: Float Y
+    Purpose: Returns the top of the arms
+    */
+    float getArmTop(){return leftArm.y + leftArm.height;}
+
+    /*
+    Input: ShapeRenderer
+    Output: Void
+    Purpose: Draws the arms the player can hit
+    */
+    void drawDebug(ShapeRenderer shapeRenderer){
+        shapeRenderer.rect(leftArm.x, leftArm.y, leftArm.width, leftArm.height);
+        shapeRenderer.rect(rightArm.x, rightArm.y, rightArm.width, rightArm.height);
+    }
+
     private void updateArmPosition(){
         leftArm.x -= 12;
         rightArm.x -= 12;
@@ -120,14 +186,6 @@ class WarehouseBot {
         TextureRegion textureRegion = (TextureRegion) animation.getKeyFrame(animationTime);
         batch.draw(textureRegion, 160 - (float) textureRegion.getRegionWidth()/2, 240);
 
-        if(textureRegion == botTexture[9][0]){ swinging = true; }
-
-        if(textureRegion == botTexture[5][0] && onFlag && !clicked){
-            clicked = true;
-            spinCounter++;
-        }
-        else if(textureRegion == botTexture[4][0] && clicked) { clicked = false; }
-
         if(swinging){
             batch.draw(armTexture, leftArm.x, leftArm.y);
             batch.draw(armTexture, rightArm.x, rightArm.y);
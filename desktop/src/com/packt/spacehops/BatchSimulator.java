@@ -0,0 +1,386 @@
+/*
+The BatchSimulator class plays the adventure levels thousands of times without a window to see how hard they are.
+    Each run builds the level from its own seed and hands it to a Pilot that flies the way a player would,
+    aiming for the next gap or box and missing by a bit, and getting out of the way of the dragon's attacks
+    and the robot's arms, sometimes not far enough. The runs are spread over every core, a level
+    doesn't share anything with another one so they don't wait on each other, and every run with the same
+    seed plays out the same however many threads there are.
+
+    Once they're done it prints how many runs beat the level, how long that took, how often and how far
+    into an attempt the pilot died and at which height. Changing a constant like GAP_BETWEEN_ASTEROID,
+    the dragon's idle times or the robot's spins and running it again shows what that did to the level.
+    The level three script never completes the level, so there a run counts as beating it once it reaches
+    LevelThreeSimulation.GOAL in one attempt.
+
+    Has to be run with android/assets as the working directory, same as the desktop launcher:
+
+        gradlew desktop:simulate -Plevel=1 -Pruns=2000 -Pminutes=10
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class BatchSimulator {
+
+    private static final int DEFAULT_RUNS = 1000;
+    private static final int DEFAULT_MINUTES = 10;      //Longest a run plays before it counts as not beating the level
+    private static final float AIM_ERROR = 40;          //Most the pilot misses its target by
+    private static final int HEIGHT_BANDS = 6;          //Bands the death heights are counted in
+
+    private BatchSimulator(){}
+
+    /*
+    Input: Level 1 to 3, runs, minutes a run can last
+    Output: Void
+    Purpose: Runs the level from seed 1 up and prints what happened
+    */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if(args.length == 0){
+            System.out.println("Usage: BatchSimulator <level 1-3> [runs] [minutes]");
+            return;
+        }
+        final int level = Integer.parseInt(args[0]);
+        if(level < 1 || level > 3){
+            System.out.println("Level has to be 1, 2 or 3");
+            System.exit(1);
+        }
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUNS;
+        final long maxTicks = (long) ((args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MINUTES) * 60 / LevelSimulation.TIME_STEP);
+        final AssetManager assetManager = HeadlessGame.getAssetManager();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<Run>> futures = new ArrayList<>(runs);
+        for(int i = 1; i <= runs; i++){
+            final long seed = i;
+            futures.add(executor.submit(new Callable<Run>() {
+                @Override
+                public Run call() { return play(level, seed, maxTicks, assetManager); }
+            }));
+        }
+        Summary summary = new Summary();
+        for(Future<Run> future : futures){ summary.add(future.get()); }
+        executor.shutdown();
+
+        summary.print(level, threads, System.nanoTime() - start);
+        System.exit(0);
+    }
+
+    /*
+    Input: Level, seed, most ticks to run, AssetManager with every atlas loaded
+    Output: What happened in the run
+    Purpose: Plays one run until the level is beat or the time is up
+    */
+    private static Run play(int level, long seed, long maxTicks, AssetManager assetManager){
+        LevelSimulation simulation = new InputReplay(level, seed).createLevel(assetManager);
+        Pilot pilot = new Pilot(seed);
+        Run run = new Run();
+        int deaths = 0;
+        while(!isGoalReached(simulation) && simulation.getTickCount() < maxTicks){
+            if(pilot.flyUp(simulation)){ simulation.queueFlyUp(); }
+            simulation.step();
+            if(simulation.getDeaths() != deaths){
+                deaths = simulation.getDeaths();
+                run.addDeath(simulation.getLastAttemptTicks(), simulation.getLastDeathY());
+            }
+        }
+        run.ticks = simulation.getTickCount();
+        run.completed = isGoalReached(simulation);
+        return run;
+    }
+
+    /*
+    Input: Simulation being played
+    Output: Boolean
+    Purpose: Checks if the run beat the level, level three's script never completes it so reaching its
+        goal score in one attempt counts instead
+    */
+    private static boolean isGoalReached(LevelSimulation simulation){
+        if(simulation instanceof LevelThreeSimulation){
+            return ((LevelThreeSimulation) simulation).getProgressBar().getScore() >= LevelThreeSimulation.GOAL;
+        }
+        return simulation.isLevelComplete();
+    }
+
+    /*
+    Flies a level the way a player would, aiming for the next gap or box and missing it by a random amount,
+    dropping onto boxes from up high so they break and staying out of the band an attack is about to sweep through
+     */
+    private static final class Pilot {
+        private static final float FLY_BELOW = 25;      //Flies up once it's this far under the target, it overshoots a bit
+        private static final float DIVE_HEIGHT = 360;   //Where it waits for the next box, high enough to be falling fast once it gets there
+        private static final float BOX_SPEED = 2;       //How far the boxes scroll every tick
+        private static final float DODGE_MARGIN = 45;   //How far it means to stay out of the way of an attack
+        private static final float MISJUDGE = 20;       //Most it lets an attack come closer than it meant to
+
+        private final Random random;
+        private int target = -1;                        //Id of what the pilot is aiming for, -1 for nothing
+        private float error;                            //How far off it's aiming
+        private float low;                              //Band the attacks sweep through this tick,
+        private float high;                             //empty when low is over high
+        private float misjudge = -1;                    //How much closer than DODGE_MARGIN it lets this attack come, -1 between attacks
+
+        Pilot(long seed){ random = new Random(seed); }
+
+        /*
+        Input: Simulation being played
+        Output: Boolean
+        Purpose: Decides if up is pressed this tick
+        */
+        boolean flyUp(LevelSimulation simulation){
+            SpaceCraft spaceCraft = simulation.getSpaceCraft();
+            float left = spaceCraft.getX() - spaceCraft.getRadius();
+            int next = -1;
+            float goal = LevelSimulation.WORLD_HEIGHT / 2;
+
+            if(simulation instanceof LevelOneSimulation){
+                //The gap of the next row
+                AsteroidStore asteroids = ((LevelOneSimulation) simulation).getAsteroids();
+                for(int i = 0; i < asteroids.getSize(); i++){
+                    if(asteroids.getRight(i) > left){
+                        next = asteroids.getId(i);
+                        goal = asteroids.getGapCenter(i);
+                        break;
+                    }
+                }
+            }
+            else if(simulation instanceof LevelTwoSimulation){
+                //The next collectible, the boarders are at the top and bottom
+                CollectibleStore collectibles = ((LevelTwoSimulation) simulation).getCollectibles();
+                int index = nextCollectible(collectibles, left, false);
+                if(index != -1){
+                    next = collectibles.getId(index);
+                    goal = collectibles.getY(index);
+                }
+            }
+            else {
+                //The next box, it only breaks if the spaceship is falling fast so it climbs and drops onto it,
+                //staying up high over bombs
+                CollectibleStore boxes = ((LevelThreeSimulation) simulation).getFloatingObjects();
+                int index = nextCollectible(boxes, left, true);
+                if(index != -1){
+                    next = boxes.getId(index);
+                    goal = DIVE_HEIGHT;
+                    float top = boxes.getY(index) + CollectibleStore.RADIUS + spaceCraft.getRadius() + error / 4;
+                    if(boxes.getState(index) != 2 && spaceCraft.getY() > top &&
+                            fallTicks(spaceCraft, top) >= (boxes.getX(index) - spaceCraft.getX()) / BOX_SPEED){
+                        goal = boxes.getY(index);
+                    }
+                }
+            }
+
+            if(next != target){
+                target = next;
+                error = (random.nextFloat() * 2 - 1) * AIM_ERROR;
+            }
+            goal = MathUtils.clamp(goal + error, 60, LevelSimulation.WORLD_HEIGHT - 60);
+            low = Float.MAX_VALUE;
+            high = -Float.MAX_VALUE;
+            if(simulation instanceof LevelTwoSimulation){ coverDragon(((LevelTwoSimulation) simulation).getDragon(), spaceCraft); }
+            else if(simulation instanceof LevelThreeSimulation){ coverArms(((LevelThreeSimulation) simulation).getWarehouseBot(), spaceCraft); }
+            return spaceCraft.getY() < dodge(spaceCraft, goal) - FLY_BELOW;
+        }
+
+        /*
+        Input: Dragon, spaceship
+        Output: Void
+        Purpose: Covers the heights the dragon's attacks are going to sweep through, it reads what the dragon
+            is getting ready for so the pilot starts moving before the attack comes
+        */
+        private void coverDragon(Dragon dragon, SpaceCraft spaceCraft){
+            float left = spaceCraft.getX() - spaceCraft.getRadius();
+            float right = spaceCraft.getX() + spaceCraft.getRadius();
+            int attack = dragon.getMode() == 1 ? dragon.getNextMode() : dragon.getMode();
+            //The laser goes across the whole screen from the horn
+            if(attack == 3){ cover(dragon.getLaserY(), dragon.getLaserY() + dragon.getLaserHeight()); }
+            //The fire comes out of the mouth and spreads a bit above and below the head
+            else if(attack == 2){ cover(dragon.getHeadY(), dragon.getHeadY() + dragon.getHeight()); }
+            //The bite goes right over the spaceship, it's safe once the head is back behind it
+            else if(attack == 4 || (attack == 5 && dragon.getX() + dragon.getWidth() > left)){
+                cover(dragon.getHeadY(), dragon.getTop());
+            }
+            //Fire moving right that hasn't gone past yet, scales moving left that haven't gone past yet
+            CollectibleStore bullets = dragon.getBullets();
+            for(int i = 0; i < bullets.getSize(); i++){
+                if(bullets.getLeft(i) < right){ cover(bullets.getY(i), bullets.getY(i)); }
+            }
+            CollectibleStore scales = dragon.getScales();
+            for(int i = 0; i < scales.getSize(); i++){
+                if(scales.getRight(i) > left){ cover(scales.getY(i), scales.getY(i)); }
+            }
+        }
+
+        /*
+        Input: Robot, spaceship
+        Output: Void
+        Purpose: Covers the height of the robot's arms while they swing at the spaceship
+        */
+        private void coverArms(WarehouseBot warehouseBot, SpaceCraft spaceCraft){
+            if(warehouseBot.isSwinging() && warehouseBot.getArmsRight() > spaceCraft.getX() - spaceCraft.getRadius()){
+                cover(warehouseBot.getArmBottom(), warehouseBot.getArmTop());
+            }
+        }
+
+        /*
+        Input: Spaceship, where the pilot wants to be
+        Output: Where the pilot goes instead
+        Purpose: Keeps the goal on the side of the band the spaceship is on so it never crosses it, gets out
+            of it on the side it gets to first if it's in it, and lets the attack come a bit closer than it should now and then
+        */
+        private float dodge(SpaceCraft spaceCraft, float goal){
+            if(low > high){
+                misjudge = -1;
+                return goal;
+            }
+            if(misjudge == -1){ misjudge = random.nextFloat() * MISJUDGE; }
+
+            //The spaceship sinks FLY_BELOW under the goal before it flies up again and overshoots it by about as much
+            float margin = spaceCraft.getRadius() + DODGE_MARGIN - misjudge;
+            float above = high + margin + FLY_BELOW;
+            float below = low - margin;
+            //Flying up goes at a steady speed, falling starts slow
+            boolean over = (high + margin - spaceCraft.getY()) / SpaceCraft.FLY_ACCELERATION < fallTicks(spaceCraft, below);
+            if(above > LevelSimulation.WORLD_HEIGHT - 60){ over = false; }
+            else if(below < 60){ over = true; }
+            return over ? Math.max(goal, above) : Math.min(goal, below);
+        }
+
+        //Widens the band the attacks sweep through to take in bottom to top
+        private void cover(float bottom, float top){
+            low = Math.min(low, bottom);
+            high = Math.max(high, top);
+        }
+
+        /*
+        Input: Spaceship, height
+        Output: Ticks it takes to fall down to the height if up isn't pressed
+        Purpose: Times the drop onto a box or out of the way of an attack
+        */
+        private static int fallTicks(SpaceCraft spaceCraft, float height){
+            float y = spaceCraft.getY();
+            float speed = spaceCraft.getSpeed();
+            int ticks = 0;
+            while(y > height){
+                speed -= SpaceCraft.DIVE_ACCELERATION;
+                y += speed;
+                ticks++;
+            }
+            return ticks;
+        }
+
+        /*
+        Input: Collectibles sorted by x, left edge of the spaceship, if collected ones count
+        Output: Index of the first one that isn't behind the spaceship, -1 if there isn't one
+        Purpose: Finds what to aim for next
+        */
+        private static int nextCollectible(CollectibleStore collectibles, float left, boolean collected){
+            for(int i = 0; i < collectibles.getSize(); i++){
+                if(collectibles.getRight(i) > left && (collected || !collectibles.isCollected(i))){ return i; }
+            }
+            return -1;
+        }
+    }
+
+    /*
+    What happened in one run
+     */
+    private static final class Run {
+        boolean completed;
+        long ticks;                                     //Ticks until the level was beat or the time ran out
+        int deaths;
+        long[] attemptTicks = new long[8];              //How long each attempt lasted before the death
+        float[] deathY = new float[8];                  //Height of each death
+
+        void addDeath(long ticks, float y){
+            if(deaths == attemptTicks.length){
+                attemptTicks = Arrays.copyOf(attemptTicks, deaths * 2);
+                deathY = Arrays.copyOf(deathY, deaths * 2);
+            }
+            attemptTicks[deaths] = ticks;
+            deathY[deaths] = y;
+            deaths++;
+        }
+    }
+
+    /*
+    Every run added together
+     */
+    private static final class Summary {
+        private int runs;
+        private int completed;
+        private long ticks;                                     //Ticks of every run, for the speed
+        private long[] goalTicks = new long[64];                //Ticks to beat the level, of the runs that did
+        private int deaths;
+        private long[] attemptTicks = new long[64];             //How long every attempt that ended in a death lasted
+        private final int[] heightBands = new int[HEIGHT_BANDS];
+
+        void add(Run run){
+            runs++;
+            ticks += run.ticks;
+            if(run.completed){
+                if(completed == goalTicks.length){ goalTicks = Arrays.copyOf(goalTicks, completed * 2); }
+                goalTicks[completed++] = run.ticks;
+            }
+            for(int i = 0; i < run.deaths; i++){
+                if(deaths == attemptTicks.length){ attemptTicks = Arrays.copyOf(attemptTicks, deaths * 2); }
+                attemptTicks[deaths++] = run.attemptTicks[i];
+                int band = (int) (run.deathY[i] / LevelSimulation.WORLD_HEIGHT * HEIGHT_BANDS);
+                heightBands[MathUtils.clamp(band, 0, HEIGHT_BANDS - 1)]++;
+            }
+        }
+
+        void print(int level, int threads, long nanos){
+            double seconds = nanos / 1e9;
+            System.out.println(String.format(Locale.ROOT, "Level %d, %d runs on %d threads in %.1f s, %.0fx real time",
+                    level, runs, threads, seconds, ticks * LevelSimulation.TIME_STEP / seconds));
+            if(level == 3){
+                System.out.println(String.format(Locale.ROOT, "  level 3 never ends, a run counts as completed once it scores %d in one attempt",
+                        LevelThreeSimulation.GOAL));
+            }
+            System.out.println(String.format(Locale.ROOT, "  completed   %d of %d (%.1f%%)", completed, runs, 100.0 * completed / runs));
+            if(completed > 0){
+                Arrays.sort(goalTicks, 0, completed);
+                System.out.println(String.format(Locale.ROOT, "  to the goal mean %.1f s, median %.1f s, 90th %.1f s",
+                        mean(goalTicks, completed), percentile(goalTicks, completed, 50), percentile(goalTicks, completed, 90)));
+            }
+            System.out.println(String.format(Locale.ROOT, "  deaths      %d, %.2f a run", deaths, (double) deaths / runs));
+            if(deaths > 0){
+                Arrays.sort(attemptTicks, 0, deaths);
+                System.out.println(String.format(Locale.ROOT, "  died after  median %.1f s, 90th %.1f s into the attempt",
+                        percentile(attemptTicks, deaths, 50), percentile(attemptTicks, deaths, 90)));
+                System.out.println("  died at height");
+                float band = LevelSimulation.WORLD_HEIGHT / HEIGHT_BANDS;
+                for(int i = HEIGHT_BANDS - 1; i >= 0; i--){
+                    System.out.println(String.format(Locale.ROOT, "    %3.0f-%3.0f %6d (%4.1f%%)",
+                            i * band, (i + 1) * band, heightBands[i], 100.0 * heightBands[i] / deaths));
+                }
+            }
+        }
+
+        //Ticks to seconds of the first count values
+        private static double mean(long[] values, int count){
+            double sum = 0;
+            for(int i = 0; i < count; i++){ sum += values[i]; }
+            return sum / count * LevelSimulation.TIME_STEP;
+        }
+
+        //Value at the percent, in seconds, of the first count values sorted
+        private static double percentile(long[] values, int count, int percent){
+            return values[Math.min(count - 1, count * percent / 100)] * LevelSimulation.TIME_STEP;
+        }
+    }
+}
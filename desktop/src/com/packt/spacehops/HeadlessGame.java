@@ -0,0 +1,79 @@
+/*
+The HeadlessGame class boots libGDX without a window so the benchmarks and batch runs can build the real game objects.
+    The headless backend has no OpenGL, so a stand in GL20 is installed that accepts every call
+    and reports shaders as compiled. Textures and SpriteBatches can then be created and drawn to,
+    only the pixels never reach a screen, which leaves just the CPU side of the game to measure.
+
+    Has to be run with android/assets as the working directory, same as the desktop launcher.
+ */
+
+package com.packt.spacehops;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+final class HeadlessGame {
+
+    //Atlases the three levels pull their textures from
+    private static final String[] ATLASES = {"ui_assets.atlas", "ship_assets.atlas", "profile_assets.atlas",
+            "level_one_assets.atlas", "level_two_assets.atlas", "level_three_assets.atlas"};
+
+    private static AssetManager assetManager;
+
+    private HeadlessGame(){}
+
+    /*
+    Input: Void
+    Output: AssetManager with all of the level atlases loaded
+    Purpose: Starts the headless application the first time it's called and loads the atlases
+    */
+    static synchronized AssetManager getAssetManager(){
+        if(assetManager == null){
+            HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+            config.renderInterval = -1;     //Nothing to render, the callers drive everything themselves
+            new HeadlessApplication(new ApplicationAdapter(){}, config);
+            Gdx.gl = Gdx.gl20 = createGL();
+
+            assetManager = new AssetManager();
+            for(String atlas : ATLASES){ assetManager.load(atlas, TextureAtlas.class); }
+            assetManager.finishLoading();
+        }
+        return assetManager;
+    }
+
+    /*
+    Input: Void
+    Output: GL20 that does nothing
+    Purpose: Stands in for OpenGL, hands out ids so objects get created and says every shader compiled
+    */
+    private static GL20 createGL(){
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                //Compile and link status read true, everything else the shader asks about reads 0
+                if(name.equals("glGetShaderiv") || name.equals("glGetProgramiv")){
+                    int parameter = (Integer) args[1];
+                    boolean status = parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS;
+                    ((IntBuffer) args[2]).put(0, status ? 1 : 0);
+                    return null;
+                }
+                Class<?> type = method.getReturnType();
+                if(type == int.class){ return name.startsWith("glCreate") || name.startsWith("glGen") ? 1 : 0; }
+                if(type == boolean.class){ return false; }
+                if(type == String.class){ return ""; }
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.packt.spacehops.desktop;
+
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/*
+The AtlasPacker class packs the image folders of android/assets into the atlases the game loads.
+    Run by the packTextures Gradle task before the desktop build, not by the game. Every folder is
+    hashed and only packed again when its hash doesn't match the one saved from the last pack, so a
+    build where no image changed doesn't touch the atlases at all.
+
+    Arguments: the assets folder and the file the hashes are saved in. The hash file is committed, so it's
+    written as sorted name=hash lines without a date and only changes when an atlas was packed again.
+ */
+public class AtlasPacker {
+
+    //Source folder under android/assets and the name of the atlas it's packed into
+    private static final String[][] ATLASES = {
+            {"UI", "ui_assets"},
+            {"LevelOne", "level_one_assets"},
+            {"LevelTwo", "level_two_assets"},
+            {"LevelThree", "level_three_assets"},
+            {"MainScreen", "main_screen_assets"},
+            {"Profiles", "profile_assets"},
+            {"Ships", "ship_assets"},
+            {"Fonts", "font_assets"}};
+
+    public static void main(String[] arg) throws IOException {
+        File assetsDir = new File(arg[0]);
+        File hashFile = new File(arg[1]);
+
+        Properties hashes = new Properties();
+        if(hashFile.exists()){
+            InputStream in = new FileInputStream(hashFile);
+            try { hashes.load(in); } finally { in.close(); }
+        }
+
+        boolean changedFlag = false;
+        for(String[] atlas : ATLASES){
+            File input = new File(assetsDir, atlas[0]);
+            File output = new File(assetsDir, atlas[1] + ".atlas");
+            File page = new File(assetsDir, atlas[1] + ".png");
+            String hash = hash(input);
+            //Packs again if the images changed or the atlas or its page is missing
+            if(hash.equals(hashes.getProperty(atlas[1])) && output.exists() && page.exists()){
+                System.out.println(atlas[1] + " is up to date");
+                continue;
+            }
+            System.out.println("Packing " + atlas[1]);
+            TexturePacker.process(input.getPath(), assetsDir.getPath(), atlas[1]);
+            hashes.setProperty(atlas[1], hash);
+            changedFlag = true;
+        }
+
+        if(changedFlag){ store(hashes, hashFile); }
+    }
+
+    /*
+    Input: Hashes, file to write them to
+    Output: Void
+    Purpose: Writes the hashes sorted by atlas name, unlike Properties.store there is no date and the order
+    doesn't depend on the hash table, so packing the same images again writes the same file
+    */
+    private static void store(Properties hashes, File hashFile) throws IOException {
+        Map<String, String> sorted = new TreeMap<String, String>();
+        for(String name : hashes.stringPropertyNames()){ sorted.put(name, hashes.getProperty(name)); }
+        Writer out = new OutputStreamWriter(new FileOutputStream(hashFile), Charset.forName("ISO-8859-1"));
+        try {
+            out.write("#SHA-1 of the image folders the atlases were last packed from\n");
+            for(Map.Entry<String, String> entry : sorted.entrySet()){
+                out.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        } finally { out.close(); }
+    }
+
+    /*
+    Input: Folder of images
+    Output: SHA-1 of the names and contents of every file in it, as hex
+    Purpose: Fingerprints a folder, files are read in name order so the hash doesn't depend on the file system
+    */
+    static String hash(File folder) throws IOException {
+        MessageDigest digest;
+        try { digest = MessageDigest.getInstance("SHA-1"); }
+        catch (NoSuchAlgorithmException e) { throw new IOException(e); }
+
+        List<String> paths = new ArrayList<String>();
+        listFiles(folder, "", paths);
+        Collections.sort(paths);
+        byte[] buffer = new byte[8192];
+        for(String path : paths){
+            digest.update(path.getBytes(Charset.forName("UTF-8")));
+            digest.update((byte) 0);
+            InputStream in = new FileInputStream(new File(folder, path));
+            try {
+                for(int read = in.read(buffer); read != -1; read = in.read(buffer)){ digest.update(buffer, 0, read); }
+            } finally { in.close(); }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for(byte b : digest.digest()){ hex.append(String.format("%02x", b)); }
+        return hex.toString();
+    }
+
+    /*
+    Input: Folder, path of the folder relative to the one being hashed, list to add to
+    Output: Void
+    Purpose: Collects the relative path of every file under the folder
+    */
+    private static void listFiles(File folder, String prefix, List<String> paths){
+        File[] files = folder.listFiles();
+        if(files == null){ return; }
+        for(File file : files){
+            if(file.isDirectory()){ listFiles(file, prefix + file.getName() + "/", paths); }
+            else { paths.add(prefix + file.getName()); }
+        }
+    }
+}